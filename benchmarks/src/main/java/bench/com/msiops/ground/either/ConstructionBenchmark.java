@@ -0,0 +1,168 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bench.com.msiops.ground.either;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.msiops.footing.functional.FunT1;
+import com.msiops.footing.functional.SupplierT;
+import com.msiops.ground.either.Either;
+
+/**
+ * Cost of the static construction and lifting methods. Each divergent case
+ * throws a preallocated exception so that the measurement reflects the
+ * capture machinery rather than stack trace filling.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ConstructionBenchmark {
+
+    private static final RuntimeException UNCHECKED = new RuntimeException(
+            "bench", null, false, false) {
+        private static final long serialVersionUID = 1L;
+    };
+
+    private static final Exception CHECKED = new Exception("bench", null,
+            false, false) {
+        private static final long serialVersionUID = 1L;
+    };
+
+    private final Function<Integer, Either<Integer, RuntimeException>> liftedConvergent = Either
+            .lift(x -> x + 1);
+
+    private final Function<Integer, Either<Integer, RuntimeException>> liftedDivergent = Either
+            .lift(x -> {
+                throw UNCHECKED;
+            });
+
+    private final Function<Integer, Either<Integer, Throwable>> liftedCheckedConvergent = Either
+            .liftChecked(x -> x + 1);
+
+    private final Function<Integer, Either<Integer, Throwable>> liftedCheckedDivergent = Either
+            .liftChecked((FunT1<Integer, Integer>) x -> {
+                throw CHECKED;
+            });
+
+    private final Optional<Integer> present = Optional.of(10);
+
+    private final Optional<Integer> absent = Optional.empty();
+
+    private final Integer value = 10;
+
+    private final String rightValue = "right";
+
+    private final Supplier<String> rightSupplier = () -> this.rightValue;
+
+    private final Supplier<Integer> convergent = () -> this.value;
+
+    private final Supplier<Integer> divergent = () -> {
+        throw UNCHECKED;
+    };
+
+    private final SupplierT<Integer> checkedConvergent = () -> this.value;
+
+    private final SupplierT<Integer> checkedDivergent = () -> {
+        throw CHECKED;
+    };
+
+    @Benchmark
+    public Either<Integer, String> left() {
+        return Either.left(this.value);
+    }
+
+    @Benchmark
+    public Either<Integer, Throwable> liftCheckedConvergent() {
+        return this.liftedCheckedConvergent.apply(this.value);
+    }
+
+    @Benchmark
+    public Either<Integer, Throwable> liftCheckedDivergent() {
+        return this.liftedCheckedDivergent.apply(this.value);
+    }
+
+    @Benchmark
+    public Either<Integer, RuntimeException> liftConvergent() {
+        return this.liftedConvergent.apply(this.value);
+    }
+
+    @Benchmark
+    public Either<Integer, RuntimeException> liftDivergent() {
+        return this.liftedDivergent.apply(this.value);
+    }
+
+    @Benchmark
+    public Either<Integer, Throwable> ofCheckedConvergent() {
+        return Either.ofChecked(this.checkedConvergent);
+    }
+
+    @Benchmark
+    public Either<Integer, Throwable> ofCheckedDivergent() {
+        return Either.ofChecked(this.checkedDivergent);
+    }
+
+    @Benchmark
+    public Either<Integer, String> ofOptionalAbsent() {
+        return Either.of(this.absent, this.rightValue);
+    }
+
+    @Benchmark
+    public Either<Integer, String> ofOptionalAbsentDeferred() {
+        return Either.of(this.absent, this.rightSupplier);
+    }
+
+    @Benchmark
+    public Either<Integer, String> ofOptionalPresent() {
+        return Either.of(this.present, this.rightValue);
+    }
+
+    @Benchmark
+    public Either<Integer, String> ofOptionalPresentDeferred() {
+        return Either.of(this.present, this.rightSupplier);
+    }
+
+    @Benchmark
+    public Either<Integer, RuntimeException> ofSupplierConvergent() {
+        return Either.of(this.convergent);
+    }
+
+    @Benchmark
+    public Either<Integer, RuntimeException> ofSupplierDivergent() {
+        return Either.of(this.divergent);
+    }
+
+    @Benchmark
+    public Either<Integer, String> right() {
+        return Either.right(this.rightValue);
+    }
+
+}
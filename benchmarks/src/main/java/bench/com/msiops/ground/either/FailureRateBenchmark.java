@@ -0,0 +1,138 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bench.com.msiops.ground.either;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.msiops.ground.either.Either;
+
+/**
+ * <p>
+ * Exception capture cost as the proportion of failing inputs grows. Each
+ * invocation parses the next input from a fixed, shuffled table in which the
+ * requested percentage of entries is not a valid integer.
+ * </p>
+ *
+ * <p>
+ * The {@code tryCatch} and {@code optional} benchmarks are the hand-written
+ * baselines for {@code lift} and {@code of}. Failures throw a real
+ * {@link NumberFormatException}, stack trace included, because that is what
+ * callers of the lifted functions pay.
+ * </p>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FailureRateBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private static final int MASK = SIZE - 1;
+
+    private static Optional<Integer> parseOptional(final String s) {
+        try {
+            return Optional.of(Integer.valueOf(s));
+        } catch (final NumberFormatException nfx) {
+            return Optional.empty();
+        }
+    }
+
+    @Param({ "0", "1", "5", "10", "25", "50", "75", "100" })
+    public int failurePercent;
+
+    private final String[] inputs = new String[SIZE];
+
+    private int index;
+
+    private final Function<String, Either<Integer, RuntimeException>> lifted = Either
+            .lift(Integer::valueOf);
+
+    private final Function<String, Either<Integer, Throwable>> liftedChecked = Either
+            .liftChecked(Integer::valueOf);
+
+    @Benchmark
+    public Either<Integer, RuntimeException> lift() {
+        return this.lifted.apply(next());
+    }
+
+    @Benchmark
+    public Either<Integer, Throwable> liftChecked() {
+        return this.liftedChecked.apply(next());
+    }
+
+    @Benchmark
+    public Either<Integer, RuntimeException> of() {
+        final String s = next();
+        return Either.of(() -> Integer.valueOf(s));
+    }
+
+    @Benchmark
+    public Optional<Integer> optional() {
+        return parseOptional(next());
+    }
+
+    @Setup
+    public void setup() {
+
+        final Random rnd = new Random(0x5eedL);
+        final int failures = SIZE * this.failurePercent / 100;
+        for (int i = 0; i < SIZE; i++) {
+            this.inputs[i] = i < failures ? "x" + i : Integer.toString(i);
+        }
+        for (int i = SIZE - 1; i > 0; i--) {
+            final int j = rnd.nextInt(i + 1);
+            final String t = this.inputs[i];
+            this.inputs[i] = this.inputs[j];
+            this.inputs[j] = t;
+        }
+        this.index = 0;
+
+    }
+
+    @Benchmark
+    public Integer tryCatch() {
+        try {
+            return Integer.valueOf(next());
+        } catch (final NumberFormatException nfx) {
+            return null;
+        }
+    }
+
+    private String next() {
+        final String s = this.inputs[this.index];
+        this.index = (this.index + 1) & MASK;
+        return s;
+    }
+
+}
@@ -0,0 +1,162 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bench.com.msiops.ground.either;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.msiops.ground.either.Either;
+
+/**
+ * Cost of the instance methods, measured separately for each variant.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class OperationBenchmark {
+
+    @Param({ "left", "right" })
+    public String variant;
+
+    private Either<Integer, String> subject;
+
+    private Either<Integer, String> equivalent;
+
+    private final Function<Integer, Integer> f = x -> x + 1;
+
+    private final Function<Integer, Either<Integer, String>> ef = x -> Either
+            .left(x + 1);
+
+    private final Integer other = 99;
+
+    private final Supplier<Integer> otherSupplier = () -> this.other;
+
+    private final Supplier<IllegalStateException> genx = IllegalStateException::new;
+
+    @Setup
+    public void setup() {
+
+        if (this.variant.equals("left")) {
+            this.subject = Either.left(10);
+            this.equivalent = Either.left(10);
+        } else {
+            this.subject = Either.right("right");
+            this.equivalent = Either.right("right");
+        }
+
+    }
+
+    @Benchmark
+    public boolean equalsEquivalent() {
+        return this.subject.equals(this.equivalent);
+    }
+
+    @Benchmark
+    public Either<Integer, String> flatMap() {
+        return this.subject.flatMap(this.ef);
+    }
+
+    @Benchmark
+    public void forEach(final Blackhole bh) {
+        final Consumer<Integer> c = bh::consume;
+        this.subject.forEach(c);
+    }
+
+    @Benchmark
+    public Object getVariant() {
+        return this.subject.isLeft() ? this.subject.getLeft() : this.subject
+                .getRight();
+    }
+
+    @Benchmark
+    public int hashCodeValue() {
+        return this.subject.hashCode();
+    }
+
+    @Benchmark
+    public boolean isLeft() {
+        return this.subject.isLeft();
+    }
+
+    @Benchmark
+    public Either<Integer, String> map() {
+        return this.subject.map(this.f);
+    }
+
+    @Benchmark
+    public Optional<Integer> maybe() {
+        return this.subject.maybe();
+    }
+
+    @Benchmark
+    public Integer orElse() {
+        return this.subject.orElse(this.other);
+    }
+
+    @Benchmark
+    public Integer orElseGet() {
+        return this.subject.orElseGet(this.otherSupplier);
+    }
+
+    @Benchmark
+    public Integer orElseNull() {
+        return this.subject.orElseNull();
+    }
+
+    @Benchmark
+    public Object orElseThrow() {
+        try {
+            return this.subject.orElseThrow(this.genx);
+        } catch (final IllegalStateException x) {
+            return x;
+        }
+    }
+
+    @Benchmark
+    public long stream() {
+        return this.subject.stream().count();
+    }
+
+    @Benchmark
+    public Either<String, Integer> swap() {
+        return this.subject.swap();
+    }
+
+    @Benchmark
+    public String toStringValue() {
+        return this.subject.toString();
+    }
+
+}
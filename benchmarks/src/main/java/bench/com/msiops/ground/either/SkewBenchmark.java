@@ -0,0 +1,127 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bench.com.msiops.ground.either;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.msiops.ground.either.Either;
+
+/**
+ * <p>
+ * Dispatch cost of {@code map} and {@code flatMap} chains when the mix of
+ * variants is skewed. Each invocation runs a short chain over a table of
+ * prebuilt values in which the requested percentage are lefts.
+ * </p>
+ *
+ * <p>
+ * The {@code twoField} benchmarks run the same chain on a copy of the
+ * original layout, which branches on its left field, as the baseline. Run
+ * from the shaded jar on Java 17 or later to measure the sealed class from
+ * the multi-release layer.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SkewBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({ "100", "99", "90", "50", "0" })
+    public int leftPercent;
+
+    private final Either<Integer, String>[] values = newEitherArray(SIZE);
+
+    private final TwoFieldEither<Integer, String>[] twoFieldValues = newTwoFieldArray(SIZE);
+
+    private final Function<Integer, Integer> f = x -> x + 1;
+
+    private final Function<Integer, Either<Integer, String>> ef = x -> x < 0 ? Either
+            .right("negative") : Either.left(x);
+
+    private final Function<Integer, TwoFieldEither<Integer, String>> tef = x -> x < 0 ? TwoFieldEither
+            .right("negative") : TwoFieldEither.left(x);
+
+    @SuppressWarnings("unchecked")
+    private static Either<Integer, String>[] newEitherArray(final int size) {
+        return new Either[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TwoFieldEither<Integer, String>[] newTwoFieldArray(
+            final int size) {
+        return new TwoFieldEither[size];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int either() {
+
+        int sum = 0;
+        for (final Either<Integer, String> e : this.values) {
+            sum += e.map(this.f).flatMap(this.ef).map(this.f).orElse(0);
+        }
+        return sum;
+
+    }
+
+    @Setup
+    public void setup() {
+
+        final Random rnd = new Random(0x5eedL);
+        for (int i = 0; i < SIZE; i++) {
+            if (rnd.nextInt(100) < this.leftPercent) {
+                this.values[i] = Either.left(i);
+                this.twoFieldValues[i] = TwoFieldEither.left(i);
+            } else {
+                this.values[i] = Either.right("right");
+                this.twoFieldValues[i] = TwoFieldEither.right("right");
+            }
+        }
+
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int twoField() {
+
+        int sum = 0;
+        for (final TwoFieldEither<Integer, String> e : this.twoFieldValues) {
+            sum += e.map(this.f).flatMap(this.tef).map(this.f).orElse(0);
+        }
+        return sum;
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bench.com.msiops.ground.either;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Trampoline;
+
+/**
+ * Recursive flat map chains evaluated directly and through a trampoline, at
+ * depths the direct form can still handle.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TrampolineBenchmark {
+
+    private static Either<Integer, String> direct(final int n, final int acc) {
+        return n == 0 ? Either.left(acc) : Either.<Integer, String> left(n)
+                .flatMap(v -> direct(v - 1, acc + v));
+    }
+
+    private static Trampoline<Integer, String> trampolined(final int n,
+            final int acc) {
+        return n == 0 ? Trampoline.left(acc) : Trampoline
+                .<Integer, String> left(n).flatMap(
+                        v -> Trampoline.suspend(() -> trampolined(v - 1, acc
+                                + v)));
+    }
+
+    @Param({ "10", "100", "1000" })
+    public int depth;
+
+    @Benchmark
+    public Either<Integer, String> direct() {
+        return direct(this.depth, 0);
+    }
+
+    @Benchmark
+    public Either<Integer, String> trampolined() {
+        return trampolined(this.depth, 0).run();
+    }
+
+}
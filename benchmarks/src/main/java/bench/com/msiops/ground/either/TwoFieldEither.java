@@ -0,0 +1,81 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bench.com.msiops.ground.either;
+
+import java.util.function.Function;
+
+/**
+ * Copy of the original two-field {@code Either} layout, reduced to the
+ * operations used by {@link SkewBenchmark}. Every operation tests the left
+ * field.
+ */
+final class TwoFieldEither<Left, Right> {
+
+    static <LL, RR> TwoFieldEither<LL, RR> left(final LL v) {
+        return new TwoFieldEither<>(v, null);
+    }
+
+    static <LL, RR> TwoFieldEither<LL, RR> right(final RR v) {
+        return new TwoFieldEither<>(null, v);
+    }
+
+    private final Object left;
+
+    private final Right right;
+
+    private TwoFieldEither(final Left left, final Right right) {
+
+        if (left != null && right != null) {
+            throw new AssertionError(
+                    "attempt to create with both left and right");
+        } else if (left == null && right == null) {
+            throw new AssertionError(
+                    "attempt to create with neither left nor right");
+        }
+        this.left = left;
+        this.right = right;
+
+    }
+
+    <R> TwoFieldEither<R, Right> flatMap(
+            final Function<? super Left, TwoFieldEither<R, Right>> f) {
+        return this.left == null ? fail() : f.apply(extract());
+    }
+
+    boolean isLeft() {
+        return this.left != null;
+    }
+
+    <R> TwoFieldEither<R, Right> map(final Function<? super Left, R> f) {
+        return this.left == null ? fail() : new TwoFieldEither<>(
+                f.apply(extract()), null);
+    }
+
+    Left orElse(final Left other) {
+        return this.left == null ? other : extract();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Left extract() {
+        return (Left) this.left;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> TwoFieldEither<R, Right> fail() {
+        return (TwoFieldEither<R, Right>) this;
+    }
+
+}
@@ -0,0 +1,281 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Adaptive concurrency limit for {@link Either}-producing calls. The limit
+ * grows additively while calls produce lefts within the latency target and
+ * shrinks multiplicatively when a call produces a right, throws, or runs
+ * past the target. Calls over the limit are not queued: they return a right
+ * value constructed once up front.
+ * </p>
+ *
+ * <p>
+ * A successful call adds 1/limit, so the limit grows by about one per
+ * limit's worth of calls. It grows only while at least half of it is in
+ * use, so an idle period does not inflate it. A drop multiplies it by 0.9,
+ * but only once per congestion signal: a call admitted before the last
+ * decrease does not decrease it again, so a burst of concurrent drops
+ * shrinks it once. The limit stays within the configured bounds.
+ * </p>
+ *
+ * <p>
+ * All state is in atomics; no call takes a lock.
+ * </p>
+ *
+ * @param <R>
+ *            right type of the calls.
+ */
+public final class AdaptiveLimiter<R> {
+
+    private static final double BACKOFF = 0.9;
+
+    /**
+     * Create a limiter.
+     *
+     * @param initial
+     *            starting limit.
+     *
+     * @param min
+     *            lowest limit.
+     *
+     * @param max
+     *            highest limit.
+     *
+     * @param target
+     *            latency above which a call counts as a drop.
+     *
+     * @param rejected
+     *            right value returned for calls over the limit.
+     *
+     * @param <R>
+     *            right type of the calls.
+     *
+     * @return the limiter.
+     *
+     * @throws IllegalArgumentException
+     *             unless 1 &lt;= min &lt;= initial &lt;= max and the target
+     *             is positive.
+     */
+    public static <R> AdaptiveLimiter<R> of(final int initial, final int min,
+            final int max, final Duration target, final R rejected) {
+
+        if (min < 1 || initial < min || max < initial) {
+            throw new IllegalArgumentException("need 1 <= min <= initial <= max");
+        }
+        if (target.isNegative() || target.isZero()) {
+            throw new IllegalArgumentException("target must be positive");
+        }
+        return new AdaptiveLimiter<>(initial, min, max, target.toNanos(),
+                Objects.requireNonNull(rejected));
+
+    }
+
+    /*
+     * number of decreases so far. A call may decrease the limit only if no
+     * decrease happened since it was admitted.
+     */
+    private final AtomicLong decreases = new AtomicLong();
+
+    private final LongAdder drops = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /*
+     * double bits, so the limit can move by fractions.
+     */
+    private final AtomicLong limit;
+
+    private final int max;
+
+    private final int min;
+
+    private final Either<?, R> rejected;
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final long target;
+
+    private AdaptiveLimiter(final int initial, final int min, final int max,
+            final long target, final R rejected) {
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(initial));
+        this.min = min;
+        this.max = max;
+        this.target = target;
+        this.rejected = Either.right(rejected);
+    }
+
+    /**
+     * Invoke a call if under the limit.
+     *
+     * @param s
+     *            the call.
+     *
+     * @param <L>
+     *            left type of the call.
+     *
+     * @return the call's outcome, or the rejected right if over the limit.
+     */
+    public <L> Either<L, R> call(final Supplier<? extends Either<L, R>> s) {
+
+        final long admitted = this.decreases.get();
+        final int lim = getLimit();
+        int n;
+        do {
+            n = this.inFlight.get();
+            if (n >= lim) {
+                this.rejections.increment();
+                return Either.recast(this.rejected);
+            }
+        } while (!this.inFlight.compareAndSet(n, n + 1));
+
+        final long start = System.nanoTime();
+        boolean drop = true;
+        try {
+            final Either<L, R> rval = s.get();
+            drop = !rval.isLeft() || System.nanoTime() - start > this.target;
+            return rval;
+        } finally {
+            this.inFlight.decrementAndGet();
+            if (drop) {
+                this.drops.increment();
+                decrease(admitted);
+            } else if ((n + 1) * 2 >= lim) {
+                increase();
+            }
+        }
+
+    }
+
+    /**
+     * Get the number of calls that produced a right, threw, or ran past the
+     * latency target.
+     *
+     * @return drop count.
+     */
+    public long getDrops() {
+
+        return this.drops.sum();
+
+    }
+
+    /**
+     * Get the number of calls now running.
+     *
+     * @return in-flight count.
+     */
+    public int getInFlight() {
+
+        return this.inFlight.get();
+
+    }
+
+    /**
+     * Get the current limit.
+     *
+     * @return whole part of the limit.
+     */
+    public int getLimit() {
+
+        return (int) Double.longBitsToDouble(this.limit.get());
+
+    }
+
+    /**
+     * Get the number of calls rejected for being over the limit.
+     *
+     * @return rejection count.
+     */
+    public long getRejections() {
+
+        return this.rejections.sum();
+
+    }
+
+    /**
+     * Wrap a function so every application goes through the limiter.
+     *
+     * @param f
+     *            function to limit.
+     *
+     * @param <T>
+     *            argument type.
+     *
+     * @param <L>
+     *            left type of the function.
+     *
+     * @return limited function.
+     */
+    public <T, L> Function<T, Either<L, R>> protect(
+            final Function<? super T, ? extends Either<L, R>> f) {
+
+        Objects.requireNonNull(f);
+        return t -> call(() -> f.apply(t));
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "limiter(limit=" + getLimit() + ", inFlight=" + getInFlight()
+                + ", drops=" + getDrops() + ", rejections=" + getRejections()
+                + ")";
+
+    }
+
+    private void decrease(final long admitted) {
+
+        if (!this.decreases.compareAndSet(admitted, admitted + 1)) {
+            return;
+        }
+        long cur;
+        double l;
+        do {
+            cur = this.limit.get();
+            l = Double.longBitsToDouble(cur);
+            if (l <= this.min) {
+                return;
+            }
+        } while (!this.limit.compareAndSet(cur,
+                Double.doubleToRawLongBits(Math.max(this.min, l * BACKOFF))));
+
+    }
+
+    private void increase() {
+
+        long cur;
+        double l;
+        do {
+            cur = this.limit.get();
+            l = Double.longBitsToDouble(cur);
+            if (l >= this.max) {
+                return;
+            }
+        } while (!this.limit.compareAndSet(cur,
+                Double.doubleToRawLongBits(Math.min(this.max, l + 1 / l))));
+
+    }
+
+}
@@ -0,0 +1,254 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Persistent sequence with constant time append and concatenation, used to
+ * accumulate rights in {@link Validation}. A chain is a tree of shared,
+ * immutable nodes: appending or concatenating creates one node and copies
+ * nothing, so accumulating <em>n</em> values costs O(<em>n</em>) overall
+ * rather than the O(<em>n</em><sup>2</sup>) of copying lists.
+ * </p>
+ *
+ * <p>
+ * Iteration is in order and uses an explicit stack, so it is safe for
+ * chains of any shape. Equality and hash code follow {@link List}.
+ * </p>
+ *
+ * @param <E>
+ *            element type.
+ */
+public final class Chain<E> implements Iterable<E> {
+
+    private static final Chain<?> EMPTY = new Chain<>(null, null, null, 0);
+
+    /**
+     * Get the empty chain.
+     *
+     * @param <E>
+     *            element type.
+     *
+     * @return empty chain.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Chain<E> empty() {
+
+        return (Chain<E>) EMPTY;
+
+    }
+
+    /**
+     * Create a chain of one element.
+     *
+     * @param e
+     *            the element.
+     *
+     * @param <E>
+     *            element type.
+     *
+     * @return single element chain.
+     */
+    public static <E> Chain<E> of(final E e) {
+
+        return new Chain<>(e, null, null, 1);
+
+    }
+
+    private final Chain<? extends E> back;
+
+    private final Chain<? extends E> front;
+
+    private final int size;
+
+    private final E value;
+
+    private Chain(final E value, final Chain<? extends E> front,
+            final Chain<? extends E> back, final int size) {
+        this.value = value;
+        this.front = front;
+        this.back = back;
+        this.size = size;
+    }
+
+    /**
+     * Add an element at the end.
+     *
+     * @param e
+     *            the element.
+     *
+     * @return the longer chain.
+     */
+    public Chain<E> append(final E e) {
+
+        return concat(of(e));
+
+    }
+
+    /**
+     * Add a chain at the end.
+     *
+     * @param other
+     *            elements to follow these.
+     *
+     * @return the combined chain.
+     */
+    @SuppressWarnings("unchecked")
+    public Chain<E> concat(final Chain<? extends E> other) {
+
+        if (other.size == 0) {
+            return this;
+        }
+        if (this.size == 0) {
+            return (Chain<E>) other;
+        }
+        return new Chain<>(null, this, other, Math.addExact(this.size,
+                other.size));
+
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Chain)) {
+            return false;
+        }
+        final Chain<?> other = (Chain<?>) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        final Iterator<?> i = other.iterator();
+        for (final E e : this) {
+            if (!Objects.equals(e, i.next())) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    @Override
+    public int hashCode() {
+
+        int h = 1;
+        for (final E e : this) {
+            h = 31 * h + Objects.hashCode(e);
+        }
+        return h;
+
+    }
+
+    /**
+     * Determine whether the chain has no elements.
+     *
+     * @return true if empty.
+     */
+    public boolean isEmpty() {
+
+        return this.size == 0;
+
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+
+        final ArrayDeque<Chain<? extends E>> pending = new ArrayDeque<>();
+        if (this.size > 0) {
+            pending.push(this);
+        }
+        return new Iterator<E>() {
+
+            @Override
+            public boolean hasNext() {
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (pending.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Chain<? extends E> c = pending.pop();
+                while (c.front != null) {
+                    pending.push(c.back);
+                    c = c.front;
+                }
+                return c.value;
+            }
+
+        };
+
+    }
+
+    /**
+     * Add an element at the front.
+     *
+     * @param e
+     *            the element.
+     *
+     * @return the longer chain.
+     */
+    public Chain<E> prepend(final E e) {
+
+        return Chain.<E> of(e).concat(this);
+
+    }
+
+    /**
+     * Get the number of elements.
+     *
+     * @return the size.
+     */
+    public int size() {
+
+        return this.size;
+
+    }
+
+    /**
+     * Copy the elements to a list.
+     *
+     * @return unmodifiable list of the elements in order.
+     */
+    public List<E> toList() {
+
+        final List<E> rval = new ArrayList<>(this.size);
+        for (final E e : this) {
+            rval.add(e);
+        }
+        return Collections.unmodifiableList(rval);
+
+    }
+
+    @Override
+    public String toString() {
+
+        return toList().toString();
+
+    }
+
+}
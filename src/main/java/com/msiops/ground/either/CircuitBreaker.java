@@ -0,0 +1,304 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Circuit breaker for {@link Either}-producing calls. It records whether
+ * each of the most recent calls produced a right. When the window is full
+ * and the right rate reaches the threshold the breaker opens. While open,
+ * calls are not invoked; they return a right value constructed once up
+ * front, so a failing dependency costs neither a call nor a new exception.
+ * </p>
+ *
+ * <p>
+ * After the open period one probe call is let through. A left closes the
+ * breaker with an empty window; a right, or a throw, opens it again. Other
+ * calls are short-circuited while the probe runs.
+ * </p>
+ *
+ * <p>
+ * The window is a ring of atomic slots claimed with one fetch-and-add.
+ * Outcomes are only written when they differ from the slot they replace,
+ * so a healthy dependency shares little more than the ring cursor between
+ * threads.
+ * </p>
+ *
+ * @param <R>
+ *            right type of the calls.
+ */
+public final class CircuitBreaker<R> {
+
+    /**
+     * Breaker state.
+     */
+    public enum State {
+        /** calls pass and are recorded. */
+        CLOSED,
+        /** one probe call is in flight. */
+        HALF_OPEN,
+        /** calls are short-circuited. */
+        OPEN
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CircuitBreaker, State> STATE = AtomicReferenceFieldUpdater
+            .newUpdater(CircuitBreaker.class, State.class, "state");
+
+    /**
+     * Create a breaker.
+     *
+     * @param window
+     *            number of recent calls considered.
+     *
+     * @param threshold
+     *            right rate, over a full window, at which the breaker opens.
+     *
+     * @param openFor
+     *            how long to short-circuit before probing.
+     *
+     * @param openRight
+     *            right value returned while open.
+     *
+     * @param <R>
+     *            right type of the calls.
+     *
+     * @return the breaker, closed.
+     *
+     * @throws IllegalArgumentException
+     *             if the window is empty, the threshold is not in (0, 1], or
+     *             the open period is negative.
+     */
+    public static <R> CircuitBreaker<R> of(final int window,
+            final double threshold, final Duration openFor, final R openRight) {
+
+        if (window < 1) {
+            throw new IllegalArgumentException("empty window");
+        }
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("threshold not in (0, 1]");
+        }
+        if (openFor.isNegative()) {
+            throw new IllegalArgumentException("negative open period");
+        }
+        final int trip = Math.max(1, (int) Math.ceil(threshold * window));
+        return new CircuitBreaker<>(window, trip, openFor.toNanos(),
+                Objects.requireNonNull(openRight));
+
+    }
+
+    private final long openFor;
+
+    private final Either<?, R> openRight;
+
+    private volatile long openUntil;
+
+    private final LongAdder shortCircuited = new LongAdder();
+
+    private final int size;
+
+    private volatile State state = State.CLOSED;
+
+    private final int trip;
+
+    private volatile Window window;
+
+    private CircuitBreaker(final int size, final int trip,
+            final long openFor, final R openRight) {
+        this.size = size;
+        this.trip = trip;
+        this.openFor = openFor;
+        this.openRight = Either.right(openRight);
+        this.window = new Window(size);
+    }
+
+    /**
+     * Invoke a call through the breaker.
+     *
+     * @param s
+     *            the call.
+     *
+     * @param <L>
+     *            left type of the call.
+     *
+     * @return the call's outcome, or the open right if short-circuited.
+     */
+    public <L> Either<L, R> call(final Supplier<? extends Either<L, R>> s) {
+
+        final State st = this.state;
+        if (st == State.CLOSED) {
+            final Window w = this.window;
+            boolean right = true;
+            try {
+                final Either<L, R> rval = s.get();
+                right = !rval.isLeft();
+                return rval;
+            } finally {
+                if (w.record(right) && this.window == w) {
+                    open(State.CLOSED);
+                }
+            }
+        }
+        if (st == State.OPEN && this.openUntil - System.nanoTime() <= 0
+                && STATE.compareAndSet(this, State.OPEN, State.HALF_OPEN)) {
+            return probe(s);
+        }
+        this.shortCircuited.increment();
+        return Either.recast(this.openRight);
+
+    }
+
+    /**
+     * Get the share of rights in the current window, counting unfilled slots
+     * as lefts.
+     *
+     * @return right rate between zero and one.
+     */
+    public double getRightRate() {
+
+        return (double) this.window.rights.get() / this.size;
+
+    }
+
+    /**
+     * Get the number of calls short-circuited so far.
+     *
+     * @return short-circuit count.
+     */
+    public long getShortCircuited() {
+
+        return this.shortCircuited.sum();
+
+    }
+
+    /**
+     * Get the current state.
+     *
+     * @return state.
+     */
+    public State getState() {
+
+        return this.state;
+
+    }
+
+    /**
+     * Wrap a function so every application goes through the breaker.
+     *
+     * @param f
+     *            function to protect.
+     *
+     * @param <T>
+     *            argument type.
+     *
+     * @param <L>
+     *            left type of the function.
+     *
+     * @return protected function.
+     */
+    public <T, L> Function<T, Either<L, R>> protect(
+            final Function<? super T, ? extends Either<L, R>> f) {
+
+        Objects.requireNonNull(f);
+        return t -> call(() -> f.apply(t));
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "breaker(" + this.state + ", rightRate=" + getRightRate()
+                + ", shortCircuited=" + getShortCircuited() + ")";
+
+    }
+
+    private void open(final State from) {
+
+        this.openUntil = System.nanoTime() + this.openFor;
+        STATE.compareAndSet(this, from, State.OPEN);
+
+    }
+
+    private <L> Either<L, R> probe(final Supplier<? extends Either<L, R>> s) {
+
+        boolean left = false;
+        try {
+            final Either<L, R> rval = s.get();
+            left = rval.isLeft();
+            return rval;
+        } finally {
+            if (left) {
+                this.window = new Window(this.size);
+                STATE.compareAndSet(this, State.HALF_OPEN, State.CLOSED);
+            } else {
+                open(State.HALF_OPEN);
+            }
+        }
+
+    }
+
+    /**
+     * Ring of recent outcomes. A breaker replaces its window instead of
+     * clearing it, so calls that finish late record into a discarded window
+     * and cannot skew the new count.
+     */
+    private final class Window {
+
+        private final AtomicLong cursor = new AtomicLong();
+
+        private final AtomicInteger rights = new AtomicInteger();
+
+        private final AtomicIntegerArray slots;
+
+        Window(final int size) {
+            this.slots = new AtomicIntegerArray(size);
+        }
+
+        /**
+         * Record an outcome.
+         *
+         * @return true if the window is full and at the trip count.
+         */
+        boolean record(final boolean right) {
+
+            final long n = this.cursor.getAndIncrement();
+            final int i = (int) (n % this.slots.length());
+            final int v = right ? 1 : 0;
+            final int rs;
+            if (this.slots.get(i) == v) {
+                rs = this.rights.get();
+            } else {
+                final int old = this.slots.getAndSet(i, v);
+                rs = old == v ? this.rights.get() : this.rights.addAndGet(v
+                        - old);
+            }
+            return n + 1 >= this.slots.length() && rs >= CircuitBreaker.this.trip;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A point in time by which work must finish. Create one with
+ * {@link #after(Duration)} and pass it to every deadline-bounded step of a
+ * computation, so the steps share one budget instead of each getting its
+ * own:
+ * </p>
+ *
+ * <pre>
+ * final Deadline d = Deadline.after(Duration.ofMillis(200));
+ * Either.ofChecked(() -&gt; lookup(k), d).flatMap(
+ *         v -&gt; Either.ofChecked(() -&gt; fetch(v), d));
+ * </pre>
+ *
+ * <p>
+ * Deadlines are measured with {@link System#nanoTime()} and are only
+ * meaningful within one JVM.
+ * </p>
+ */
+public final class Deadline {
+
+    /**
+     * Create a deadline the given duration from now.
+     *
+     * @param timeout
+     *            time budget.
+     *
+     * @return the deadline.
+     */
+    public static Deadline after(final Duration timeout) {
+
+        return new Deadline(System.nanoTime()
+                + clampedNanos(Objects.requireNonNull(timeout)));
+
+    }
+
+    /*
+     * keeps deadline arithmetic clear of overflow. A quarter of the long
+     * range is still more than seventy years.
+     */
+    private static long clampedNanos(final Duration d) {
+
+        final long limit = Long.MAX_VALUE / 4;
+        if (d.compareTo(Duration.ofNanos(limit)) > 0) {
+            return limit;
+        }
+        if (d.compareTo(Duration.ofNanos(-limit)) < 0) {
+            return -limit;
+        }
+        return d.toNanos();
+
+    }
+
+    private final long at;
+
+    private Deadline(final long at) {
+        this.at = at;
+    }
+
+    /**
+     * Determine whether the deadline has passed.
+     *
+     * @return true if no time remains.
+     */
+    public boolean isExpired() {
+
+        return this.at - System.nanoTime() <= 0;
+
+    }
+
+    /**
+     * Get the time left before the deadline.
+     *
+     * @return remaining time, never negative.
+     */
+    public Duration remaining() {
+
+        return Duration.ofNanos(Math.max(0L, this.at - System.nanoTime()));
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "deadline(" + remaining() + ")";
+
+    }
+
+    long nanoTime() {
+
+        return this.at;
+
+    }
+
+}
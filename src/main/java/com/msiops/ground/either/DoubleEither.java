@@ -0,0 +1,478 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+
+/**
+ * <p>
+ * An {@link Either} whose left value is a primitive {@code double}. Left values
+ * are never boxed, so numeric pipelines built from {@link #lift(DoubleUnaryOperator)}
+ * and {@link #map(DoubleUnaryOperator)} can be scalar-replaced by the JIT once
+ * the instances do not escape.
+ * </p>
+ *
+ * <p>
+ * Semantics follow {@link Either}: map operations transform a left value and
+ * are identity on a right value. Use {@link #mapToObj(DoubleFunction)} or
+ * {@link #boxed()} to leave the primitive specialization and
+ * {@link Either#mapToDouble(ToDoubleFunction)} to enter it.
+ * </p>
+ *
+ * @param <Right>
+ *            value type if this is a right instance.
+ */
+public final class DoubleEither<Right> {
+
+    /**
+     * Construct a left variant from a plain value.
+     *
+     * @param v
+     *            value to put into the context.
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return a left instance.
+     */
+    public static <RR> DoubleEither<RR> left(final double v) {
+
+        return new DoubleEither<>(v, null);
+
+    }
+
+    /**
+     * <p>
+     * Lift an unchecked operator. The resulting function maps to
+     * {@link DoubleEither} with a right type of {@link RuntimeException}.
+     * </p>
+     *
+     * <p>
+     * Divergence is handled as in {@link Either#lift(Function)}.
+     * </p>
+     *
+     * @param f
+     *            operator to lift.
+     *
+     * @return lifted function.
+     */
+    public static DoubleFunction<DoubleEither<RuntimeException>> lift(
+            final DoubleUnaryOperator f) {
+
+        return t -> {
+            try {
+                return new DoubleEither<>(f.applyAsDouble(t), null);
+            } catch (final RuntimeException rtx) {
+                return new DoubleEither<>(0, rtx);
+            }
+        };
+
+    }
+
+    /**
+     * <p>
+     * Lift an unchecked function producing an {@code double}. The resulting
+     * function maps to {@link DoubleEither} with a right type of
+     * {@link RuntimeException}.
+     * </p>
+     *
+     * <p>
+     * Divergence is handled as in {@link Either#lift(Function)}.
+     * </p>
+     *
+     * @param f
+     *            function to lift.
+     *
+     * @param <T>
+     *            parameter type of function to lift
+     *
+     * @return lifted function.
+     */
+    public static <T> Function<T, DoubleEither<RuntimeException>> liftToDouble(
+            final ToDoubleFunction<T> f) {
+
+        return t -> {
+            try {
+                return new DoubleEither<>(f.applyAsDouble(t), null);
+            } catch (final RuntimeException rtx) {
+                return new DoubleEither<>(0, rtx);
+            }
+        };
+
+    }
+
+    /**
+     * Construct from an {@link DoubleSupplier}. If the supplier converges, the
+     * constructed instance is a left variant containing the supplied value. If
+     * the supplier diverges by throwing, the constructed instance is a right
+     * variant containing the thrown exception.
+     *
+     * @param s
+     *            left value supplier.
+     *
+     * @return left instance if supplier converges, right instance if it throws
+     *         a {@link RuntimeException}.
+     */
+    public static DoubleEither<RuntimeException> of(final DoubleSupplier s) {
+
+        try {
+            return new DoubleEither<>(s.getAsDouble(), null);
+        } catch (final RuntimeException rtx) {
+            return new DoubleEither<>(0, rtx);
+        }
+
+    }
+
+    /**
+     * Construct an instance from an {@link OptionalDouble}. If present, the
+     * optional is mapped to a left variant containing the present value. If not
+     * present, the result is the provided right value.
+     *
+     * @param maybeLeft
+     *            if present, a left instance is produced with the present
+     *            value.
+     *
+     * @param orRight
+     *            value of the produced right instance should the value not be
+     *            present.
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return left or right instance depending on the presence of the first
+     *         parameter.
+     *
+     * @throws NullPointerException
+     *             if the left value is not present and the right value is
+     *             null.
+     */
+    public static <RR> DoubleEither<RR> of(final OptionalDouble maybeLeft,
+            final RR orRight) {
+
+        return maybeLeft.isPresent() ? new DoubleEither<>(maybeLeft.getAsDouble(),
+                null) : right(orRight);
+
+    }
+
+    /**
+     * Construct a right variant from a plain value.
+     *
+     * @param v
+     *            value to put into the context. Must not be null.
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return a right instance.
+     */
+    public static <RR> DoubleEither<RR> right(final RR v) {
+
+        return new DoubleEither<>(0, Objects.requireNonNull(v));
+
+    }
+
+    /**
+     * The left value if this is a left instance, zero otherwise.
+     */
+    private final double left;
+
+    /**
+     * The right value if this is a right instance, null otherwise.
+     */
+    private final Right right;
+
+    private DoubleEither(final double left, final Right right) {
+
+        this.left = left;
+        this.right = right;
+
+    }
+
+    /**
+     * Box the left value.
+     *
+     * @return an equivalent {@link Either}.
+     */
+    public Either<Double, Right> boxed() {
+
+        return this.right == null ? Either.left(this.left) : Either
+                .right(this.right);
+
+    }
+
+    /**
+     * Two instances are equal if and only if they are the same variant and
+     * contain equal values.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+
+        final boolean rval;
+        if (this == obj) {
+            rval = true;
+        } else if (obj instanceof DoubleEither) {
+            final DoubleEither<?> other = (DoubleEither<?>) obj;
+            rval = Double.compare(this.left, other.left) == 0
+                    && Objects.equals(this.right, other.right);
+        } else {
+            rval = false;
+        }
+        return rval;
+
+    }
+
+    /**
+     * Map the left value according to an {@link DoubleEither}-producing function.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *
+     * @return the function result if this is a left instance, this instance
+     *         otherwise.
+     */
+    public DoubleEither<Right> flatMap(final DoubleFunction<DoubleEither<Right>> f) {
+
+        return this.right == null ? f.apply(this.left) : this;
+
+    }
+
+    /**
+     * Iterate over the value. If this is a left instance, the value is supplied
+     * to the consumer. Otherwise, this method has no observable effect.
+     *
+     * @param c
+     *            consumer. Will not be called if this is a right instance.
+     */
+    public void forEach(final DoubleConsumer c) {
+
+        if (this.right == null) {
+            c.accept(this.left);
+        }
+
+    }
+
+    /**
+     * Retrieve the value if this is a left instance.
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException
+     *             if this is a right instance.
+     */
+    public double getLeft() {
+        if (this.right != null) {
+            throw new IllegalStateException("no left");
+        }
+        return this.left;
+    }
+
+    /**
+     * Retrieve the value if this is a right instance.
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException
+     *             if this is a left instance.
+     */
+    public Right getRight() {
+        if (this.right == null) {
+            throw new IllegalStateException("no right");
+        }
+        return this.right;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.right == null ? Double.hashCode(this.left) : 31 + this.right
+                .hashCode();
+    }
+
+    /**
+     * Test the variant type.
+     *
+     * @return true iff this is a left instance, false iff this is a right
+     *         instance.
+     */
+    public boolean isLeft() {
+        return this.right == null;
+    }
+
+    /**
+     * Map the left value according to an operator.
+     *
+     * @param f
+     *            operator. Invoked only if this is a left instance.
+     *
+     * @return a left instance containing the operator result if this is a left
+     *         instance, this instance otherwise.
+     */
+    public DoubleEither<Right> map(final DoubleUnaryOperator f) {
+
+        return this.right == null ? new DoubleEither<>(f.applyAsDouble(this.left),
+                null) : this;
+
+    }
+
+    /**
+     * Map the left value to an {@code int}.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *
+     * @return mapped instance.
+     */
+    public IntEither<Right> mapToInt(final DoubleToIntFunction f) {
+
+        return this.right == null ? IntEither.left(f.applyAsInt(this.left))
+                : IntEither.right(this.right);
+
+    }
+
+    /**
+     * Map the left value to a {@code long}.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *
+     * @return mapped instance.
+     */
+    public LongEither<Right> mapToLong(final DoubleToLongFunction f) {
+
+        return this.right == null ? LongEither.left(f.applyAsLong(this.left))
+                : LongEither.right(this.right);
+
+    }
+
+    /**
+     * Map the left value to an object.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *            Must not return null.
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return mapped instance.
+     */
+    public <R> Either<R, Right> mapToObj(final DoubleFunction<R> f) {
+
+        return this.right == null ? Either.left(f.apply(this.left)) : Either
+                .right(this.right);
+
+    }
+
+    /**
+     * Convert to an optional.
+     *
+     * @return An optional that is present if this is a left variant, empty if
+     *         not.
+     */
+    public OptionalDouble maybe() {
+        return this.right == null ? OptionalDouble.of(this.left) : OptionalDouble
+                .empty();
+    }
+
+    /**
+     * Retrieve the value or an alternative.
+     *
+     * @param other
+     *            alternative value.
+     *
+     * @return the contained value if this is a left instance, the alternative
+     *         otherwise.
+     */
+    public double orElse(final double other) {
+
+        return this.right == null ? this.left : other;
+
+    }
+
+    /**
+     * Retrieve the value or compute an alternative.
+     *
+     * @param other
+     *            alternative value supplier. Not invoked if this is a left
+     *            instance.
+     *
+     * @return the contained value if this is a left instance, the computed
+     *         alternative otherwise.
+     */
+    public double orElseGet(final DoubleSupplier other) {
+
+        return this.right == null ? this.left : other.getAsDouble();
+
+    }
+
+    /**
+     * Retrieve the value or die trying.
+     *
+     * @param genx
+     *            throwable supplier. Invoked only if this is a right instance.
+     *
+     * @param <X>
+     *            type of exception to throw if this is a right instance.
+     *
+     * @return the value if this is a left instance.
+     *
+     * @throws X
+     *             if this is a right instance.
+     */
+    public <X extends Throwable> double orElseThrow(final Supplier<X> genx)
+            throws X {
+
+        if (this.right != null) {
+            throw genx.get();
+        }
+
+        return this.left;
+
+    }
+
+    /**
+     * Convert to a stream.
+     *
+     * @return A stream containing only the value if this is a left instance.
+     *         An empty stream if this is a right instance.
+     */
+    public DoubleStream stream() {
+
+        return this.right == null ? DoubleStream.of(this.left) : DoubleStream.empty();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return this.right == null ? ("left={" + this.left + "}")
+                : ("right={" + String.valueOf(this.right) + "}");
+
+    }
+
+}
@@ -15,11 +15,30 @@
  */
 package com.msiops.ground.either;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.msiops.footing.functional.FunT1;
@@ -48,6 +67,21 @@ import com.msiops.footing.functional.SupplierT;
  * divergence.
  * </p>
  *
+ * <p>
+ * Every instance is either a {@link LeftVariant} or a {@link RightVariant}.
+ * No other subclasses exist. On Java 17 and later the class is loaded from the
+ * multi-release layer of the jar, where it is declared {@code sealed}. On Java
+ * 21 that lets a pattern-matching {@code switch} over the two variants be
+ * checked for exhaustiveness:
+ * </p>
+ *
+ * <pre>
+ * final String s = switch (e) {
+ * case Either.LeftVariant&lt;Integer, String&gt; l -&gt; "got " + l.getLeft();
+ * case Either.RightVariant&lt;Integer, String&gt; r -&gt; r.getRight();
+ * };
+ * </pre>
+ *
  *
  *
  * @param <Left>
@@ -56,7 +90,7 @@ import com.msiops.footing.functional.SupplierT;
  * @param <Right>
  *            value type if this is a right instance.
  */
-public final class Either<Left, Right> {
+public abstract class Either<Left, Right> implements Iterable<Left> {
 
     /**
      * Construct a left variant from a plain value.
@@ -74,7 +108,37 @@ public final class Either<Left, Right> {
      */
     public static <LL, RR> Either<LL, RR> left(final LL v) {
 
-        return new Either<>(Objects.requireNonNull(v), (RR) null);
+        return new LeftVariant<>(Objects.requireNonNull(v));
+
+    }
+
+    /**
+     * <p>
+     * Extract the left values from a stream of {@link Either} instances,
+     * discarding the rights.
+     * </p>
+     *
+     * <p>
+     * This replaces {@code es.flatMap(Either::stream)}, which builds a stream
+     * pipeline for every element. The returned stream is a plain filter and
+     * map of the original and allocates nothing per element. It is parallel
+     * if the original is and closing it closes the original.
+     * </p>
+     *
+     * @param es
+     *            source stream. Must not contain null.
+     *
+     * @param <LL>
+     *            left type of the elements.
+     *
+     * @param <RR>
+     *            right type of the elements.
+     *
+     * @return a stream of the left values, in encounter order.
+     */
+    public static <LL, RR> Stream<LL> lefts(final Stream<Either<LL, RR>> es) {
+
+        return es.filter(Either::isLeft).map(Either::getLeft);
 
     }
 
@@ -108,9 +172,9 @@ public final class Either<Left, Right> {
 
         return t -> {
             try {
-                return new Either<>(f.apply(t), null);
+                return new LeftVariant<>(f.apply(t));
             } catch (final RuntimeException rtx) {
-                return new Either<>(null, rtx);
+                return new RightVariant<>(rtx);
             }
         };
 
@@ -145,9 +209,9 @@ public final class Either<Left, Right> {
             final FunT1<T, R> f) {
         return t -> {
             try {
-                return new Either<>(f.apply(t), null);
+                return new LeftVariant<>(f.apply(t));
             } catch (final Throwable x) {
-                return new Either<>(null, x);
+                return new RightVariant<>(x);
             }
         };
 
@@ -182,8 +246,8 @@ public final class Either<Left, Right> {
     public static <LL, RR> Either<LL, RR> of(final Optional<LL> maybeLeft,
             final RR orRight) {
 
-        return maybeLeft.map(v -> new Either<>(v, (RR) null)).orElseGet(
-                () -> new Either<>(null, Objects.requireNonNull(orRight)));
+        return maybeLeft.isPresent() ? new LeftVariant<>(maybeLeft.get())
+                : new RightVariant<>(Objects.requireNonNull(orRight));
 
     }
 
@@ -218,8 +282,8 @@ public final class Either<Left, Right> {
      */
     public static <LL, RR> Either<LL, RR> of(final Optional<LL> maybeLeft,
             final Supplier<RR> orGetRight) {
-        return maybeLeft.map(v -> new Either<>(v, (RR) null)).orElseGet(
-                () -> new Either<>(null, orGetRight.get()));
+        return maybeLeft.isPresent() ? new LeftVariant<>(maybeLeft.get())
+                : new RightVariant<>(orGetRight.get());
     }
 
     /**
@@ -242,310 +306,970 @@ public final class Either<Left, Right> {
     public static <R> Either<R, RuntimeException> of(final Supplier<R> s) {
 
         try {
-            return new Either<>(s.get(), null);
+            return new LeftVariant<>(s.get());
         } catch (final RuntimeException rtx) {
-            return new Either<>(null, rtx);
+            return new RightVariant<>(rtx);
         }
 
     }
 
     /**
      * <p>
-     * Construct from a {@link SupplierT}. If the supplier convergences, the
-     * constructed instance is a left variant containing the supplied value. If
-     * the supplier diverges by throwing, the constructed instance is a right
-     * variant containing the thrown exception.
+     * Construct from a {@link Supplier} that must finish by a deadline.
+     * Behaves as {@link #of(Supplier)} except for the time limit.
+     * </p>
+     *
+     * <p>
+     * The supplier runs on the calling thread. If it is still running when
+     * the deadline passes, the thread is interrupted and the result is a
+     * right variant containing a {@link TimeoutException}. Whatever the
+     * supplier returned or threw after the interrupt is attached as the
+     * cause, and the interrupt status is cleared. A supplier that ignores
+     * interrupts runs to completion and then times out. If the deadline has
+     * already passed the supplier is not invoked.
+     * </p>
+     *
+     * <p>
+     * Timeouts are served by one shared timer thread with a resolution of
+     * about one millisecond.
      * </p>
      *
      * @param s
      *            left value supplier.
      *
+     * @param d
+     *            deadline, which may be shared by several steps.
+     *
      * @param <R>
      *            return type of supplier.
      *
-     * @return left instance if supplier converges, right instance if it throws
-     *         a {@link Exception}.
+     * @return left instance if supplier converges in time, right instance if
+     *         it throws a {@link RuntimeException} or times out.
      */
-    public static <R> Either<R, Throwable> ofChecked(final SupplierT<R> s) {
+    public static <R> Either<R, Exception> of(final Supplier<R> s,
+            final Deadline d) {
 
+        if (d.isExpired()) {
+            return new RightVariant<>(timedOut(null));
+        }
+        final TimerWheel.Timeout t = arm(d);
+        Either<R, Exception> rval = null;
         try {
-            return new Either<>(s.get(), null);
-        } catch (final Throwable x) {
-            return new Either<>(null, x);
+            rval = new LeftVariant<>(s.get());
+        } catch (final RuntimeException rtx) {
+            rval = new RightVariant<>(rtx);
+        } finally {
+            if (disarm(t)) {
+                rval = new RightVariant<>(timedOut(rval));
+            }
         }
+        return rval;
 
     }
 
     /**
-     * Construct a right variant from a plain value.
+     * Construct from a {@link Supplier} that must finish within a timeout.
+     * Behaves as {@link #of(Supplier, Deadline)} with a deadline the timeout
+     * from now.
      *
-     * @param v
-     *            value to put into the context. Must not be null.
+     * @param s
+     *            left value supplier.
      *
-     * @param <LL>
-     *            left type of constructed instance
+     * @param timeout
+     *            time budget.
      *
-     * @param <RR>
-     *            right type of constructed instance.
+     * @param <R>
+     *            return type of supplier.
      *
-     * @return a right instance.
+     * @return left instance if supplier converges in time, right instance if
+     *         it throws a {@link RuntimeException} or times out.
      */
-    public static <LL, RR> Either<LL, RR> right(final RR v) {
+    public static <R> Either<R, Exception> of(final Supplier<R> s,
+            final Duration timeout) {
 
-        return new Either<>((LL) null, Objects.requireNonNull(v));
+        return of(s, Deadline.after(timeout));
 
     }
 
     /**
      * <p>
-     * The left value if this is a left instance, null otherwise. It is an
-     * {@link Object} rather than a Left so that this instance can be returned
-     * from mapping in the case it is a right instance.
+     * Construct from a {@link SupplierT}. If the supplier convergences, the
+     * constructed instance is a left variant containing the supplied value. If
+     * the supplier diverges by throwing, the constructed instance is a right
+     * variant containing the thrown exception.
      * </p>
+     *
+     * @param s
+     *            left value supplier.
+     *
+     * @param <R>
+     *            return type of supplier.
+     *
+     * @return left instance if supplier converges, right instance if it throws
+     *         a {@link Exception}.
      */
-    private final Object left;
-
-    /**
-     * The right value if this is a right instance, null otherwise.
-     */
-    private final Right right;
-
-    private Either(final Left left, final Right right) {
+    public static <R> Either<R, Throwable> ofChecked(final SupplierT<R> s) {
 
-        if (left != null && right != null) {
-            throw new AssertionError(
-                    "attempt to create with both left and right");
-        } else if (left == null && right == null) {
-            throw new AssertionError(
-                    "attempt to create with neither left nor right");
+        try {
+            return new LeftVariant<>(s.get());
+        } catch (final Throwable x) {
+            return new RightVariant<>(x);
         }
-        this.left = left;
-        this.right = right;
 
     }
 
     /**
-     * <p>
-     * An {@link Either} instance is an immutable value object. Two instances
-     * are equal if and only if they are the same variant (left or right) and
-     * contain the same value as determined by the value's own
-     * {@link #equals(Object)} method.
-     * </p>
+     * Construct from a {@link SupplierT} that must finish by a deadline.
+     * Behaves as {@link #ofChecked(SupplierT)} except for the time limit,
+     * which works as in {@link #of(Supplier, Deadline)}.
      *
-     * {@inheritDoc}
+     * @param s
+     *            left value supplier.
+     *
+     * @param d
+     *            deadline, which may be shared by several steps.
+     *
+     * @param <R>
+     *            return type of supplier.
+     *
+     * @return left instance if supplier converges in time, right instance if
+     *         it throws or times out.
      */
-    @Override
-    public boolean equals(final Object obj) {
+    public static <R> Either<R, Throwable> ofChecked(final SupplierT<R> s,
+            final Deadline d) {
 
-        final boolean rval;
-        if (this == obj) {
-            rval = true;
-        } else if (obj instanceof Either) {
-            rval = Objects.equals(this.left, ((Either<?, ?>) obj).left)
-                    && Objects.equals(this.right, ((Either<?, ?>) obj).right);
-        } else {
-            rval = false;
+        if (d.isExpired()) {
+            return new RightVariant<>(timedOut(null));
+        }
+        final TimerWheel.Timeout t = arm(d);
+        Either<R, Throwable> rval = null;
+        try {
+            rval = new LeftVariant<>(s.get());
+        } catch (final Throwable x) {
+            rval = new RightVariant<>(x);
+        } finally {
+            if (disarm(t)) {
+                rval = new RightVariant<>(timedOut(rval));
+            }
         }
         return rval;
+
     }
 
     /**
-     * <p>
-     * Map the left value according to an {@link Either}-producing function.
-     * </p>
+     * Construct from a {@link SupplierT} that must finish within a timeout.
+     * Behaves as {@link #ofChecked(SupplierT, Deadline)} with a deadline the
+     * timeout from now.
      *
-     * @param f
-     *            <p>
-     *            a function that maps a plain value of this instances Left type
-     *            to an {@link Either} instance of this instance's type.
-     *            </p>
+     * @param s
+     *            left value supplier.
      *
-     *            <p>
-     *            If this is a left variant, the function is invoked on the
-     *            contained value and the result of the function is returned. If
-     *            this is a right variant, the function is not invoked and a
-     *            right instance containing the current right value, suitably
-     *            typed according to the function, is returned. Note that this
-     *            method might not create a new instance in the right case. The
-     *            old instance may be simply cast with compatible type
-     *            parameters and returned.
-     *            </p>
+     * @param timeout
+     *            time budget.
      *
      * @param <R>
-     *            left type of function return type.
+     *            return type of supplier.
      *
-     * @return am instance that has been mapped according to the supplied
-     *         function.
+     * @return left instance if supplier converges in time, right instance if
+     *         it throws or times out.
      */
-    public <R> Either<R, Right> flatMap(
-            final Function<? super Left, Either<R, Right>> f) {
+    public static <R> Either<R, Throwable> ofChecked(final SupplierT<R> s,
+            final Duration timeout) {
+
+        return ofChecked(s, Deadline.after(timeout));
 
-        return this.left == null ? fail() : f.apply(extract());
     }
 
     /**
-     * Iterate over the value. If this is a left instance, the value is supplied
-     * to the consumer. Otherwise, this method has no observable effect.
+     * Split a stream of {@link Either} instances into lists of left and right
+     * values in one pass. Behaves as
+     * {@link #partitioning(Collector, Collector)} with
+     * {@link Collectors#toList()} for both sides.
      *
-     * @param c
-     *            consumer. Will not be called if this is a right instance.
+     * @param <LL>
+     *            left type of the elements.
+     *
+     * @param <RR>
+     *            right type of the elements.
+     *
+     * @return a collector producing a {@link Partition} of lists.
      */
-    public void forEach(final Consumer<? super Left> c) {
+    public static <LL, RR> Collector<Either<LL, RR>, ?, Partition<List<LL>, List<RR>>> partitioning() {
 
-        if (this.left != null) {
-            c.accept(extract());
-        }
+        return partitioning(Collectors.toList(), Collectors.toList());
 
     }
 
     /**
-     * Retrieve the value if this is a left instance.
+     * <p>
+     * Split a stream of {@link Either} instances into left and right values in
+     * one pass. Each left value is passed to the left downstream collector and
+     * each right value to the right downstream collector.
+     * </p>
      *
-     * @return the value
+     * <p>
+     * In a parallel stream, each thread accumulates into its own pair of
+     * downstream containers. Combining the results of two threads costs one
+     * combine of each downstream collector. The collector is
+     * {@link Collector.Characteristics#UNORDERED unordered} if both downstream
+     * collectors are.
+     * </p>
      *
-     * @throws IllegalStateException
-     *             if this is a right instance.
+     * @param lefts
+     *            downstream collector for left values.
+     *
+     * @param rights
+     *            downstream collector for right values.
+     *
+     * @param <LL>
+     *            left type of the elements.
+     *
+     * @param <RR>
+     *            right type of the elements.
+     *
+     * @param <LA>
+     *            accumulation type of the left downstream collector.
+     *
+     * @param <LD>
+     *            result type of the left downstream collector.
+     *
+     * @param <RA>
+     *            accumulation type of the right downstream collector.
+     *
+     * @param <RD>
+     *            result type of the right downstream collector.
+     *
+     * @return a collector producing a {@link Partition} of the downstream
+     *         results.
      */
-    public Left getLeft() {
-        if (this.left == null) {
-            throw new IllegalStateException("no left");
+    public static <LL, RR, LA, LD, RA, RD> Collector<Either<LL, RR>, ?, Partition<LD, RD>> partitioning(
+            final Collector<? super LL, LA, LD> lefts,
+            final Collector<? super RR, RA, RD> rights) {
+
+        final BiConsumer<LA, ? super LL> la = lefts.accumulator();
+        final BiConsumer<RA, ? super RR> ra = rights.accumulator();
+        final BinaryOperator<LA> lc = lefts.combiner();
+        final BinaryOperator<RA> rc = rights.combiner();
+
+        final Set<Collector.Characteristics> characteristics = EnumSet
+                .noneOf(Collector.Characteristics.class);
+        if (lefts.characteristics().contains(
+                Collector.Characteristics.UNORDERED)
+                && rights.characteristics().contains(
+                        Collector.Characteristics.UNORDERED)) {
+            characteristics.add(Collector.Characteristics.UNORDERED);
         }
-        return extract();
+
+        return Collector.of(
+                () -> new Partitioning<LA, RA>(lefts.supplier().get(), rights
+                        .supplier().get()),
+                (a, e) -> {
+                    if (e.isLeft()) {
+                        la.accept(a.lefts, e.getLeft());
+                    } else {
+                        ra.accept(a.rights, e.getRight());
+                    }
+                },
+                (a, b) -> new Partitioning<LA, RA>(lc.apply(a.lefts, b.lefts),
+                        rc.apply(a.rights, b.rights)),
+                a -> new Partition<>(lefts.finisher().apply(a.lefts), rights
+                        .finisher().apply(a.rights)),
+                characteristics.toArray(new Collector.Characteristics[0]));
+
     }
 
     /**
-     * Retrieve the value if this is a right instance.
+     * Construct a right variant from a plain value.
      *
-     * @return the value
+     * @param v
+     *            value to put into the context. Must not be null.
      *
-     * @throws IllegalStateException
-     *             if this is a left instance.
+     * @param <LL>
+     *            left type of constructed instance
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return a right instance.
      */
-    public Right getRight() {
-        if (this.right == null) {
-            throw new IllegalStateException("no right");
-        }
-        return this.right;
-    }
+    public static <LL, RR> Either<LL, RR> right(final RR v) {
+
+        return new RightVariant<>(Objects.requireNonNull(v));
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(this.left, this.right);
     }
 
     /**
-     * Test the variant type.
+     * Extract the right values from a stream of {@link Either} instances,
+     * discarding the lefts. The counterpart of {@link #lefts(Stream)}.
      *
-     * @return true iff this is a left instance, false iff this is a right
-     *         instance.
+     * @param es
+     *            source stream. Must not contain null.
+     *
+     * @param <LL>
+     *            left type of the elements.
+     *
+     * @param <RR>
+     *            right type of the elements.
+     *
+     * @return a stream of the right values, in encounter order.
      */
-    public boolean isLeft() {
-        return this.left != null;
+    public static <LL, RR> Stream<RR> rights(final Stream<Either<LL, RR>> es) {
+
+        return es.filter(e -> !e.isLeft()).map(Either::getRight);
+
     }
 
     /**
      * <p>
-     * Map left according to a mapping function.
+     * Collect the values of a sequence of lefts. If every element is a left,
+     * the result is a left containing a new list of their values in encounter
+     * order. Otherwise the result is the first right encountered.
      * </p>
      *
-     * @param f
-     *            <p>
-     *            a function that maps a plain value of this instances Left type
-     *            to some other type.
-     *            </p>
+     * <p>
+     * Elements are consumed only up to the first right, so the cost of a
+     * failing sequence is proportional to the position of the failure rather
+     * than the length of the input.
+     * </p>
      *
-     *            <p>
-     *            If this is a left variant, the function is invoked on the
-     *            contained value and a new left variant containing the produced
-     *            value is returned. If this is a right variant, the function is
-     *            not invoked and a right instance containing the current right
-     *            value, suitably typed according to the function, is returned.
-     *            Note that this method might not create a new instance in the
-     *            right case. The old instance may be simply cast with
-     *            compatible type parameters and returned.
-     *            </p>
+     * @param es
+     *            elements to collect. Must not contain null.
      *
-     * @param <R>
-     *            the function return type.
+     * @param <LL>
+     *            left type of the elements.
      *
-     * @return am instance that has been mapped according to the supplied
-     *         function.
+     * @param <RR>
+     *            right type of the elements.
+     *
+     * @return a left containing all values, or the first right.
      */
-    public <R> Either<R, Right> map(final Function<? super Left, R> f) {
+    public static <LL, RR> Either<List<LL>, RR> sequence(
+            final Either<LL, RR>[] es) {
 
-        return this.left == null ? fail() : apply(f);
+        final ArrayList<LL> lefts = new ArrayList<>(es.length);
+        for (final Either<LL, RR> e : es) {
+            if (!e.isLeft()) {
+                return recast(e);
+            }
+            lefts.add(e.getLeft());
+        }
+        return new LeftVariant<>(lefts);
 
     }
 
     /**
-     * Convert to an optional of the Left type.
-     *
-     * @return An optional that is present if this is a left variant, empty if
-     *         not.
+     * Collect the values of a sequence of lefts. Behaves as
+     * {@link #sequence(Either[])}.
      *
-     */
-    public Optional<Left> maybe() {
-        return this.left == null ? Optional.empty() : Optional.of(extract());
-    }
-
-    /**
-     * Retrieve the value or an alternative. If this is a left instance, the
-     * contained value is returned, otherwise a provided alternative is
-     * returned.
+     * @param es
+     *            elements to collect. Must not contain null.
      *
-     * @param other
-     *            alternative value.
+     * @param <LL>
+     *            left type of the elements.
      *
-     * @return the contained value if this is a left instance, the alternative
-     *         otherwise.
+     * @param <RR>
+     *            right type of the elements.
      *
-     * @throws NullPointerException
-     *             if this is a right value and the provided alternative is
-     *             null.
+     * @return a left containing all values, or the first right.
      */
-    public Left orElse(final Left other) {
+    public static <LL, RR> Either<List<LL>, RR> sequence(
+            final Iterable<Either<LL, RR>> es) {
 
-        return this.left == null ? Objects.requireNonNull(other) : extract();
+        return traverse(es, Function.identity());
 
     }
 
     /**
-     * Retrieve the value or compute an alternative. If this is a left instance,
-     * the contained value is returned, otherwise an alternative is computed
-     * from the provided supplier.
+     * Collect the values of a stream of lefts. Behaves as
+     * {@link #sequence(Either[])}. The stream is consumed through its
+     * {@link Spliterator}, so no element after the first right is pulled
+     * through the pipeline.
      *
-     * @param other
-     *            alternative value supplier. Required if this is a right
-     *            instance. The supplier is not invoked if this is a left
-     *            instance. If invoked, the supplier must not return null.
+     * @param es
+     *            elements to collect. Must not contain null.
      *
-     * @return the contained value if this is a left instance, the computed
-     *         alternative otherwise.
+     * @param <LL>
+     *            left type of the elements.
      *
-     * @throws NullPointerException
-     *             if this is a right instance and the supplier parameter is
-     *             null or if the supplier is invoked and it returns null.
+     * @param <RR>
+     *            right type of the elements.
+     *
+     * @return a left containing all values, or the first right.
      */
-    public Left orElseGet(final Supplier<? extends Left> other) {
+    public static <LL, RR> Either<List<LL>, RR> sequence(
+            final Stream<Either<LL, RR>> es) {
 
-        return this.left == null ? Objects.requireNonNull(other.get())
-                : extract();
+        return traverse(es, Function.identity());
 
     }
 
     /**
-     * Retrieve the left value or an alternative. If this is a left value, the
-     * contained value is returned. Otherwise, a null reference to the Left type
-     * is returned.
+     * <p>
+     * Map each element to an {@link Either} and collect the results as
+     * {@link #sequence(Either[])} does. The function is not invoked for any
+     * element after the first one that maps to a right.
+     * </p>
      *
-     * @return contained value if this is a left instance, null otherwise.
+     * @param ts
+     *            elements to map.
+     *
+     * @param f
+     *            mapping function. Must not return null.
      *
+     * @param <T>
+     *            element type.
+     *
+     * @param <LL>
+     *            left type of the mapping function result.
+     *
+     * @param <RR>
+     *            right type of the mapping function result.
+     *
+     * @return a left containing all mapped values, or the first right.
      */
-    public Left orElseNull() {
+    public static <T, LL, RR> Either<List<LL>, RR> traverse(final T[] ts,
+            final Function<? super T, Either<LL, RR>> f) {
+
+        final ArrayList<LL> lefts = new ArrayList<>(ts.length);
+        for (final T t : ts) {
+            final Either<LL, RR> e = f.apply(t);
+            if (!e.isLeft()) {
+                return recast(e);
+            }
+            lefts.add(e.getLeft());
+        }
+        return new LeftVariant<>(lefts);
 
-        return this.left == null ? null : extract();
     }
 
+    /**
+     * Map each element to an {@link Either} and collect the results. Behaves
+     * as {@link #traverse(Object[], Function)}. The result list is presized
+     * when the iterable is a {@link Collection} or reports an exact size.
+     *
+     * @param ts
+     *            elements to map.
+     *
+     * @param f
+     *            mapping function. Must not return null.
+     *
+     * @param <T>
+     *            element type.
+     *
+     * @param <LL>
+     *            left type of the mapping function result.
+     *
+     * @param <RR>
+     *            right type of the mapping function result.
+     *
+     * @return a left containing all mapped values, or the first right.
+     */
+    public static <T, LL, RR> Either<List<LL>, RR> traverse(
+            final Iterable<T> ts, final Function<? super T, Either<LL, RR>> f) {
+
+        if (!(ts instanceof Collection)) {
+            return traverse(ts.spliterator(), f);
+        }
+
+        final ArrayList<LL> lefts = new ArrayList<>(
+                ((Collection<T>) ts).size());
+        for (final Iterator<T> i = ts.iterator(); i.hasNext();) {
+            final Either<LL, RR> e = f.apply(i.next());
+            if (!e.isLeft()) {
+                return recast(e);
+            }
+            lefts.add(e.getLeft());
+        }
+        return new LeftVariant<>(lefts);
+
+    }
+
+    /**
+     * Map each element to an {@link Either} and collect the results. Behaves
+     * as {@link #traverse(Object[], Function)}. The stream is consumed through
+     * its {@link Spliterator} and the result list is presized when the stream
+     * is {@link Spliterator#SIZED}.
+     *
+     * @param ts
+     *            elements to map.
+     *
+     * @param f
+     *            mapping function. Must not return null.
+     *
+     * @param <T>
+     *            element type.
+     *
+     * @param <LL>
+     *            left type of the mapping function result.
+     *
+     * @param <RR>
+     *            right type of the mapping function result.
+     *
+     * @return a left containing all mapped values, or the first right.
+     */
+    public static <T, LL, RR> Either<List<LL>, RR> traverse(
+            final Stream<T> ts, final Function<? super T, Either<LL, RR>> f) {
+
+        return traverse(ts.spliterator(), f);
+
+    }
+
+    /**
+     * Map each element in parallel on the common {@link ForkJoinPool}.
+     * Behaves as {@link #traverseParallel(Object[], Function, ForkJoinPool)}.
+     *
+     * @param ts
+     *            elements to map.
+     *
+     * @param f
+     *            mapping function. Must not return null.
+     *
+     * @param <T>
+     *            element type.
+     *
+     * @param <LL>
+     *            left type of the mapping function result.
+     *
+     * @param <RR>
+     *            right type of the mapping function result.
+     *
+     * @return a left containing all mapped values in input order, or the
+     *         right at the lowest failing index.
+     */
+    public static <T, LL, RR> Either<List<LL>, RR> traverseParallel(
+            final T[] ts, final Function<? super T, Either<LL, RR>> f) {
+
+        return traverseParallel(ts, f, ForkJoinPool.commonPool());
+
+    }
+
+    /**
+     * <p>
+     * Map each element to an {@link Either} in parallel and collect the
+     * results. The input is split into ranges that are mapped as fork-join
+     * tasks in the provided pool. The result is the same as that of
+     * {@link #traverse(Object[], Function)}: a left list of all values in input
+     * order, or the right at the lowest failing index.
+     * </p>
+     *
+     * <p>
+     * Once a right is found, tasks working beyond its index stop without
+     * invoking the function further. Tasks before it run to completion
+     * because they may still find an earlier right. The function must
+     * therefore be safe to call concurrently and may be invoked for elements
+     * after the reported right.
+     * </p>
+     *
+     * <p>
+     * Pass a function produced by {@link #lift(Function)} to capture
+     * exceptions as rights; the right then holds the very
+     * {@link RuntimeException} thrown by the original function. An unchecked
+     * exception thrown by a function that is not lifted is rethrown, as the
+     * same instance, in the calling thread.
+     * </p>
+     *
+     * @param ts
+     *            elements to map.
+     *
+     * @param f
+     *            mapping function. Must not return null.
+     *
+     * @param pool
+     *            pool in which to run the tasks.
+     *
+     * @param <T>
+     *            element type.
+     *
+     * @param <LL>
+     *            left type of the mapping function result.
+     *
+     * @param <RR>
+     *            right type of the mapping function result.
+     *
+     * @return a left containing all mapped values in input order, or the
+     *         right at the lowest failing index. The list is a fixed-size
+     *         view over the array the tasks wrote into.
+     */
+    public static <T, LL, RR> Either<List<LL>, RR> traverseParallel(
+            final T[] ts, final Function<? super T, Either<LL, RR>> f,
+            final ForkJoinPool pool) {
+
+        return new ParallelTraversal<>(ts, f, pool.getParallelism())
+                .invoke(pool);
+
+    }
+
+    private static <T, LL, RR> Either<List<LL>, RR> traverse(
+            final Spliterator<T> ts,
+            final Function<? super T, Either<LL, RR>> f) {
+
+        final long size = ts.getExactSizeIfKnown();
+        final Traversal<T, LL, RR> tr = new Traversal<>(f,
+                size >= 0 && size <= Integer.MAX_VALUE ? (int) size : 10);
+        while (tr.right == null && ts.tryAdvance(tr)) {
+            // keep pulling until exhausted or a right is found
+        }
+        return tr.right == null ? new LeftVariant<>(tr.lefts)
+                : recast(tr.right);
+
+    }
+
+    private static TimerWheel.Timeout arm(final Deadline d) {
+
+        final Thread caller = Thread.currentThread();
+        return TimerWheel.SHARED.schedule(d.nanoTime(), caller::interrupt);
+
+    }
+
+    /**
+     * Stop a timeout armed by {@link #arm(Deadline)}. If it already fired,
+     * wait for the interrupt to land and then clear it.
+     *
+     * @return true if the timeout fired.
+     */
+    private static boolean disarm(final TimerWheel.Timeout t) {
+
+        if (t.cancel()) {
+            return false;
+        }
+        t.awaitFired();
+        Thread.interrupted();
+        return true;
+
+    }
+
+    /**
+     * Retype a right instance. The left type parameter is unused by a right
+     * instance so the same object can be returned.
+     */
+    @SuppressWarnings("unchecked")
+    static <L, R> Either<L, R> recast(final Either<?, R> right) {
+        return (Either<L, R>) right;
+    }
+
+    private static TimeoutException timedOut(final Either<?, ?> late) {
+
+        final TimeoutException rval = new TimeoutException("deadline exceeded");
+        if (late != null && !late.isLeft()) {
+            rval.initCause((Throwable) late.getRight());
+        }
+        return rval;
+
+    }
+
+    /**
+     * Only the nested variant classes can extend.
+     */
+    private Either() {
+    }
+
+    /**
+     * <p>
+     * Map both sides at once. Exactly one of the functions is invoked,
+     * according to the variant.
+     * </p>
+     *
+     * @param lf
+     *            function applied to the value if this is a left instance.
+     *
+     * @param rf
+     *            function applied to the value if this is a right instance.
+     *
+     * @param <L>
+     *            left type of the result.
+     *
+     * @param <R>
+     *            right type of the result.
+     *
+     * @return an instance of the same variant containing the mapped value.
+     */
+    public abstract <L, R> Either<L, R> bimap(
+            final Function<? super Left, L> lf,
+            final Function<? super Right, R> rf);
+
+    /**
+     * <p>
+     * An {@link Either} instance is an immutable value object. Two instances
+     * are equal if and only if they are the same variant (left or right) and
+     * contain the same value as determined by the value's own
+     * {@link #equals(Object)} method.
+     * </p>
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public abstract boolean equals(final Object obj);
+
+    /**
+     * <p>
+     * Map the left value according to an {@link Either}-producing function.
+     * </p>
+     *
+     * @param f
+     *            <p>
+     *            a function that maps a plain value of this instances Left type
+     *            to an {@link Either} instance of this instance's type.
+     *            </p>
+     *
+     *            <p>
+     *            If this is a left variant, the function is invoked on the
+     *            contained value and the result of the function is returned. If
+     *            this is a right variant, the function is not invoked and a
+     *            right instance containing the current right value, suitably
+     *            typed according to the function, is returned. Note that this
+     *            method might not create a new instance in the right case. The
+     *            old instance may be simply cast with compatible type
+     *            parameters and returned.
+     *            </p>
+     *
+     * @param <R>
+     *            left type of function return type.
+     *
+     * @return am instance that has been mapped according to the supplied
+     *         function.
+     */
+    public abstract <R> Either<R, Right> flatMap(
+            final Function<? super Left, Either<R, Right>> f);
+
+    /**
+     * <p>
+     * Map the right value according to an {@link Either}-producing function.
+     * This is {@link #flatMap(Function)} with the roles of the sides
+     * exchanged: the function is invoked only if this is a right instance
+     * and a left instance is returned as is, cast to the new right type.
+     * </p>
+     *
+     * @param f
+     *            a function that maps a plain value of this instance's Right
+     *            type to an {@link Either} with this instance's Left type.
+     *
+     * @param <R>
+     *            right type of function return type.
+     *
+     * @return an instance that has been mapped according to the supplied
+     *         function.
+     */
+    public abstract <R> Either<Left, R> flatMapRight(
+            final Function<? super Right, Either<Left, R>> f);
+
+    /**
+     * <p>
+     * Reduce to a single value. Exactly one of the functions is invoked,
+     * according to the variant, and its result is returned. No
+     * {@link Either} is created.
+     * </p>
+     *
+     * @param lf
+     *            function applied to the value if this is a left instance.
+     *
+     * @param rf
+     *            function applied to the value if this is a right instance.
+     *
+     * @param <T>
+     *            result type.
+     *
+     * @return the result of the invoked function.
+     */
+    public abstract <T> T fold(final Function<? super Left, ? extends T> lf,
+            final Function<? super Right, ? extends T> rf);
+
+    /**
+     * Iterate over the value. If this is a left instance, the value is supplied
+     * to the consumer. Otherwise, this method has no observable effect.
+     *
+     * @param c
+     *            consumer. Will not be called if this is a right instance.
+     */
+    public abstract void forEach(final Consumer<? super Left> c);
+
+    /**
+     * Retrieve the value if this is a left instance.
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException
+     *             if this is a right instance.
+     */
+    public abstract Left getLeft();
+
+    /**
+     * Retrieve the value if this is a right instance.
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException
+     *             if this is a left instance.
+     */
+    public abstract Right getRight();
+
+    @Override
+    public abstract int hashCode();
+
+    /**
+     * Test the variant type.
+     *
+     * @return true iff this is a left instance, false iff this is a right
+     *         instance.
+     */
+    public abstract boolean isLeft();
+
+    /**
+     * Iterate over the value. The iterator produces the value once if this is
+     * a left instance and nothing if this is a right instance. A right
+     * instance always returns the same shared empty iterator. The iterator
+     * does not support removal.
+     *
+     * @return an iterator over the left value.
+     */
+    @Override
+    public abstract Iterator<Left> iterator();
+
+    /**
+     * <p>
+     * Map left according to a mapping function.
+     * </p>
+     *
+     * @param f
+     *            <p>
+     *            a function that maps a plain value of this instances Left type
+     *            to some other type.
+     *            </p>
+     *
+     *            <p>
+     *            If this is a left variant, the function is invoked on the
+     *            contained value and a new left variant containing the produced
+     *            value is returned. If this is a right variant, the function is
+     *            not invoked and a right instance containing the current right
+     *            value, suitably typed according to the function, is returned.
+     *            Note that this method might not create a new instance in the
+     *            right case. The old instance may be simply cast with
+     *            compatible type parameters and returned.
+     *            </p>
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return am instance that has been mapped according to the supplied
+     *         function.
+     */
+    public abstract <R> Either<R, Right> map(
+            final Function<? super Left, R> f);
+
+    /**
+     * <p>
+     * Map right according to a mapping function. This is
+     * {@link #map(Function)} with the roles of the sides exchanged: the
+     * function is invoked only if this is a right instance and a left instance
+     * is returned as is, cast to the new right type.
+     * </p>
+     *
+     * @param f
+     *            a function that maps a plain value of this instance's Right
+     *            type to some other type.
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return an instance that has been mapped according to the supplied
+     *         function.
+     */
+    public abstract <R> Either<Left, R> mapRight(
+            final Function<? super Right, R> f);
+
+    /**
+     * Map left to a primitive {@code double} without boxing.
+     *
+     * @param f
+     *            a function that maps a plain value of this instance's Left
+     *            type to a {@code double}. Invoked only if this is a left
+     *            instance.
+     *
+     * @return a {@link DoubleEither} with this instance's Right type.
+     */
+    public abstract DoubleEither<Right> mapToDouble(
+            final ToDoubleFunction<? super Left> f);
+
+    /**
+     * Map left to a primitive {@code int} without boxing.
+     *
+     * @param f
+     *            a function that maps a plain value of this instance's Left
+     *            type to an {@code int}. Invoked only if this is a left
+     *            instance.
+     *
+     * @return an {@link IntEither} with this instance's Right type.
+     */
+    public abstract IntEither<Right> mapToInt(
+            final ToIntFunction<? super Left> f);
+
+    /**
+     * Map left to a primitive {@code long} without boxing.
+     *
+     * @param f
+     *            a function that maps a plain value of this instance's Left
+     *            type to a {@code long}. Invoked only if this is a left
+     *            instance.
+     *
+     * @return a {@link LongEither} with this instance's Right type.
+     */
+    public abstract LongEither<Right> mapToLong(
+            final ToLongFunction<? super Left> f);
+
+    /**
+     * Convert to an optional of the Left type.
+     *
+     * @return An optional that is present if this is a left variant, empty if
+     *         not.
+     *
+     */
+    public abstract Optional<Left> maybe();
+
+    /**
+     * Retrieve the value or an alternative. If this is a left instance, the
+     * contained value is returned, otherwise a provided alternative is
+     * returned.
+     *
+     * @param other
+     *            alternative value.
+     *
+     * @return the contained value if this is a left instance, the alternative
+     *         otherwise.
+     *
+     * @throws NullPointerException
+     *             if this is a right value and the provided alternative is
+     *             null.
+     */
+    public abstract Left orElse(final Left other);
+
+    /**
+     * Retrieve the value or compute an alternative. If this is a left instance,
+     * the contained value is returned, otherwise an alternative is computed
+     * from the provided supplier.
+     *
+     * @param other
+     *            alternative value supplier. Required if this is a right
+     *            instance. The supplier is not invoked if this is a left
+     *            instance. If invoked, the supplier must not return null.
+     *
+     * @return the contained value if this is a left instance, the computed
+     *         alternative otherwise.
+     *
+     * @throws NullPointerException
+     *             if this is a right instance and the supplier parameter is
+     *             null or if the supplier is invoked and it returns null.
+     */
+    public abstract Left orElseGet(final Supplier<? extends Left> other);
+
+    /**
+     * Retrieve the left value or an alternative. If this is a left value, the
+     * contained value is returned. Otherwise, a null reference to the Left type
+     * is returned.
+     *
+     * @return contained value if this is a left instance, null otherwise.
+     *
+     */
+    public abstract Left orElseNull();
+
     /**
      * Retrieve the value or die trying.
      *
@@ -568,56 +1292,443 @@ public final class Either<Left, Right> {
      *             if this is a right instance and supplier is null or this is a
      *             right instance and the supplier returns null.
      */
-    public <X extends Throwable> Left orElseThrow(final Supplier<X> genx)
-            throws X {
+    public abstract <X extends Throwable> Left orElseThrow(
+            final Supplier<X> genx) throws X;
 
-        if (this.left == null) {
-            throw genx.get();
+    /**
+     * Convert to a {@link Stream} of the Left type.
+     *
+     * @return A stream containing only the value if this is a left insance. An
+     *         empty stream if this is a right instance.
+     */
+    public abstract Stream<Left> stream();
+
+    public abstract Either<Right, Left> swap();
+
+    @Override
+    public abstract String toString();
+
+    /**
+     * <p>
+     * A left instance. Holds only the left value so that an instance costs a
+     * header and a single reference. Right-side operations return this same
+     * instance, cast to the new right type.
+     * </p>
+     *
+     * <p>
+     * Instances are obtained from the factory methods of {@link Either}. The
+     * type is public so that it can be named in type patterns.
+     * </p>
+     *
+     * @param <LL>
+     *            left value type.
+     *
+     * @param <RR>
+     *            right value type.
+     */
+    public static final class LeftVariant<LL, RR> extends Either<LL, RR> {
+
+        private final LL value;
+
+        private LeftVariant(final LL value) {
+
+            if (value == null) {
+                throw new AssertionError(
+                        "attempt to create with neither left nor right");
+            }
+            this.value = value;
+
+        }
+
+        @Override
+        public <L, R> Either<L, R> bimap(final Function<? super LL, L> lf,
+                final Function<? super RR, R> rf) {
+            return new LeftVariant<>(lf.apply(this.value));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+
+            return this == obj || obj instanceof LeftVariant
+                    && this.value.equals(((LeftVariant<?, ?>) obj).value);
+
+        }
+
+        @Override
+        public <R> Either<R, RR> flatMap(
+                final Function<? super LL, Either<R, RR>> f) {
+            return f.apply(this.value);
+        }
+
+        @Override
+        public <R> Either<LL, R> flatMapRight(
+                final Function<? super RR, Either<LL, R>> f) {
+            return pass();
+        }
+
+        @Override
+        public <T> T fold(final Function<? super LL, ? extends T> lf,
+                final Function<? super RR, ? extends T> rf) {
+            return lf.apply(this.value);
+        }
+
+        @Override
+        public void forEach(final Consumer<? super LL> c) {
+            c.accept(this.value);
+        }
+
+        @Override
+        public LL getLeft() {
+            return this.value;
+        }
+
+        @Override
+        public RR getRight() {
+            throw new IllegalStateException("no right");
+        }
+
+        /**
+         * Same value as {@code Objects.hash(left, null)}, the hash of the
+         * original two-field layout.
+         */
+        @Override
+        public int hashCode() {
+            return 961 + 31 * this.value.hashCode();
+        }
+
+        @Override
+        public boolean isLeft() {
+            return true;
+        }
+
+        @Override
+        public Iterator<LL> iterator() {
+            return new Single<>(this.value);
+        }
+
+        @Override
+        public <R> Either<R, RR> map(final Function<? super LL, R> f) {
+            return new LeftVariant<>(f.apply(this.value));
+        }
+
+        @Override
+        public <R> Either<LL, R> mapRight(final Function<? super RR, R> f) {
+            return pass();
         }
 
-        return extract();
+        @Override
+        public DoubleEither<RR> mapToDouble(
+                final ToDoubleFunction<? super LL> f) {
+            return DoubleEither.left(f.applyAsDouble(this.value));
+        }
+
+        @Override
+        public IntEither<RR> mapToInt(final ToIntFunction<? super LL> f) {
+            return IntEither.left(f.applyAsInt(this.value));
+        }
+
+        @Override
+        public LongEither<RR> mapToLong(final ToLongFunction<? super LL> f) {
+            return LongEither.left(f.applyAsLong(this.value));
+        }
+
+        @Override
+        public Optional<LL> maybe() {
+            return Optional.of(this.value);
+        }
+
+        @Override
+        public LL orElse(final LL other) {
+            return this.value;
+        }
+
+        @Override
+        public LL orElseGet(final Supplier<? extends LL> other) {
+            return this.value;
+        }
+
+        @Override
+        public LL orElseNull() {
+            return this.value;
+        }
+
+        @Override
+        public <X extends Throwable> LL orElseThrow(final Supplier<X> genx) {
+            return this.value;
+        }
+
+        @Override
+        public Stream<LL> stream() {
+            return Stream.of(this.value);
+        }
+
+        @Override
+        public Either<RR, LL> swap() {
+            return new RightVariant<>(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return "left={" + String.valueOf(this.value) + "}";
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R> Either<LL, R> pass() {
+            return (Either<LL, R>) this;
+        }
 
     }
 
     /**
-     * Convert to a {@link Stream} of the Left type.
+     * <p>
+     * A right instance. Holds only the right value. Left-side operations
+     * return this same instance, cast to the new left type.
+     * </p>
      *
-     * @return A stream containing only the value if this is a left insance. An
-     *         empty stream if this is a right instance.
+     * <p>
+     * Instances are obtained from the factory methods of {@link Either}. The
+     * type is public so that it can be named in type patterns.
+     * </p>
+     *
+     * @param <LL>
+     *            left value type.
+     *
+     * @param <RR>
+     *            right value type.
      */
-    public Stream<Left> stream() {
+    public static final class RightVariant<LL, RR> extends Either<LL, RR> {
 
-        return this.left == null ? Stream.empty() : Stream.of(extract());
+        private final RR value;
 
-    }
+        private RightVariant(final RR value) {
 
-    public Either<Right, Left> swap() {
+            if (value == null) {
+                throw new AssertionError(
+                        "attempt to create with neither left nor right");
+            }
+            this.value = value;
 
-        return this.left == null ? left(this.right) : right(extract());
+        }
 
-    }
+        @Override
+        public <L, R> Either<L, R> bimap(final Function<? super LL, L> lf,
+                final Function<? super RR, R> rf) {
+            return new RightVariant<>(rf.apply(this.value));
+        }
 
-    @Override
-    public String toString() {
+        @Override
+        public boolean equals(final Object obj) {
+
+            return this == obj || obj instanceof RightVariant
+                    && this.value.equals(((RightVariant<?, ?>) obj).value);
+
+        }
+
+        @Override
+        public <R> Either<R, RR> flatMap(
+                final Function<? super LL, Either<R, RR>> f) {
+            return fail();
+        }
+
+        @Override
+        public <R> Either<LL, R> flatMapRight(
+                final Function<? super RR, Either<LL, R>> f) {
+            return f.apply(this.value);
+        }
+
+        @Override
+        public <T> T fold(final Function<? super LL, ? extends T> lf,
+                final Function<? super RR, ? extends T> rf) {
+            return rf.apply(this.value);
+        }
+
+        @Override
+        public void forEach(final Consumer<? super LL> c) {
+        }
+
+        @Override
+        public LL getLeft() {
+            throw new IllegalStateException("no left");
+        }
+
+        @Override
+        public RR getRight() {
+            return this.value;
+        }
+
+        /**
+         * Same value as {@code Objects.hash(null, right)}, the hash of the
+         * original two-field layout.
+         */
+        @Override
+        public int hashCode() {
+            return 961 + this.value.hashCode();
+        }
+
+        @Override
+        public boolean isLeft() {
+            return false;
+        }
+
+        @Override
+        public Iterator<LL> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public <R> Either<R, RR> map(final Function<? super LL, R> f) {
+            return fail();
+        }
 
-        return this.left != null ? ("left={" + String.valueOf(this.left) + "}")
-                : ("right={" + String.valueOf(this.right) + "}");
+        @Override
+        public <R> Either<LL, R> mapRight(final Function<? super RR, R> f) {
+            return new RightVariant<>(f.apply(this.value));
+        }
+
+        @Override
+        public DoubleEither<RR> mapToDouble(
+                final ToDoubleFunction<? super LL> f) {
+            return DoubleEither.right(this.value);
+        }
+
+        @Override
+        public IntEither<RR> mapToInt(final ToIntFunction<? super LL> f) {
+            return IntEither.right(this.value);
+        }
+
+        @Override
+        public LongEither<RR> mapToLong(final ToLongFunction<? super LL> f) {
+            return LongEither.right(this.value);
+        }
+
+        @Override
+        public Optional<LL> maybe() {
+            return Optional.empty();
+        }
+
+        @Override
+        public LL orElse(final LL other) {
+            return Objects.requireNonNull(other);
+        }
+
+        @Override
+        public LL orElseGet(final Supplier<? extends LL> other) {
+            return Objects.requireNonNull(other.get());
+        }
+
+        @Override
+        public LL orElseNull() {
+            return null;
+        }
+
+        @Override
+        public <X extends Throwable> LL orElseThrow(final Supplier<X> genx)
+                throws X {
+            throw genx.get();
+        }
+
+        @Override
+        public Stream<LL> stream() {
+            return Stream.empty();
+        }
+
+        @Override
+        public Either<RR, LL> swap() {
+            return new LeftVariant<>(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return "right={" + String.valueOf(this.value) + "}";
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R> Either<R, RR> fail() {
+            return (Either<R, RR>) this;
+        }
 
     }
 
-    @SuppressWarnings("unchecked")
-    private <R> Either<R, Right> apply(final Function<? super Left, R> x) {
-        return new Either<>(x.apply((Left) this.left), null);
+    /**
+     * Accumulator for a spliterator-driven traversal. Records the first right
+     * so that the driving loop can stop.
+     */
+    private static final class Traversal<T, LL, RR> implements Consumer<T> {
+
+        private final Function<? super T, Either<LL, RR>> f;
+
+        private final ArrayList<LL> lefts;
+
+        private Either<LL, RR> right;
+
+        private Traversal(final Function<? super T, Either<LL, RR>> f,
+                final int capacity) {
+            this.f = f;
+            this.lefts = new ArrayList<>(capacity);
+        }
+
+        @Override
+        public void accept(final T t) {
+
+            final Either<LL, RR> e = this.f.apply(t);
+            if (e.isLeft()) {
+                this.lefts.add(e.getLeft());
+            } else {
+                this.right = e;
+            }
+
+        }
+
     }
 
-    @SuppressWarnings("unchecked")
-    private Left extract() {
-        return (Left) this.left;
+
+    /**
+     * Mutable accumulation container for {@link #partitioning(Collector,
+     * Collector)}: one container per downstream collector.
+     */
+    private static final class Partitioning<LA, RA> {
+
+        private final LA lefts;
+
+        private final RA rights;
+
+        private Partitioning(final LA lefts, final RA rights) {
+            this.lefts = lefts;
+            this.rights = rights;
+        }
+
     }
 
-    @SuppressWarnings("unchecked")
-    private <R> Either<R, Right> fail() {
-        return (Either<R, Right>) this;
+
+    /**
+     * Iterator over a single value. Small enough that it is scalar-replaced
+     * when a for-each loop over a left instance is inlined.
+     */
+    private static final class Single<T> implements Iterator<T> {
+
+        private T next;
+
+        private Single(final T next) {
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public T next() {
+
+            final T rval = this.next;
+            if (rval == null) {
+                throw new NoSuchElementException();
+            }
+            this.next = null;
+            return rval;
+
+        }
+
     }
 
 }
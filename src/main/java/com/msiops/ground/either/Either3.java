@@ -0,0 +1,426 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * A value that can be any one of three types, in place of
+ * {@code Either<A, Either<B, C>>}. An instance is a single object holding a
+ * slot index and the value, so footprint and dispatch cost do not grow with
+ * the number of alternatives. Convert with {@link #of(Either)} and
+ * {@link #toEither()}.
+ * </p>
+ *
+ * <p>
+ * The first slot plays the role of the left of an {@link Either}: map
+ * operations transform a first value and are identity on every other slot.
+ * </p>
+ *
+ * @param <A>
+ *            value type if this is a first instance.
+ *
+ * @param <B>
+ *            value type if this is a second instance.
+ *
+ * @param <C>
+ *            value type if this is a third instance.
+ */
+public final class Either3<A, B, C> {
+
+    private static final String[] ORDINALS = { "first", "second", "third" };
+
+    /**
+     * Construct a first instance.
+     *
+     * @param v
+     *            value to put into the context. Must not be null.
+     *
+     * @param <AA>
+     *            first type of constructed instance.
+     *
+     * @param <BB>
+     *            second type of constructed instance.
+     *
+     * @param <CC>
+     *            third type of constructed instance.
+     *
+     * @return a first instance.
+     */
+    public static <AA, BB, CC> Either3<AA, BB, CC> first(final AA v) {
+
+        return new Either3<>(0, Objects.requireNonNull(v));
+
+    }
+
+    /**
+     * Flatten a nested {@link Either}. The slot is the nesting depth of the
+     * value.
+     *
+     * @param e
+     *            nested either.
+     *
+     * @param <AA>
+     *            first type of constructed instance.
+     *
+     * @param <BB>
+     *            second type of constructed instance.
+     *
+     * @param <CC>
+     *            third type of constructed instance.
+     *
+     * @return flat instance holding the same value.
+     */
+    public static <AA, BB, CC> Either3<AA, BB, CC> of(
+            final Either<AA, Either<BB, CC>> e) {
+
+        if (e.isLeft()) {
+            return new Either3<>(0, e.getLeft());
+        }
+        final Either<BB, CC> r1 = e.getRight();
+        return r1.isLeft() ? new Either3<>(1, r1.getLeft())
+                : new Either3<>(2, r1.getRight());
+
+    }
+
+    /**
+     * Construct a second instance.
+     *
+     * @param v
+     *            value to put into the context. Must not be null.
+     *
+     * @param <AA>
+     *            first type of constructed instance.
+     *
+     * @param <BB>
+     *            second type of constructed instance.
+     *
+     * @param <CC>
+     *            third type of constructed instance.
+     *
+     * @return a second instance.
+     */
+    public static <AA, BB, CC> Either3<AA, BB, CC> second(final BB v) {
+
+        return new Either3<>(1, Objects.requireNonNull(v));
+
+    }
+
+    /**
+     * Construct a third instance.
+     *
+     * @param v
+     *            value to put into the context. Must not be null.
+     *
+     * @param <AA>
+     *            first type of constructed instance.
+     *
+     * @param <BB>
+     *            second type of constructed instance.
+     *
+     * @param <CC>
+     *            third type of constructed instance.
+     *
+     * @return a third instance.
+     */
+    public static <AA, BB, CC> Either3<AA, BB, CC> third(final CC v) {
+
+        return new Either3<>(2, Objects.requireNonNull(v));
+
+    }
+
+    private final byte index;
+
+    private final Object value;
+
+    private Either3(final int index, final Object value) {
+        this.index = (byte) index;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        final boolean rval;
+        if (this == obj) {
+            rval = true;
+        } else if (obj instanceof Either3) {
+            final Either3<?, ?, ?> other =
+                    (Either3<?, ?, ?>) obj;
+            rval = this.index == other.index && this.value.equals(other.value);
+        } else {
+            rval = false;
+        }
+        return rval;
+
+    }
+
+    /**
+     * Map the first value according to a {@link Either3}-producing function.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a first instance.
+     *
+     * @param <R>
+     *            first type of the result.
+     *
+     * @return the function result if this is a first instance, otherwise
+     *         this instance.
+     */
+    public <R> Either3<R, B, C> flatMap(
+            final Function<? super A, ? extends Either3<R, B, C>> f) {
+
+        return this.index == 0 ? Objects.requireNonNull(f.apply(first()))
+                : pass();
+
+    }
+
+    /**
+     * Compute a value from whichever slot is occupied.
+     *
+     * @param af
+     *            function to apply if this is a first instance.
+     *
+     * @param bf
+     *            function to apply if this is a second instance.
+     *
+     * @param cf
+     *            function to apply if this is a third instance.
+     *
+     * @param <T>
+     *            result type.
+     *
+     * @return result of the function for the occupied slot.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fold(final Function<? super A, ? extends T> af,
+            final Function<? super B, ? extends T> bf,
+            final Function<? super C, ? extends T> cf) {
+
+        switch (this.index) {
+        case 0:
+            return af.apply((A) this.value);
+        case 1:
+            return bf.apply((B) this.value);
+        default:
+            return cf.apply((C) this.value);
+        }
+
+    }
+
+    /**
+     * Invoke a consumer with the first value.
+     *
+     * @param c
+     *            consumer. Invoked only if this is a first instance.
+     */
+    public void forEach(final Consumer<? super A> c) {
+
+        if (this.index == 0) {
+            c.accept(first());
+        }
+
+    }
+
+    /**
+     * Retrieve the first value.
+     *
+     * @return the first value.
+     *
+     * @throws IllegalStateException
+     *             if this is not a first instance.
+     */
+    @SuppressWarnings("unchecked")
+    public A getFirst() {
+
+        if (this.index != 0) {
+            throw new IllegalStateException("no first");
+        }
+        return (A) this.value;
+
+    }
+
+    /**
+     * Identify the occupied slot.
+     *
+     * @return 0 for a first instance, 1 for a second, and so on up to 2.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Retrieve the second value.
+     *
+     * @return the second value.
+     *
+     * @throws IllegalStateException
+     *             if this is not a second instance.
+     */
+    @SuppressWarnings("unchecked")
+    public B getSecond() {
+
+        if (this.index != 1) {
+            throw new IllegalStateException("no second");
+        }
+        return (B) this.value;
+
+    }
+
+    /**
+     * Retrieve the third value.
+     *
+     * @return the third value.
+     *
+     * @throws IllegalStateException
+     *             if this is not a third instance.
+     */
+    @SuppressWarnings("unchecked")
+    public C getThird() {
+
+        if (this.index != 2) {
+            throw new IllegalStateException("no third");
+        }
+        return (C) this.value;
+
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.index + this.value.hashCode();
+    }
+
+    /**
+     * Test the slot.
+     *
+     * @return true iff this is a first instance.
+     */
+    public boolean isFirst() {
+        return this.index == 0;
+    }
+
+    /**
+     * Map the first value.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a first instance.
+     *
+     * @param <R>
+     *            first type of the result.
+     *
+     * @return a first instance holding the mapped value if this is a first
+     *         instance, otherwise this instance.
+     */
+    public <R> Either3<R, B, C> map(
+            final Function<? super A, ? extends R> f) {
+
+        return this.index == 0 ? new Either3<>(0,
+                Objects.requireNonNull(f.apply(first()))) : pass();
+
+    }
+
+    /**
+     * Convert to {@link Optional}.
+     *
+     * @return the first value if this is a first instance, otherwise empty.
+     */
+    public Optional<A> maybe() {
+        return this.index == 0 ? Optional.of(first()) : Optional.empty();
+    }
+
+    /**
+     * Retrieve the first value or a substitute.
+     *
+     * @param other
+     *            substitute if this is not a first instance.
+     *
+     * @return the first value, or the substitute.
+     *
+     * @throws NullPointerException
+     *             if this is not a first instance and the substitute is
+     *             null.
+     */
+    public A orElse(final A other) {
+        return this.index == 0 ? first() : Objects.requireNonNull(other);
+    }
+
+    /**
+     * Retrieve the first value or a supplied substitute.
+     *
+     * @param other
+     *            substitute supplier. Invoked only if this is not a first
+     *            instance.
+     *
+     * @return the first value, or the supplied substitute.
+     *
+     * @throws NullPointerException
+     *             if this is not a first instance and the supplier returns
+     *             null.
+     */
+    public A orElseGet(final Supplier<? extends A> other) {
+        return this.index == 0 ? first() : Objects.requireNonNull(other.get());
+    }
+
+    /**
+     * Convert to a {@link Stream}.
+     *
+     * @return stream of the first value if this is a first instance,
+     *         otherwise an empty stream.
+     */
+    public Stream<A> stream() {
+        return this.index == 0 ? Stream.of(first()) : Stream.empty();
+    }
+
+    /**
+     * Convert to a nested {@link Either}, the inverse of
+     * {@link #of(Either)}.
+     *
+     * @return nested either holding the same value.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public Either<A, Either<B, C>> toEither() {
+
+        Either rval = this.index == 2 ? Either.right(this.value)
+                : Either.left(this.value);
+        for (int i = Math.min(this.index, 1); i > 0; i--) {
+            rval = Either.right(rval);
+        }
+        return rval;
+
+    }
+
+    @Override
+    public String toString() {
+        return ORDINALS[this.index] + "={" + this.value + "}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private A first() {
+        return (A) this.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Either3<R, B, C> pass() {
+        return (Either3<R, B, C>) this;
+    }
+
+}
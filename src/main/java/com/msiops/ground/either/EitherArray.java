@@ -0,0 +1,596 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * An immutable sequence of {@link Either} values stored as a struct of
+ * arrays: a bitset of variant tags and separate dense arrays of the left and
+ * right values. No {@link Either} is kept per element, so a large batch of
+ * results costs a tag bit and a reference per element, and the values of each
+ * side are contiguous.
+ * </p>
+ *
+ * <p>
+ * Counts come from popcounts and positional access uses a rank index over the
+ * tags. {@link #get(int)}, {@link #isLeft(int)} and
+ * {@link #countLefts(int, int)} take constant time; {@link #indexOfLeft(int)}
+ * and {@link #indexOfRight(int)} take logarithmic time.
+ * {@link #forEach(Consumer, Consumer)}, {@link #cursor()}, {@link #lefts()}
+ * and {@link #rights()} visit the values without creating an {@link Either}.
+ * {@link #get(int)} and {@link #iterator()} create one per element visited.
+ * </p>
+ *
+ * @param <Left>
+ *            left value type.
+ *
+ * @param <Right>
+ *            right value type.
+ */
+public final class EitherArray<Left, Right> implements
+        Iterable<Either<Left, Right>> {
+
+    /**
+     * Start a new instance.
+     *
+     * @param <LL>
+     *            left type of the constructed instance.
+     *
+     * @param <RR>
+     *            right type of the constructed instance.
+     *
+     * @return an empty builder.
+     */
+    public static <LL, RR> Builder<LL, RR> builder() {
+
+        return new Builder<>();
+
+    }
+
+    /**
+     * Copy from an {@link Iterable} of eithers.
+     *
+     * @param es
+     *            source. Must not contain null.
+     *
+     * @param <LL>
+     *            left type of the constructed instance.
+     *
+     * @param <RR>
+     *            right type of the constructed instance.
+     *
+     * @return an instance holding the same values in the same order.
+     */
+    public static <LL, RR> EitherArray<LL, RR> of(
+            final Iterable<? extends Either<LL, RR>> es) {
+
+        final Builder<LL, RR> b = new Builder<>();
+        for (final Either<LL, RR> e : es) {
+            b.add(e);
+        }
+        return b.build();
+
+    }
+
+    private final Object[] lefts;
+
+    private final Object[] rights;
+
+    private final TagIndex tags;
+
+    private EitherArray(final TagIndex tags, final Object[] lefts,
+            final Object[] rights) {
+        this.tags = tags;
+        this.lefts = lefts;
+        this.rights = rights;
+    }
+
+    /**
+     * Count the left values.
+     *
+     * @return number of left values.
+     */
+    public int countLefts() {
+        return this.tags.countLefts();
+    }
+
+    /**
+     * Count the left values in a range of positions.
+     *
+     * @param from
+     *            first position, inclusive.
+     *
+     * @param to
+     *            last position, exclusive.
+     *
+     * @return number of left values in the range.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the range is not within this instance.
+     */
+    public int countLefts(final int from, final int to) {
+
+        this.tags.checkRange(from, to);
+        return this.tags.rank(to) - this.tags.rank(from);
+
+    }
+
+    /**
+     * Count the right values.
+     *
+     * @return number of right values.
+     */
+    public int countRights() {
+        return this.tags.size() - this.tags.countLefts();
+    }
+
+    /**
+     * Start a traversal that does not create {@link Either} instances.
+     *
+     * @return a cursor positioned before the first element.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Visit every value in order without creating {@link Either} instances.
+     *
+     * @param lc
+     *            invoked with each left value.
+     *
+     * @param rc
+     *            invoked with each right value.
+     */
+    public void forEach(final Consumer<? super Left> lc,
+            final Consumer<? super Right> rc) {
+
+        int l = 0;
+        final int size = this.tags.size();
+        for (int i = 0; i < size; i++) {
+            if (this.tags.isLeft(i)) {
+                lc.accept(left(l++));
+            } else {
+                rc.accept(right(i - l));
+            }
+        }
+
+    }
+
+    /**
+     * Create the either at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return a new {@link Either} holding the value at the position.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     */
+    public Either<Left, Right> get(final int i) {
+
+        this.tags.check(i);
+        final int r = this.tags.rank(i);
+        return this.tags.isLeft(i) ? Either.left(left(r)) : Either
+                .right(right(i - r));
+
+    }
+
+    /**
+     * Retrieve the left value at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return the left value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     *
+     * @throws IllegalStateException
+     *             if the value at the position is a right.
+     */
+    public Left getLeft(final int i) {
+
+        this.tags.check(i);
+        if (!this.tags.isLeft(i)) {
+            throw new IllegalStateException("no left");
+        }
+        return left(this.tags.rank(i));
+
+    }
+
+    /**
+     * Retrieve the right value at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return the right value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     *
+     * @throws IllegalStateException
+     *             if the value at the position is a left.
+     */
+    public Right getRight(final int i) {
+
+        this.tags.check(i);
+        if (this.tags.isLeft(i)) {
+            throw new IllegalStateException("no right");
+        }
+        return right(i - this.tags.rank(i));
+
+    }
+
+    /**
+     * Find the position of a left value.
+     *
+     * @param k
+     *            ordinal of the left value, counting from zero.
+     *
+     * @return position of the {@code k}th left value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there are not more than {@code k} left values.
+     */
+    public int indexOfLeft(final int k) {
+        return this.tags.selectLeft(k);
+    }
+
+    /**
+     * Find the position of a right value.
+     *
+     * @param k
+     *            ordinal of the right value, counting from zero.
+     *
+     * @return position of the {@code k}th right value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there are not more than {@code k} right values.
+     */
+    public int indexOfRight(final int k) {
+        return this.tags.selectRight(k);
+    }
+
+    /**
+     * Test the variant at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return true iff the value at the position is a left.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     */
+    public boolean isLeft(final int i) {
+
+        this.tags.check(i);
+        return this.tags.isLeft(i);
+
+    }
+
+    /**
+     * Iterate over the elements. Each call to {@link Iterator#next()} creates
+     * an {@link Either}; use {@link #cursor()} to avoid that.
+     */
+    @Override
+    public Iterator<Either<Left, Right>> iterator() {
+
+        final Cursor c = new Cursor();
+        return new Iterator<Either<Left, Right>>() {
+
+            @Override
+            public boolean hasNext() {
+                return c.hasNext();
+            }
+
+            @Override
+            public Either<Left, Right> next() {
+
+                if (!c.advance()) {
+                    throw new NoSuchElementException();
+                }
+                return c.toEither();
+
+            }
+
+        };
+
+    }
+
+    /**
+     * Stream the left values in order.
+     *
+     * @return stream of the left values.
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Left> lefts() {
+        return (Stream<Left>) Arrays.stream(this.lefts);
+    }
+
+    /**
+     * Stream the right values in order.
+     *
+     * @return stream of the right values.
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Right> rights() {
+        return (Stream<Right>) Arrays.stream(this.rights);
+    }
+
+    /**
+     * Count the elements.
+     *
+     * @return number of elements.
+     */
+    public int size() {
+        return this.tags.size();
+    }
+
+    @Override
+    public String toString() {
+
+        final StringJoiner rval = new StringJoiner(", ", "[", "]");
+        final Cursor c = new Cursor();
+        while (c.advance()) {
+            rval.add(c.isLeft() ? "left={" + c.getLeft() + "}" : "right={"
+                    + c.getRight() + "}");
+        }
+        return rval.toString();
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private Left left(final int r) {
+        return (Left) this.lefts[r];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Right right(final int r) {
+        return (Right) this.rights[r];
+    }
+
+    /**
+     * Accumulates the elements of an {@link EitherArray}.
+     *
+     * @param <LL>
+     *            left type of the constructed instance.
+     *
+     * @param <RR>
+     *            right value type.
+     */
+    public static final class Builder<LL, RR> {
+
+        private Object[] lefts = new Object[8];
+
+        private int nlefts;
+
+        private int nrights;
+
+        private Object[] rights = new Object[8];
+
+        private final TagIndex.Builder tags = new TagIndex.Builder();
+
+        private Builder() {
+        }
+
+        /**
+         * Append an either.
+         *
+         * @param e
+         *            either to append.
+         *
+         * @return this builder.
+         */
+        public Builder<LL, RR> add(final Either<LL, RR> e) {
+
+            return e.isLeft() ? addLeft(e.getLeft()) : addRight(e.getRight());
+
+        }
+
+        /**
+         * Append a left value.
+         *
+         * @param v
+         *            value to append. Must not be null.
+         *
+         * @return this builder.
+         */
+        public Builder<LL, RR> addLeft(final LL v) {
+
+            if (this.nlefts == this.lefts.length) {
+                this.lefts = Arrays.copyOf(this.lefts, this.nlefts * 2);
+            }
+            this.lefts[this.nlefts++] = Objects.requireNonNull(v);
+            this.tags.add(true);
+            return this;
+
+        }
+
+        /**
+         * Append a right value.
+         *
+         * @param v
+         *            value to append. Must not be null.
+         *
+         * @return this builder.
+         */
+        public Builder<LL, RR> addRight(final RR v) {
+
+            if (this.nrights == this.rights.length) {
+                this.rights = Arrays.copyOf(this.rights, this.nrights * 2);
+            }
+            this.rights[this.nrights++] = Objects.requireNonNull(v);
+            this.tags.add(false);
+            return this;
+
+        }
+
+        /**
+         * Create an instance holding the values appended so far. The builder
+         * remains usable.
+         *
+         * @return a new instance.
+         */
+        public EitherArray<LL, RR> build() {
+
+            return new EitherArray<>(this.tags.build(),
+                    Arrays.copyOf(this.lefts, this.nlefts),
+                    Arrays.copyOf(this.rights, this.nrights));
+
+        }
+
+    }
+
+    /**
+     * A forward traversal of an {@link EitherArray} that exposes the current
+     * element without creating an {@link Either}. Obtained from
+     * {@link EitherArray#cursor()}.
+     */
+    public final class Cursor {
+
+        private int index = -1;
+
+        private boolean left;
+
+        /**
+         * Number of lefts before the current element.
+         */
+        private int rank;
+
+        private Cursor() {
+        }
+
+        /**
+         * Move to the next element.
+         *
+         * @return true if there is a next element and the cursor now
+         *         refers to it, false if the cursor is exhausted.
+         */
+        public boolean advance() {
+
+            if (!hasNext()) {
+                this.index = size();
+                return false;
+            }
+            if (this.index >= 0 && this.left) {
+                this.rank++;
+            }
+            this.index++;
+            this.left = EitherArray.this.tags.isLeft(this.index);
+            return true;
+
+        }
+
+        /**
+         * Retrieve the position of the current element.
+         *
+         * @return position.
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Retrieve the current left value.
+         *
+         * @return the left value.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element or it is a right.
+         */
+        public Left getLeft() {
+
+            if (!isLeft()) {
+                throw new IllegalStateException("no left");
+            }
+            return left(this.rank);
+
+        }
+
+        /**
+         * Retrieve the current right value.
+         *
+         * @return the right value.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element or it is a left.
+         */
+        public Right getRight() {
+
+            if (isLeft()) {
+                throw new IllegalStateException("no right");
+            }
+            return right(this.index - this.rank);
+
+        }
+
+        /**
+         * Test for a next element.
+         *
+         * @return true iff {@link #advance()} would succeed.
+         */
+        public boolean hasNext() {
+            return this.index + 1 < size();
+        }
+
+        /**
+         * Test the variant of the current element.
+         *
+         * @return true iff the current element is a left.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element.
+         */
+        public boolean isLeft() {
+
+            if (this.index < 0 || this.index >= size()) {
+                throw new IllegalStateException("no current element");
+            }
+            return this.left;
+
+        }
+
+        /**
+         * Create an either holding the current element.
+         *
+         * @return a new {@link Either}.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element.
+         */
+        public Either<Left, Right> toEither() {
+
+            return isLeft() ? Either.left(left(this.rank)) : Either
+                    .right(right(this.index - this.rank));
+
+        }
+
+    }
+
+}
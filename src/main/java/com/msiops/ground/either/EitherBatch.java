@@ -0,0 +1,148 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.msiops.footing.functional.SupplierT;
+
+/**
+ * <p>
+ * Run a batch of blocking suppliers concurrently, one thread per supplier,
+ * and capture each outcome as {@link Either#ofChecked(SupplierT)} does.
+ * </p>
+ *
+ * <p>
+ * The batch is structured: no supplier thread outlives the call. On Java 21
+ * and later the suppliers run on virtual threads, so a batch of thousands of
+ * blocking calls needs no pool sizing. On earlier versions each batch uses
+ * its own pool of platform threads.
+ * </p>
+ */
+public final class EitherBatch {
+
+    /**
+     * Run every supplier to completion. Behaves as
+     * {@link #ofChecked(List, boolean)} without fail-fast.
+     *
+     * @param ss
+     *            suppliers to run.
+     *
+     * @param <R>
+     *            result type of the suppliers.
+     *
+     * @return the outcomes, in input order.
+     *
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting.
+     */
+    public static <R> List<Either<R, Throwable>> ofChecked(
+            final List<? extends SupplierT<R>> ss) throws InterruptedException {
+
+        return ofChecked(ss, false);
+
+    }
+
+    /**
+     * <p>
+     * Run the suppliers concurrently and wait for them. Each outcome is a left
+     * holding the supplied value or a right holding the thrown exception.
+     * </p>
+     *
+     * <p>
+     * With fail-fast, the first right to complete cancels all suppliers that
+     * are still running by interrupting their threads. Cancelled suppliers
+     * are reported as rights holding a {@link CancellationException}. The
+     * method still waits for every thread to finish before returning.
+     * </p>
+     *
+     * @param ss
+     *            suppliers to run.
+     *
+     * @param failFast
+     *            whether the first right cancels the rest.
+     *
+     * @param <R>
+     *            result type of the suppliers.
+     *
+     * @return the outcomes, in input order.
+     *
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting. All
+     *             suppliers are cancelled first.
+     */
+    public static <R> List<Either<R, Throwable>> ofChecked(
+            final List<? extends SupplierT<R>> ss, final boolean failFast)
+            throws InterruptedException {
+
+        final ExecutorService x = Threads.newThreadPerTaskExecutor();
+        final List<Future<Either<R, Throwable>>> fs = new ArrayList<>(ss.size());
+        try {
+            final ExecutorCompletionService<Either<R, Throwable>> ecs = new ExecutorCompletionService<>(
+                    x);
+            for (final SupplierT<R> s : ss) {
+                fs.add(ecs.submit(() -> Either.ofChecked(s)));
+            }
+            for (int n = 0; n < fs.size(); n++) {
+                final boolean left = outcome(ecs.take()).isLeft();
+                if (failFast && !left) {
+                    break;
+                }
+            }
+        } finally {
+            for (final Future<?> f : fs) {
+                f.cancel(true);
+            }
+            x.shutdownNow();
+            x.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        final List<Either<R, Throwable>> rval = new ArrayList<>(fs.size());
+        for (final Future<Either<R, Throwable>> f : fs) {
+            rval.add(outcome(f));
+        }
+        return rval;
+
+    }
+
+    private static <R> Either<R, Throwable> outcome(
+            final Future<Either<R, Throwable>> f) throws InterruptedException {
+
+        try {
+            return f.get();
+        } catch (final CancellationException cx) {
+            return Either.right(cx);
+        } catch (final ExecutionException ex) {
+            /*
+             * the task captures everything the supplier throws, so only a
+             * failure in the capture itself can land here.
+             */
+            return Either.right(ex.getCause());
+        }
+
+    }
+
+    private EitherBatch() {
+    }
+
+}
@@ -0,0 +1,533 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Bounded memoizing wrapper for a pure {@link Either}-producing function,
+ * e.g. one made by {@link Either#lift(Function)}. Results are cached per
+ * argument, with separate lifetimes for lefts and rights so that transient
+ * failures are retried after a short while. A right lifetime of zero caches
+ * lefts only.
+ * </p>
+ *
+ * <p>
+ * A hit is a {@link ConcurrentHashMap} lookup plus an attempt to note the
+ * access in a striped buffer; it takes no lock and the note is dropped if
+ * the buffer is contended. Misses apply the function without holding any
+ * lock, so two threads missing the same argument at once both apply it.
+ * Recency order and eviction are maintained by whichever thread holds the
+ * maintenance lock, replaying the buffered accesses.
+ * </p>
+ *
+ * <p>
+ * When full, a new entry must beat the least recently used entry on
+ * estimated access frequency to be admitted (TinyLFU); otherwise the new
+ * entry is the one evicted. Frequencies are kept in a count-min sketch of
+ * 4-bit counters that is halved periodically, so old popularity fades.
+ * This keeps a scan of one-off arguments from flushing the cache.
+ * </p>
+ *
+ * <p>
+ * Arguments must be non-null and have consistent {@link Object#hashCode()}
+ * and {@link Object#equals(Object)}.
+ * </p>
+ *
+ * @param <T>
+ *            argument type.
+ *
+ * @param <L>
+ *            left type.
+ *
+ * @param <R>
+ *            right type.
+ */
+public final class EitherCache<T, L, R> implements Function<T, Either<L, R>> {
+
+    /**
+     * Create a cache around a function.
+     *
+     * @param f
+     *            pure function to memoize.
+     *
+     * @param maximumSize
+     *            upper bound on cached arguments.
+     *
+     * @param leftTtl
+     *            how long a left stays cached.
+     *
+     * @param rightTtl
+     *            how long a right stays cached; zero to never cache rights.
+     *
+     * @param <T>
+     *            argument type.
+     *
+     * @param <L>
+     *            left type.
+     *
+     * @param <R>
+     *            right type.
+     *
+     * @return the caching function.
+     *
+     * @throws IllegalArgumentException
+     *             if the size is not positive or a lifetime is negative.
+     */
+    public static <T, L, R> EitherCache<T, L, R> of(
+            final Function<? super T, ? extends Either<L, R>> f,
+            final int maximumSize, final Duration leftTtl,
+            final Duration rightTtl) {
+
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        return new EitherCache<>(Objects.requireNonNull(f), maximumSize,
+                ttl(leftTtl), ttl(rightTtl));
+
+    }
+
+    private static long ttl(final Duration d) {
+
+        if (d.isNegative()) {
+            throw new IllegalArgumentException("negative lifetime");
+        }
+        final long limit = Long.MAX_VALUE / 4;
+        return d.compareTo(Duration.ofNanos(limit)) > 0 ? limit : d.toNanos();
+
+    }
+
+    private int count;
+
+    private final ConcurrentHashMap<T, Node<T, L, R>> data = new ConcurrentHashMap<>();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final Function<? super T, ? extends Either<L, R>> f;
+
+    private Node<T, L, R> head;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final long leftTtl;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int maximumSize;
+
+    private final LongAdder misses = new LongAdder();
+
+    private final ReadBuffer<Node<T, L, R>> reads = new ReadBuffer<>();
+
+    private final long rightTtl;
+
+    private final FrequencySketch sketch;
+
+    private Node<T, L, R> tail;
+
+    private EitherCache(final Function<? super T, ? extends Either<L, R>> f,
+            final int maximumSize, final long leftTtl, final long rightTtl) {
+        this.f = f;
+        this.maximumSize = maximumSize;
+        this.leftTtl = leftTtl;
+        this.rightTtl = rightTtl;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Get the cached result for an argument, applying the function on a
+     * miss.
+     *
+     * @param t
+     *            argument, not null.
+     *
+     * @return result of the function for the argument.
+     */
+    @Override
+    public Either<L, R> apply(final T t) {
+
+        final Node<T, L, R> n = this.data.get(t);
+        if (n != null && n.expiresAt - System.nanoTime() > 0) {
+            this.hits.increment();
+            if (this.reads.offer(n) && this.lock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+            return n.value;
+        }
+
+        this.misses.increment();
+        final Either<L, R> rval = this.f.apply(t);
+        final long ttl = rval.isLeft() ? this.leftTtl : this.rightTtl;
+        if (ttl > 0) {
+            final Node<T, L, R> fresh = new Node<>(t, rval, System.nanoTime()
+                    + ttl);
+            afterWrite(fresh, this.data.put(t, fresh));
+        }
+        return rval;
+
+    }
+
+    /**
+     * Get the number of entries removed to keep within the maximum size,
+     * including new entries refused admission.
+     *
+     * @return eviction count.
+     */
+    public long getEvictions() {
+
+        return this.evictions.sum();
+
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return hit count.
+     */
+    public long getHits() {
+
+        return this.hits.sum();
+
+    }
+
+    /**
+     * Get the number of lookups that applied the function.
+     *
+     * @return miss count.
+     */
+    public long getMisses() {
+
+        return this.misses.sum();
+
+    }
+
+    /**
+     * Discard the cached result for an argument, if any.
+     *
+     * @param t
+     *            argument, not null.
+     */
+    public void invalidate(final T t) {
+
+        final Node<T, L, R> n = this.data.remove(t);
+        if (n != null) {
+            this.lock.lock();
+            try {
+                drainReads();
+                if (n.linked) {
+                    unlink(n);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+    }
+
+    /**
+     * Get the number of cached arguments, including any that have expired
+     * but not yet been evicted.
+     *
+     * @return entry count.
+     */
+    public int size() {
+
+        return this.data.size();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "cache(size=" + size() + ", hits=" + getHits() + ", misses="
+                + getMisses() + ", evictions=" + getEvictions() + ")";
+
+    }
+
+    private void afterWrite(final Node<T, L, R> n, final Node<T, L, R> prior) {
+
+        this.lock.lock();
+        try {
+            drainReads();
+            if (prior != null && prior.linked) {
+                unlink(prior);
+            }
+            this.sketch.increment(n.key);
+            if (this.data.get(n.key) == n) {
+                linkLast(n);
+                evict(n);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+    }
+
+    private void drainReads() {
+
+        this.reads.drain(n -> {
+            this.sketch.increment(n.key);
+            if (n.linked && n != this.tail) {
+                unlink(n);
+                linkLast(n);
+            }
+        });
+
+    }
+
+    private void evict(final Node<T, L, R> candidate) {
+
+        Node<T, L, R> c = candidate;
+        while (this.count > this.maximumSize) {
+            final Node<T, L, R> victim = this.head;
+            final Node<T, L, R> out = c != null
+                    && c != victim
+                    && this.sketch.frequency(c.key) <= this.sketch
+                            .frequency(victim.key) ? c : victim;
+            if (out == c) {
+                c = null;
+            }
+            unlink(out);
+            this.data.remove(out.key, out);
+            this.evictions.increment();
+        }
+
+    }
+
+    private void linkLast(final Node<T, L, R> n) {
+
+        n.prev = this.tail;
+        n.next = null;
+        if (this.tail == null) {
+            this.head = n;
+        } else {
+            this.tail.next = n;
+        }
+        this.tail = n;
+        n.linked = true;
+        this.count++;
+
+    }
+
+    private void unlink(final Node<T, L, R> n) {
+
+        if (n.prev == null) {
+            this.head = n.next;
+        } else {
+            n.prev.next = n.next;
+        }
+        if (n.next == null) {
+            this.tail = n.prev;
+        } else {
+            n.next.prev = n.prev;
+        }
+        n.prev = null;
+        n.next = null;
+        n.linked = false;
+        this.count--;
+
+    }
+
+    /**
+     * Count-min sketch of four 4-bit counters per key, packed sixteen to a
+     * long. Every increments, equal to ten times the table size, all
+     * counters are halved. Guarded by the maintenance lock.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L,
+                0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+        private int additions;
+
+        private final int period;
+
+        private final long[] table;
+
+        FrequencySketch(final int maximumSize) {
+            final int n = Math.max(8,
+                    Integer.highestOneBit(Math.max(1, maximumSize - 1)) << 1);
+            this.table = new long[n];
+            this.period = 10 * n;
+        }
+
+        int frequency(final Object key) {
+
+            final int h = spread(key.hashCode());
+            int rval = 15;
+            for (int i = 0; i < 4; i++) {
+                final int offset = ((h >>> (i << 3)) & 15) << 2;
+                rval = Math.min(rval,
+                        (int) ((this.table[index(h, i)] >>> offset) & 15L));
+            }
+            return rval;
+
+        }
+
+        void increment(final Object key) {
+
+            final int h = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                final int j = index(h, i);
+                final int offset = ((h >>> (i << 3)) & 15) << 2;
+                if (((this.table[j] >>> offset) & 15L) != 15L) {
+                    this.table[j] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++this.additions == this.period) {
+                for (int j = 0; j < this.table.length; j++) {
+                    this.table[j] = (this.table[j] >>> 1) & 0x7777777777777777L;
+                }
+                this.additions /= 2;
+            }
+
+        }
+
+        private int index(final int h, final int i) {
+
+            long hash = (h + SEEDS[i]) * SEEDS[i];
+            hash += hash >>> 32;
+            return (int) hash & (this.table.length - 1);
+
+        }
+
+        private static int spread(final int x) {
+
+            int h = ((x >>> 16) ^ x) * 0x45d9f3b;
+            h = ((h >>> 16) ^ h) * 0x45d9f3b;
+            return (h >>> 16) ^ h;
+
+        }
+
+    }
+
+    private static final class Node<T, L, R> {
+
+        private final long expiresAt;
+
+        private final T key;
+
+        /*
+         * links and flag are guarded by the maintenance lock.
+         */
+        private boolean linked;
+
+        private Node<T, L, R> next;
+
+        private Node<T, L, R> prev;
+
+        private final Either<L, R> value;
+
+        Node(final T key, final Either<L, R> value, final long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    /**
+     * Lossy striped buffer of accesses. Each stripe is a small ring that
+     * threads append to with one compare-and-set; an append that loses a
+     * race or finds the ring full is dropped. Only the lock holder drains.
+     */
+    private static final class ReadBuffer<E> {
+
+        private static final int SLOTS = 16;
+
+        private final Stripe<E>[] stripes;
+
+        ReadBuffer() {
+            final int n = Math.min(64, Integer.highestOneBit(Runtime
+                    .getRuntime().availableProcessors() * 2 - 1) << 1);
+            @SuppressWarnings("unchecked")
+            final Stripe<E>[] s = (Stripe<E>[]) new Stripe<?>[n];
+            for (int i = 0; i < n; i++) {
+                s[i] = new Stripe<>();
+            }
+            this.stripes = s;
+        }
+
+        void drain(final Consumer<E> c) {
+
+            for (final Stripe<E> s : this.stripes) {
+                long r = s.reads;
+                final long w = s.writes.get();
+                while (r < w) {
+                    final int i = (int) r & (SLOTS - 1);
+                    final E e = s.slots.get(i);
+                    if (e == null) {
+                        break;
+                    }
+                    s.slots.lazySet(i, null);
+                    c.accept(e);
+                    r++;
+                }
+                s.reads = r;
+            }
+
+        }
+
+        /**
+         * Note an access.
+         *
+         * @return true if the stripe is full and should be drained.
+         */
+        boolean offer(final E e) {
+
+            final Stripe<E> s = this.stripes[(int) Thread.currentThread()
+                    .getId() & (this.stripes.length - 1)];
+            final long w = s.writes.get();
+            if (w - s.reads >= SLOTS) {
+                return true;
+            }
+            if (s.writes.compareAndSet(w, w + 1)) {
+                s.slots.lazySet((int) w & (SLOTS - 1), e);
+                return w + 1 - s.reads >= SLOTS;
+            }
+            return false;
+
+        }
+
+        private static final class Stripe<E> {
+
+            private volatile long reads;
+
+            private final AtomicReferenceArray<E> slots = new AtomicReferenceArray<>(
+                    SLOTS);
+
+            private final AtomicLong writes = new AtomicLong();
+
+        }
+
+    }
+
+}
@@ -0,0 +1,353 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Adapters between {@link CompletionStage} and {@link Either}. Exceptional
+ * completion becomes a right holding the cause, with the same semantics as
+ * {@link Either#liftChecked(com.msiops.footing.functional.FunT1)}.
+ * </p>
+ *
+ * <p>
+ * All adapters use the non-async stage methods. Dependent work therefore runs
+ * in the thread that completes the source stage, or immediately in the
+ * calling thread if the stage has already completed; it never hops to another
+ * executor.
+ * </p>
+ */
+public final class EitherFuture {
+
+    /**
+     * <p>
+     * Chain an asynchronous {@link Either}-producing step. If the stage
+     * completes with a left, the function is invoked on the value and its
+     * stage is the result. If it completes with a right, the function is not
+     * invoked and the right is passed through.
+     * </p>
+     *
+     * @param s
+     *            source stage.
+     *
+     * @param f
+     *            next step. Invoked only for a left.
+     *
+     * @param <L>
+     *            left type of the source.
+     *
+     * @param <R>
+     *            right type of the source and result.
+     *
+     * @param <T>
+     *            left type of the result.
+     *
+     * @return the chained stage.
+     */
+    public static <L, R, T> CompletableFuture<Either<T, R>> flatMap(
+            final CompletionStage<Either<L, R>> s,
+            final Function<? super L, ? extends CompletionStage<Either<T, R>>> f) {
+
+        return s.toCompletableFuture().thenCompose(
+                e -> e.isLeft() ? f.apply(e.getLeft()) : CompletableFuture
+                        .completedFuture(Either.recast(e)));
+
+    }
+
+    /**
+     * <p>
+     * Lift an asynchronous function. The resulting function maps to a future
+     * that always completes normally, with a left if the original stage
+     * completes normally and with a right holding the cause otherwise. If the
+     * original function throws instead of returning a stage, the future is
+     * completed with a right holding the thrown exception.
+     * </p>
+     *
+     * @param f
+     *            function to lift.
+     *
+     * @param <T>
+     *            parameter type of function to lift
+     *
+     * @param <R>
+     *            result type of the stage returned by the function to lift
+     *
+     * @return lifted function.
+     */
+    public static <T, R> Function<T, CompletableFuture<Either<R, Throwable>>> lift(
+            final Function<T, ? extends CompletionStage<R>> f) {
+
+        return t -> {
+            final CompletionStage<R> s;
+            try {
+                s = f.apply(t);
+            } catch (final RuntimeException rtx) {
+                return CompletableFuture.completedFuture(Either.right(rtx));
+            }
+            return of(s);
+        };
+
+    }
+
+    /**
+     * <p>
+     * Apply an asynchronous function to every element with at most a given
+     * number of stages in flight. The next element is started as soon as an
+     * earlier stage completes. Results are reported in input order.
+     * </p>
+     *
+     * <p>
+     * Each result is converted as by {@link #lift(Function)}, so the returned
+     * future always completes normally.
+     * </p>
+     *
+     * @param ts
+     *            elements.
+     *
+     * @param f
+     *            asynchronous function.
+     *
+     * @param maxInFlight
+     *            maximum number of incomplete stages at any time. Must be
+     *            positive.
+     *
+     * @param <T>
+     *            element type.
+     *
+     * @param <R>
+     *            result type of the stages.
+     *
+     * @return a future list of results in input order.
+     */
+    public static <T, R> CompletableFuture<List<Either<R, Throwable>>> mapAsync(
+            final Collection<T> ts,
+            final Function<? super T, ? extends CompletionStage<R>> f,
+            final int maxInFlight) {
+
+        return new Window<T, R>(ts, f, maxInFlight, true).start();
+
+    }
+
+    /**
+     * Apply an asynchronous function to every element with at most a given
+     * number of stages in flight. Behaves as
+     * {@link #mapAsync(Collection, Function, int)} except that results are
+     * reported in completion order.
+     *
+     * @param ts
+     *            elements.
+     *
+     * @param f
+     *            asynchronous function.
+     *
+     * @param maxInFlight
+     *            maximum number of incomplete stages at any time. Must be
+     *            positive.
+     *
+     * @param <T>
+     *            element type.
+     *
+     * @param <R>
+     *            result type of the stages.
+     *
+     * @return a future list of results in completion order.
+     */
+    public static <T, R> CompletableFuture<List<Either<R, Throwable>>> mapAsyncUnordered(
+            final Collection<T> ts,
+            final Function<? super T, ? extends CompletionStage<R>> f,
+            final int maxInFlight) {
+
+        return new Window<T, R>(ts, f, maxInFlight, false).start();
+
+    }
+
+    /**
+     * <p>
+     * Convert the outcome of a stage to an {@link Either}. The returned future
+     * completes normally with a left if the stage completes normally or with a
+     * right holding the cause if it completes exceptionally. A
+     * {@link CompletionException} wrapper is removed so that the right holds
+     * the exception originally thrown.
+     * </p>
+     *
+     * <p>
+     * If the stage is a {@link CompletableFuture} that is already done, the
+     * result is built directly without registering a dependent stage.
+     * </p>
+     *
+     * @param s
+     *            stage to convert. Must not complete with null.
+     *
+     * @param <T>
+     *            result type of the stage.
+     *
+     * @return a future that always completes normally.
+     */
+    public static <T> CompletableFuture<Either<T, Throwable>> of(
+            final CompletionStage<T> s) {
+
+        if (s instanceof CompletableFuture
+                && ((CompletableFuture<T>) s).isDone()) {
+            final T v;
+            try {
+                v = ((CompletableFuture<T>) s).join();
+            } catch (final RuntimeException x) {
+                return CompletableFuture.completedFuture(Either
+                        .right(unwrap(x)));
+            }
+            return CompletableFuture.completedFuture(Either.left(v));
+        }
+
+        return s.toCompletableFuture().handle(
+                (v, x) -> x == null ? Either.<T, Throwable> left(v) : Either
+                        .<T, Throwable> right(unwrap(x)));
+
+    }
+
+    private static Throwable unwrap(final Throwable x) {
+
+        return x instanceof CompletionException && x.getCause() != null ? x
+                .getCause() : x;
+
+    }
+
+    private EitherFuture() {
+    }
+
+    /**
+     * <p>
+     * Bounded launcher for {@link EitherFuture#mapAsync(Collection, Function,
+     * int)}. Stages are started by a single pump at a time; a completion that
+     * arrives while the pump is running only records that another pass is
+     * needed. This keeps the stack flat when stages complete synchronously.
+     * </p>
+     */
+    private static final class Window<T, R> {
+
+        private final Object[] items;
+
+        private final Function<? super T, ? extends CompletionStage<R>> f;
+
+        private final int maxInFlight;
+
+        private final boolean ordered;
+
+        private final Object[] results;
+
+        private final CompletableFuture<List<Either<R, Throwable>>> done = new CompletableFuture<>();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger completed = new AtomicInteger();
+
+        private final AtomicInteger pumps = new AtomicInteger();
+
+        /**
+         * Next result slot in completion order. Unused when ordered.
+         */
+        private final AtomicInteger slots = new AtomicInteger();
+
+        /**
+         * Index of the next element to start. Only touched by the pump.
+         */
+        private int next;
+
+        private Window(final Collection<T> ts,
+                final Function<? super T, ? extends CompletionStage<R>> f,
+                final int maxInFlight, final boolean ordered) {
+
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException(
+                        "maxInFlight must be positive");
+            }
+            this.items = ts.toArray();
+            this.f = f;
+            this.maxInFlight = maxInFlight;
+            this.ordered = ordered;
+            this.results = new Object[this.items.length];
+
+        }
+
+        @SuppressWarnings("unchecked")
+        private void finish(final int i, final Either<R, Throwable> e) {
+
+            /*
+             * store before counting so that whoever counts last sees every
+             * result.
+             */
+            this.results[this.ordered ? i : this.slots.getAndIncrement()] = e;
+            this.inFlight.decrementAndGet();
+            if (this.completed.incrementAndGet() == this.results.length) {
+                this.done.complete((List<Either<R, Throwable>>) (List<?>) Arrays
+                        .asList(this.results));
+            } else {
+                pump();
+            }
+
+        }
+
+        @SuppressWarnings("unchecked")
+        private void launch(final int i) {
+
+            final CompletableFuture<Either<R, Throwable>> c;
+            try {
+                c = of(this.f.apply((T) this.items[i]));
+            } catch (final Throwable t) {
+                finish(i, Either.right(t));
+                return;
+            }
+            c.whenComplete((e, x) -> finish(i,
+                    x == null ? e : Either.right(unwrap(x))));
+
+        }
+
+        private void pump() {
+
+            if (this.pumps.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (this.next < this.items.length
+                        && this.inFlight.get() < this.maxInFlight) {
+                    this.inFlight.incrementAndGet();
+                    launch(this.next++);
+                }
+            } while (this.pumps.decrementAndGet() != 0);
+
+        }
+
+        private CompletableFuture<List<Either<R, Throwable>>> start() {
+
+            if (this.items.length == 0) {
+                this.done.complete(Arrays.asList());
+            } else {
+                pump();
+            }
+            return this.done;
+
+        }
+
+    }
+
+}
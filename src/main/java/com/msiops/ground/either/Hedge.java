@@ -0,0 +1,326 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.msiops.footing.functional.SupplierT;
+
+/**
+ * <p>
+ * Hedged calls: run a supplier and, if it has not produced a left within a
+ * delay, start another attempt alongside it. The first attempt to produce a
+ * left wins and the others are cancelled by interrupting them.
+ * </p>
+ *
+ * <p>
+ * Attempts are captured as in {@link Either#ofChecked(SupplierT)}. An
+ * attempt that produces a right starts the next attempt at once instead of
+ * waiting for the delay. If every attempt produces a right, the result is a
+ * right holding all the exceptions in attempt order.
+ * </p>
+ *
+ * <p>
+ * A hedge is thread safe and is meant to be shared by every call to one
+ * dependency, so its counters describe that dependency. Compare
+ * {@link #getHedgesFired()} with {@link #getHedgesWon()} to tune the delay:
+ * hedges that fire but rarely win are wasted load.
+ * </p>
+ */
+public final class Hedge {
+
+    /**
+     * Create a hedge.
+     *
+     * @param delay
+     *            how long to wait for a left before starting another
+     *            attempt.
+     *
+     * @param maxAttempts
+     *            upper bound on attempts per call, including the first.
+     *
+     * @param executor
+     *            runs the attempts. It must not run them on the submitting
+     *            thread because attempts are started from a timer.
+     *
+     * @return the hedge.
+     *
+     * @throws IllegalArgumentException
+     *             if the delay is negative or there is not at least one
+     *             attempt.
+     */
+    public static Hedge of(final Duration delay, final int maxAttempts,
+            final Executor executor) {
+
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("negative delay");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("need at least one attempt");
+        }
+        return new Hedge(delay.toNanos(), maxAttempts,
+                Objects.requireNonNull(executor));
+
+    }
+
+    private final LongAdder calls = new LongAdder();
+
+    private final long delay;
+
+    private final Executor executor;
+
+    private final LongAdder fired = new LongAdder();
+
+    private final int maxAttempts;
+
+    private final LongAdder won = new LongAdder();
+
+    private Hedge(final long delay, final int maxAttempts,
+            final Executor executor) {
+        this.delay = delay;
+        this.maxAttempts = maxAttempts;
+        this.executor = executor;
+    }
+
+    /**
+     * Run a hedged call and wait for its outcome.
+     *
+     * @param s
+     *            supplier to run. It may run several times concurrently.
+     *
+     * @param <L>
+     *            result type of the supplier.
+     *
+     * @return the first left, or a right holding the exception from every
+     *         attempt.
+     *
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting. All
+     *             attempts are cancelled first.
+     */
+    public <L> Either<L, List<Throwable>> call(final SupplierT<L> s)
+            throws InterruptedException {
+
+        final CompletableFuture<Either<L, List<Throwable>>> f = callAsync(s);
+        try {
+            return f.get();
+        } catch (final InterruptedException ix) {
+            f.cancel(true);
+            throw ix;
+        } catch (final ExecutionException ex) {
+            throw new AssertionError("hedged call cannot fail", ex);
+        }
+
+    }
+
+    /**
+     * Start a hedged call. Cancelling the returned future cancels every
+     * attempt.
+     *
+     * @param s
+     *            supplier to run. It may run several times concurrently.
+     *
+     * @param <L>
+     *            result type of the supplier.
+     *
+     * @return future of the first left, or of a right holding the exception
+     *         from every attempt.
+     */
+    public <L> CompletableFuture<Either<L, List<Throwable>>> callAsync(
+            final SupplierT<L> s) {
+
+        this.calls.increment();
+        final Race<L> r = new Race<>(Objects.requireNonNull(s));
+        r.launch();
+        return r.result;
+
+    }
+
+    /**
+     * Get the number of calls started.
+     *
+     * @return call count.
+     */
+    public long getCalls() {
+
+        return this.calls.sum();
+
+    }
+
+    /**
+     * Get the number of attempts started after the first, over all calls.
+     *
+     * @return hedge count.
+     */
+    public long getHedgesFired() {
+
+        return this.fired.sum();
+
+    }
+
+    /**
+     * Get the number of calls won by an attempt other than the first.
+     *
+     * @return count of winning hedges.
+     */
+    public long getHedgesWon() {
+
+        return this.won.sum();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "hedge(delay=" + Duration.ofNanos(this.delay) + ", attempts="
+                + this.maxAttempts + ", calls=" + getCalls() + ", fired="
+                + getHedgesFired() + ", won=" + getHedgesWon() + ")";
+
+    }
+
+    /**
+     * State of one hedged call.
+     */
+    private final class Race<L> {
+
+        private final Future<?>[] attempts = new Future<?>[Hedge.this.maxAttempts];
+
+        /**
+         * Set, under the lock, by the attempt that settles the race. The
+         * result is completed outside the lock, so {@code result.isDone()}
+         * cannot serve as the guard.
+         */
+        private boolean decided;
+
+        private int failed;
+
+        private int finisher = -1;
+
+        private final Throwable[] rights = new Throwable[Hedge.this.maxAttempts];
+
+        private final CompletableFuture<Either<L, List<Throwable>>> result = new CompletableFuture<>();
+
+        private final SupplierT<L> s;
+
+        private int started;
+
+        private TimerWheel.Timeout timer;
+
+        Race(final SupplierT<L> s) {
+            this.s = s;
+            this.result.whenComplete((v, x) -> stop());
+        }
+
+        synchronized void launch() {
+
+            if (this.decided || this.started == this.attempts.length) {
+                return;
+            }
+            if (this.timer != null) {
+                this.timer.cancel();
+                this.timer = null;
+            }
+            final int i = this.started++;
+            if (i > 0) {
+                Hedge.this.fired.increment();
+            }
+            final FutureTask<Void> t = new FutureTask<>(
+                    () -> settle(i, Either.ofChecked(this.s)), null);
+            this.attempts[i] = t;
+            try {
+                Hedge.this.executor.execute(t);
+            } catch (final RejectedExecutionException rx) {
+                // a rejected attempt counts as a right
+                t.cancel(false);
+                settle(i, Either.right(rx));
+                return;
+            }
+            if (this.started < this.attempts.length) {
+                this.timer = TimerWheel.SHARED.schedule(System.nanoTime()
+                        + Hedge.this.delay, this::launch);
+            }
+
+        }
+
+        private void settle(final int i, final Either<L, Throwable> e) {
+
+            final Either<L, List<Throwable>> outcome;
+            synchronized (this) {
+                if (this.decided) {
+                    return;
+                }
+                if (e.isLeft()) {
+                    outcome = Either.left(e.getLeft());
+                    if (i > 0) {
+                        Hedge.this.won.increment();
+                    }
+                } else {
+                    this.rights[i] = e.getRight();
+                    this.failed++;
+                    if (this.failed < this.attempts.length) {
+                        if (this.failed == this.started) {
+                            launch();
+                        }
+                        return;
+                    }
+                    final List<Throwable> l = new ArrayList<>(
+                            this.rights.length);
+                    Collections.addAll(l, this.rights);
+                    outcome = Either.right(Collections.unmodifiableList(l));
+                }
+                this.decided = true;
+                this.finisher = i;
+            }
+            this.result.complete(outcome);
+
+        }
+
+        /*
+         * the finishing attempt is still inside its task, so interrupting it
+         * would only disturb the executor thread. When the result was
+         * cancelled there is no finisher and nothing has decided the race
+         * yet; deciding it here keeps the interrupted attempts from
+         * launching replacements as they settle.
+         */
+        private synchronized void stop() {
+
+            this.decided = true;
+            if (this.timer != null) {
+                this.timer.cancel();
+                this.timer = null;
+            }
+            for (int i = 0; i < this.started; i++) {
+                if (i != this.finisher) {
+                    this.attempts[i].cancel(true);
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,478 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * An {@link Either} whose left value is a primitive {@code int}. Left values
+ * are never boxed, so numeric pipelines built from {@link #lift(IntUnaryOperator)}
+ * and {@link #map(IntUnaryOperator)} can be scalar-replaced by the JIT once
+ * the instances do not escape.
+ * </p>
+ *
+ * <p>
+ * Semantics follow {@link Either}: map operations transform a left value and
+ * are identity on a right value. Use {@link #mapToObj(IntFunction)} or
+ * {@link #boxed()} to leave the primitive specialization and
+ * {@link Either#mapToInt(ToIntFunction)} to enter it.
+ * </p>
+ *
+ * @param <Right>
+ *            value type if this is a right instance.
+ */
+public final class IntEither<Right> {
+
+    /**
+     * Construct a left variant from a plain value.
+     *
+     * @param v
+     *            value to put into the context.
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return a left instance.
+     */
+    public static <RR> IntEither<RR> left(final int v) {
+
+        return new IntEither<>(v, null);
+
+    }
+
+    /**
+     * <p>
+     * Lift an unchecked operator. The resulting function maps to
+     * {@link IntEither} with a right type of {@link RuntimeException}.
+     * </p>
+     *
+     * <p>
+     * Divergence is handled as in {@link Either#lift(Function)}.
+     * </p>
+     *
+     * @param f
+     *            operator to lift.
+     *
+     * @return lifted function.
+     */
+    public static IntFunction<IntEither<RuntimeException>> lift(
+            final IntUnaryOperator f) {
+
+        return t -> {
+            try {
+                return new IntEither<>(f.applyAsInt(t), null);
+            } catch (final RuntimeException rtx) {
+                return new IntEither<>(0, rtx);
+            }
+        };
+
+    }
+
+    /**
+     * <p>
+     * Lift an unchecked function producing an {@code int}. The resulting
+     * function maps to {@link IntEither} with a right type of
+     * {@link RuntimeException}.
+     * </p>
+     *
+     * <p>
+     * Divergence is handled as in {@link Either#lift(Function)}.
+     * </p>
+     *
+     * @param f
+     *            function to lift.
+     *
+     * @param <T>
+     *            parameter type of function to lift
+     *
+     * @return lifted function.
+     */
+    public static <T> Function<T, IntEither<RuntimeException>> liftToInt(
+            final ToIntFunction<T> f) {
+
+        return t -> {
+            try {
+                return new IntEither<>(f.applyAsInt(t), null);
+            } catch (final RuntimeException rtx) {
+                return new IntEither<>(0, rtx);
+            }
+        };
+
+    }
+
+    /**
+     * Construct from an {@link IntSupplier}. If the supplier converges, the
+     * constructed instance is a left variant containing the supplied value. If
+     * the supplier diverges by throwing, the constructed instance is a right
+     * variant containing the thrown exception.
+     *
+     * @param s
+     *            left value supplier.
+     *
+     * @return left instance if supplier converges, right instance if it throws
+     *         a {@link RuntimeException}.
+     */
+    public static IntEither<RuntimeException> of(final IntSupplier s) {
+
+        try {
+            return new IntEither<>(s.getAsInt(), null);
+        } catch (final RuntimeException rtx) {
+            return new IntEither<>(0, rtx);
+        }
+
+    }
+
+    /**
+     * Construct an instance from an {@link OptionalInt}. If present, the
+     * optional is mapped to a left variant containing the present value. If not
+     * present, the result is the provided right value.
+     *
+     * @param maybeLeft
+     *            if present, a left instance is produced with the present
+     *            value.
+     *
+     * @param orRight
+     *            value of the produced right instance should the value not be
+     *            present.
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return left or right instance depending on the presence of the first
+     *         parameter.
+     *
+     * @throws NullPointerException
+     *             if the left value is not present and the right value is
+     *             null.
+     */
+    public static <RR> IntEither<RR> of(final OptionalInt maybeLeft,
+            final RR orRight) {
+
+        return maybeLeft.isPresent() ? new IntEither<>(maybeLeft.getAsInt(),
+                null) : right(orRight);
+
+    }
+
+    /**
+     * Construct a right variant from a plain value.
+     *
+     * @param v
+     *            value to put into the context. Must not be null.
+     *
+     * @param <RR>
+     *            right type of constructed instance.
+     *
+     * @return a right instance.
+     */
+    public static <RR> IntEither<RR> right(final RR v) {
+
+        return new IntEither<>(0, Objects.requireNonNull(v));
+
+    }
+
+    /**
+     * The left value if this is a left instance, zero otherwise.
+     */
+    private final int left;
+
+    /**
+     * The right value if this is a right instance, null otherwise.
+     */
+    private final Right right;
+
+    private IntEither(final int left, final Right right) {
+
+        this.left = left;
+        this.right = right;
+
+    }
+
+    /**
+     * Box the left value.
+     *
+     * @return an equivalent {@link Either}.
+     */
+    public Either<Integer, Right> boxed() {
+
+        return this.right == null ? Either.left(this.left) : Either
+                .right(this.right);
+
+    }
+
+    /**
+     * Two instances are equal if and only if they are the same variant and
+     * contain equal values.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+
+        final boolean rval;
+        if (this == obj) {
+            rval = true;
+        } else if (obj instanceof IntEither) {
+            final IntEither<?> other = (IntEither<?>) obj;
+            rval = this.left == other.left
+                    && Objects.equals(this.right, other.right);
+        } else {
+            rval = false;
+        }
+        return rval;
+
+    }
+
+    /**
+     * Map the left value according to an {@link IntEither}-producing function.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *
+     * @return the function result if this is a left instance, this instance
+     *         otherwise.
+     */
+    public IntEither<Right> flatMap(final IntFunction<IntEither<Right>> f) {
+
+        return this.right == null ? f.apply(this.left) : this;
+
+    }
+
+    /**
+     * Iterate over the value. If this is a left instance, the value is supplied
+     * to the consumer. Otherwise, this method has no observable effect.
+     *
+     * @param c
+     *            consumer. Will not be called if this is a right instance.
+     */
+    public void forEach(final IntConsumer c) {
+
+        if (this.right == null) {
+            c.accept(this.left);
+        }
+
+    }
+
+    /**
+     * Retrieve the value if this is a left instance.
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException
+     *             if this is a right instance.
+     */
+    public int getLeft() {
+        if (this.right != null) {
+            throw new IllegalStateException("no left");
+        }
+        return this.left;
+    }
+
+    /**
+     * Retrieve the value if this is a right instance.
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException
+     *             if this is a left instance.
+     */
+    public Right getRight() {
+        if (this.right == null) {
+            throw new IllegalStateException("no right");
+        }
+        return this.right;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.right == null ? Integer.hashCode(this.left) : 31 + this.right
+                .hashCode();
+    }
+
+    /**
+     * Test the variant type.
+     *
+     * @return true iff this is a left instance, false iff this is a right
+     *         instance.
+     */
+    public boolean isLeft() {
+        return this.right == null;
+    }
+
+    /**
+     * Map the left value according to an operator.
+     *
+     * @param f
+     *            operator. Invoked only if this is a left instance.
+     *
+     * @return a left instance containing the operator result if this is a left
+     *         instance, this instance otherwise.
+     */
+    public IntEither<Right> map(final IntUnaryOperator f) {
+
+        return this.right == null ? new IntEither<>(f.applyAsInt(this.left),
+                null) : this;
+
+    }
+
+    /**
+     * Map the left value to a {@code double}.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *
+     * @return mapped instance.
+     */
+    public DoubleEither<Right> mapToDouble(final IntToDoubleFunction f) {
+
+        return this.right == null ? DoubleEither.left(f
+                .applyAsDouble(this.left)) : DoubleEither.right(this.right);
+
+    }
+
+    /**
+     * Map the left value to a {@code long}.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *
+     * @return mapped instance.
+     */
+    public LongEither<Right> mapToLong(final IntToLongFunction f) {
+
+        return this.right == null ? LongEither.left(f.applyAsLong(this.left))
+                : LongEither.right(this.right);
+
+    }
+
+    /**
+     * Map the left value to an object.
+     *
+     * @param f
+     *            mapping function. Invoked only if this is a left instance.
+     *            Must not return null.
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return mapped instance.
+     */
+    public <R> Either<R, Right> mapToObj(final IntFunction<R> f) {
+
+        return this.right == null ? Either.left(f.apply(this.left)) : Either
+                .right(this.right);
+
+    }
+
+    /**
+     * Convert to an optional.
+     *
+     * @return An optional that is present if this is a left variant, empty if
+     *         not.
+     */
+    public OptionalInt maybe() {
+        return this.right == null ? OptionalInt.of(this.left) : OptionalInt
+                .empty();
+    }
+
+    /**
+     * Retrieve the value or an alternative.
+     *
+     * @param other
+     *            alternative value.
+     *
+     * @return the contained value if this is a left instance, the alternative
+     *         otherwise.
+     */
+    public int orElse(final int other) {
+
+        return this.right == null ? this.left : other;
+
+    }
+
+    /**
+     * Retrieve the value or compute an alternative.
+     *
+     * @param other
+     *            alternative value supplier. Not invoked if this is a left
+     *            instance.
+     *
+     * @return the contained value if this is a left instance, the computed
+     *         alternative otherwise.
+     */
+    public int orElseGet(final IntSupplier other) {
+
+        return this.right == null ? this.left : other.getAsInt();
+
+    }
+
+    /**
+     * Retrieve the value or die trying.
+     *
+     * @param genx
+     *            throwable supplier. Invoked only if this is a right instance.
+     *
+     * @param <X>
+     *            type of exception to throw if this is a right instance.
+     *
+     * @return the value if this is a left instance.
+     *
+     * @throws X
+     *             if this is a right instance.
+     */
+    public <X extends Throwable> int orElseThrow(final Supplier<X> genx)
+            throws X {
+
+        if (this.right != null) {
+            throw genx.get();
+        }
+
+        return this.left;
+
+    }
+
+    /**
+     * Convert to a stream.
+     *
+     * @return A stream containing only the value if this is a left instance.
+     *         An empty stream if this is a right instance.
+     */
+    public IntStream stream() {
+
+        return this.right == null ? IntStream.of(this.left) : IntStream.empty();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return this.right == null ? ("left={" + this.left + "}")
+                : ("right={" + String.valueOf(this.right) + "}");
+
+    }
+
+}
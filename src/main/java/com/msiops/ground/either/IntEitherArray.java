@@ -0,0 +1,586 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * An immutable sequence of {@link IntEither} values stored as a struct of
+ * arrays: a bitset of variant tags and separate dense arrays of the left and
+ * right values. Left values are unboxed. No {@link IntEither} is kept per
+ * element, so a large batch of results costs a tag bit and an int per
+ * element, and the values of each side are contiguous.
+ * </p>
+ *
+ * <p>
+ * Counts come from popcounts and positional access uses a rank index over the
+ * tags. {@link #get(int)}, {@link #isLeft(int)} and
+ * {@link #countLefts(int, int)} take constant time; {@link #indexOfLeft(int)}
+ * and {@link #indexOfRight(int)} take logarithmic time.
+ * {@link #forEach(IntConsumer, Consumer)}, {@link #cursor()},
+ * {@link #lefts()} and {@link #rights()} visit the values without creating an
+ * {@link IntEither}. {@link #get(int)} and {@link #iterator()} create one per
+ * element visited.
+ * </p>
+ *
+ * @param <Right>
+ *            right value type.
+ */
+public final class IntEitherArray<Right> implements
+        Iterable<IntEither<Right>> {
+
+    /**
+     * Start a new instance.
+     *
+     * @param <RR>
+     *            right type of the constructed instance.
+     *
+     * @return an empty builder.
+     */
+    public static <RR> Builder<RR> builder() {
+
+        return new Builder<>();
+
+    }
+
+    /**
+     * Copy from an {@link Iterable} of eithers.
+     *
+     * @param es
+     *            source. Must not contain null.
+     *
+     * @param <RR>
+     *            right type of the constructed instance.
+     *
+     * @return an instance holding the same values in the same order.
+     */
+    public static <RR> IntEitherArray<RR> of(
+            final Iterable<? extends IntEither<RR>> es) {
+
+        final Builder<RR> b = new Builder<>();
+        for (final IntEither<RR> e : es) {
+            b.add(e);
+        }
+        return b.build();
+
+    }
+
+    private final int[] lefts;
+
+    private final Object[] rights;
+
+    private final TagIndex tags;
+
+    private IntEitherArray(final TagIndex tags, final int[] lefts,
+            final Object[] rights) {
+        this.tags = tags;
+        this.lefts = lefts;
+        this.rights = rights;
+    }
+
+    /**
+     * Count the left values.
+     *
+     * @return number of left values.
+     */
+    public int countLefts() {
+        return this.tags.countLefts();
+    }
+
+    /**
+     * Count the left values in a range of positions.
+     *
+     * @param from
+     *            first position, inclusive.
+     *
+     * @param to
+     *            last position, exclusive.
+     *
+     * @return number of left values in the range.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the range is not within this instance.
+     */
+    public int countLefts(final int from, final int to) {
+
+        this.tags.checkRange(from, to);
+        return this.tags.rank(to) - this.tags.rank(from);
+
+    }
+
+    /**
+     * Count the right values.
+     *
+     * @return number of right values.
+     */
+    public int countRights() {
+        return this.tags.size() - this.tags.countLefts();
+    }
+
+    /**
+     * Start a traversal that does not create {@link IntEither} instances.
+     *
+     * @return a cursor positioned before the first element.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Visit every value in order without creating {@link IntEither}
+     * instances.
+     *
+     * @param lc
+     *            invoked with each left value.
+     *
+     * @param rc
+     *            invoked with each right value.
+     */
+    public void forEach(final IntConsumer lc,
+            final Consumer<? super Right> rc) {
+
+        int l = 0;
+        final int size = this.tags.size();
+        for (int i = 0; i < size; i++) {
+            if (this.tags.isLeft(i)) {
+                lc.accept(left(l++));
+            } else {
+                rc.accept(right(i - l));
+            }
+        }
+
+    }
+
+    /**
+     * Create the either at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return a new {@link IntEither} holding the value at the position.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     */
+    public IntEither<Right> get(final int i) {
+
+        this.tags.check(i);
+        final int r = this.tags.rank(i);
+        return this.tags.isLeft(i) ? IntEither.left(left(r)) : IntEither
+                .right(right(i - r));
+
+    }
+
+    /**
+     * Retrieve the left value at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return the left value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     *
+     * @throws IllegalStateException
+     *             if the value at the position is a right.
+     */
+    public int getLeft(final int i) {
+
+        this.tags.check(i);
+        if (!this.tags.isLeft(i)) {
+            throw new IllegalStateException("no left");
+        }
+        return left(this.tags.rank(i));
+
+    }
+
+    /**
+     * Retrieve the right value at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return the right value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     *
+     * @throws IllegalStateException
+     *             if the value at the position is a left.
+     */
+    public Right getRight(final int i) {
+
+        this.tags.check(i);
+        if (this.tags.isLeft(i)) {
+            throw new IllegalStateException("no right");
+        }
+        return right(i - this.tags.rank(i));
+
+    }
+
+    /**
+     * Find the position of a left value.
+     *
+     * @param k
+     *            ordinal of the left value, counting from zero.
+     *
+     * @return position of the {@code k}th left value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there are not more than {@code k} left values.
+     */
+    public int indexOfLeft(final int k) {
+        return this.tags.selectLeft(k);
+    }
+
+    /**
+     * Find the position of a right value.
+     *
+     * @param k
+     *            ordinal of the right value, counting from zero.
+     *
+     * @return position of the {@code k}th right value.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there are not more than {@code k} right values.
+     */
+    public int indexOfRight(final int k) {
+        return this.tags.selectRight(k);
+    }
+
+    /**
+     * Test the variant at a position.
+     *
+     * @param i
+     *            position.
+     *
+     * @return true iff the value at the position is a left.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if there is no such position.
+     */
+    public boolean isLeft(final int i) {
+
+        this.tags.check(i);
+        return this.tags.isLeft(i);
+
+    }
+
+    /**
+     * Iterate over the elements. Each call to {@link Iterator#next()} creates
+     * an {@link IntEither}; use {@link #cursor()} to avoid that.
+     */
+    @Override
+    public Iterator<IntEither<Right>> iterator() {
+
+        final Cursor c = new Cursor();
+        return new Iterator<IntEither<Right>>() {
+
+            @Override
+            public boolean hasNext() {
+                return c.hasNext();
+            }
+
+            @Override
+            public IntEither<Right> next() {
+
+                if (!c.advance()) {
+                    throw new NoSuchElementException();
+                }
+                return c.toEither();
+
+            }
+
+        };
+
+    }
+
+    /**
+     * Stream the left values in order.
+     *
+     * @return stream of the left values.
+     */
+    public IntStream lefts() {
+        return Arrays.stream(this.lefts);
+    }
+
+    /**
+     * Stream the right values in order.
+     *
+     * @return stream of the right values.
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Right> rights() {
+        return (Stream<Right>) Arrays.stream(this.rights);
+    }
+
+    /**
+     * Count the elements.
+     *
+     * @return number of elements.
+     */
+    public int size() {
+        return this.tags.size();
+    }
+
+    @Override
+    public String toString() {
+
+        final StringJoiner rval = new StringJoiner(", ", "[", "]");
+        final Cursor c = new Cursor();
+        while (c.advance()) {
+            rval.add(c.isLeft() ? "left={" + c.getLeft() + "}" : "right={"
+                    + c.getRight() + "}");
+        }
+        return rval.toString();
+
+    }
+
+    private int left(final int r) {
+        return this.lefts[r];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Right right(final int r) {
+        return (Right) this.rights[r];
+    }
+
+    /**
+     * Accumulates the elements of an {@link IntEitherArray}.
+     *
+     * @param <RR>
+     *            right value type.
+     */
+    public static final class Builder<RR> {
+
+        private int[] lefts = new int[8];
+
+        private int nlefts;
+
+        private int nrights;
+
+        private Object[] rights = new Object[8];
+
+        private final TagIndex.Builder tags = new TagIndex.Builder();
+
+        private Builder() {
+        }
+
+        /**
+         * Append an either.
+         *
+         * @param e
+         *            either to append.
+         *
+         * @return this builder.
+         */
+        public Builder<RR> add(final IntEither<RR> e) {
+
+            return e.isLeft() ? addLeft(e.getLeft()) : addRight(e.getRight());
+
+        }
+
+        /**
+         * Append a left value.
+         *
+         * @param v
+         *            value to append.
+         *
+         * @return this builder.
+         */
+        public Builder<RR> addLeft(final int v) {
+
+            if (this.nlefts == this.lefts.length) {
+                this.lefts = Arrays.copyOf(this.lefts, this.nlefts * 2);
+            }
+            this.lefts[this.nlefts++] = v;
+            this.tags.add(true);
+            return this;
+
+        }
+
+        /**
+         * Append a right value.
+         *
+         * @param v
+         *            value to append. Must not be null.
+         *
+         * @return this builder.
+         */
+        public Builder<RR> addRight(final RR v) {
+
+            if (this.nrights == this.rights.length) {
+                this.rights = Arrays.copyOf(this.rights, this.nrights * 2);
+            }
+            this.rights[this.nrights++] = Objects.requireNonNull(v);
+            this.tags.add(false);
+            return this;
+
+        }
+
+        /**
+         * Create an instance holding the values appended so far. The builder
+         * remains usable.
+         *
+         * @return a new instance.
+         */
+        public IntEitherArray<RR> build() {
+
+            return new IntEitherArray<>(this.tags.build(),
+                    Arrays.copyOf(this.lefts, this.nlefts),
+                    Arrays.copyOf(this.rights, this.nrights));
+
+        }
+
+    }
+
+    /**
+     * A forward traversal of an {@link IntEitherArray} that exposes the
+     * current element without creating an {@link IntEither}. Obtained from
+     * {@link IntEitherArray#cursor()}.
+     */
+    public final class Cursor {
+
+        private int index = -1;
+
+        private boolean left;
+
+        /**
+         * Number of lefts before the current element.
+         */
+        private int rank;
+
+        private Cursor() {
+        }
+
+        /**
+         * Move to the next element.
+         *
+         * @return true if there is a next element and the cursor now
+         *         refers to it, false if the cursor is exhausted.
+         */
+        public boolean advance() {
+
+            if (!hasNext()) {
+                this.index = size();
+                return false;
+            }
+            if (this.index >= 0 && this.left) {
+                this.rank++;
+            }
+            this.index++;
+            this.left = IntEitherArray.this.tags.isLeft(this.index);
+            return true;
+
+        }
+
+        /**
+         * Retrieve the position of the current element.
+         *
+         * @return position.
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Retrieve the current left value.
+         *
+         * @return the left value.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element or it is a right.
+         */
+        public int getLeft() {
+
+            if (!isLeft()) {
+                throw new IllegalStateException("no left");
+            }
+            return left(this.rank);
+
+        }
+
+        /**
+         * Retrieve the current right value.
+         *
+         * @return the right value.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element or it is a left.
+         */
+        public Right getRight() {
+
+            if (isLeft()) {
+                throw new IllegalStateException("no right");
+            }
+            return right(this.index - this.rank);
+
+        }
+
+        /**
+         * Test for a next element.
+         *
+         * @return true iff {@link #advance()} would succeed.
+         */
+        public boolean hasNext() {
+            return this.index + 1 < size();
+        }
+
+        /**
+         * Test the variant of the current element.
+         *
+         * @return true iff the current element is a left.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element.
+         */
+        public boolean isLeft() {
+
+            if (this.index < 0 || this.index >= size()) {
+                throw new IllegalStateException("no current element");
+            }
+            return this.left;
+
+        }
+
+        /**
+         * Create an either holding the current element.
+         *
+         * @return a new {@link IntEither}.
+         *
+         * @throws IllegalStateException
+         *             if there is no current element.
+         */
+        public IntEither<Right> toEither() {
+
+            return isLeft() ? IntEither.left(left(this.rank)) : IntEither
+                    .right(right(this.index - this.rank));
+
+        }
+
+    }
+
+}
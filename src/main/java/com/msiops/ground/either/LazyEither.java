@@ -0,0 +1,495 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import com.msiops.footing.functional.SupplierT;
+
+/**
+ * <p>
+ * An {@link Either} that is not computed until needed. The underlying
+ * supplier runs at most once, on the first call that needs the value, and
+ * the result is shared by every thread that asks afterwards. Mapping an
+ * unevaluated instance produces another unevaluated instance, so a chain of
+ * maps costs nothing unless its result is inspected.
+ * </p>
+ *
+ * <p>
+ * Evaluation uses double-checked locking on a volatile field. If the
+ * supplier throws, the exception propagates to the caller that triggered
+ * evaluation and the instance stays unevaluated, so a later access tries
+ * again. The supplier reference is dropped once the value is known.
+ * </p>
+ *
+ * <p>
+ * Every {@link Either} operation is available. Those that return an
+ * {@link Either} of the same shape stay lazy; the rest evaluate. Equality is
+ * the exception: it is identity, because comparing values would force
+ * evaluation. Compare {@link #get()} results instead.
+ * </p>
+ *
+ * @param <Left>
+ *            left type.
+ *
+ * @param <Right>
+ *            right type.
+ */
+public final class LazyEither<Left, Right> implements Iterable<Left> {
+
+    /**
+     * Defer an {@link Either}-producing computation.
+     *
+     * @param s
+     *            computation, run at most once.
+     *
+     * @param <LL>
+     *            left type.
+     *
+     * @param <RR>
+     *            right type.
+     *
+     * @return unevaluated instance.
+     */
+    public static <LL, RR> LazyEither<LL, RR> defer(
+            final Supplier<? extends Either<LL, RR>> s) {
+
+        return new LazyEither<>(Objects.requireNonNull(s));
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#of(Supplier)}.
+     *
+     * @param s
+     *            left value supplier, run at most once.
+     *
+     * @param <R>
+     *            return type of supplier.
+     *
+     * @return unevaluated instance.
+     */
+    public static <R> LazyEither<R, RuntimeException> of(final Supplier<R> s) {
+
+        Objects.requireNonNull(s);
+        return new LazyEither<>(() -> Either.of(s));
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#ofChecked(SupplierT)}.
+     *
+     * @param s
+     *            left value supplier, run at most once.
+     *
+     * @param <R>
+     *            return type of supplier.
+     *
+     * @return unevaluated instance.
+     */
+    public static <R> LazyEither<R, Throwable> ofChecked(final SupplierT<R> s) {
+
+        Objects.requireNonNull(s);
+        return new LazyEither<>(() -> Either.ofChecked(s));
+
+    }
+
+    private Supplier<? extends Either<Left, Right>> s;
+
+    private volatile Either<Left, Right> value;
+
+    private LazyEither(final Supplier<? extends Either<Left, Right>> s) {
+        this.s = s;
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#bimap(Function, Function)}.
+     *
+     * @param lf
+     *            function applied to a left value when evaluated.
+     *
+     * @param rf
+     *            function applied to a right value when evaluated.
+     *
+     * @param <L>
+     *            left type of the result.
+     *
+     * @param <R>
+     *            right type of the result.
+     *
+     * @return unevaluated instance.
+     */
+    public <L, R> LazyEither<L, R> bimap(final Function<? super Left, L> lf,
+            final Function<? super Right, R> rf) {
+
+        Objects.requireNonNull(lf);
+        Objects.requireNonNull(rf);
+        return new LazyEither<>(() -> get().bimap(lf, rf));
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#flatMap(Function)}.
+     *
+     * @param f
+     *            function applied to the left value when evaluated.
+     *
+     * @param <R>
+     *            left type of function return type.
+     *
+     * @return unevaluated instance.
+     */
+    public <R> LazyEither<R, Right> flatMap(
+            final Function<? super Left, Either<R, Right>> f) {
+
+        Objects.requireNonNull(f);
+        return new LazyEither<>(() -> get().flatMap(f));
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#flatMapRight(Function)}.
+     *
+     * @param f
+     *            function applied to the right value when evaluated.
+     *
+     * @param <R>
+     *            right type of function return type.
+     *
+     * @return unevaluated instance.
+     */
+    public <R> LazyEither<Left, R> flatMapRight(
+            final Function<? super Right, Either<Left, R>> f) {
+
+        Objects.requireNonNull(f);
+        return new LazyEither<>(() -> get().flatMapRight(f));
+
+    }
+
+    /**
+     * Evaluate and reduce to a single value, as {@link Either#fold}.
+     *
+     * @param lf
+     *            function applied to a left value.
+     *
+     * @param rf
+     *            function applied to a right value.
+     *
+     * @param <T>
+     *            result type.
+     *
+     * @return the result of the invoked function.
+     */
+    public <T> T fold(final Function<? super Left, ? extends T> lf,
+            final Function<? super Right, ? extends T> rf) {
+
+        return get().fold(lf, rf);
+
+    }
+
+    /**
+     * Evaluate and invoke the consumer on a left value.
+     *
+     * @param c
+     *            consumer.
+     */
+    public void forEach(final Consumer<? super Left> c) {
+
+        get().forEach(c);
+
+    }
+
+    /**
+     * Get the value, evaluating if needed.
+     *
+     * @return the evaluated instance.
+     */
+    public Either<Left, Right> get() {
+
+        Either<Left, Right> v = this.value;
+        if (v == null) {
+            synchronized (this) {
+                v = this.value;
+                if (v == null) {
+                    v = Objects.requireNonNull(this.s.get());
+                    this.value = v;
+                    this.s = null;
+                }
+            }
+        }
+        return v;
+
+    }
+
+    /**
+     * Evaluate and get the left value.
+     *
+     * @return the left value.
+     *
+     * @throws IllegalStateException
+     *             if the value is a right.
+     */
+    public Left getLeft() {
+
+        return get().getLeft();
+
+    }
+
+    /**
+     * Evaluate and get the right value.
+     *
+     * @return the right value.
+     *
+     * @throws IllegalStateException
+     *             if the value is a left.
+     */
+    public Right getRight() {
+
+        return get().getRight();
+
+    }
+
+    /**
+     * Determine whether the value has been computed. Does not evaluate.
+     *
+     * @return true if evaluated.
+     */
+    public boolean isEvaluated() {
+
+        return this.value != null;
+
+    }
+
+    /**
+     * Evaluate and determine the variant.
+     *
+     * @return true if the value is a left.
+     */
+    public boolean isLeft() {
+
+        return get().isLeft();
+
+    }
+
+    /**
+     * Evaluate and iterate over the left value, as {@link Either#iterator()}.
+     *
+     * @return an iterator over the left value.
+     */
+    @Override
+    public Iterator<Left> iterator() {
+
+        return get().iterator();
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#map(Function)}.
+     *
+     * @param f
+     *            function applied to the left value when evaluated.
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return unevaluated instance.
+     */
+    public <R> LazyEither<R, Right> map(final Function<? super Left, R> f) {
+
+        Objects.requireNonNull(f);
+        return new LazyEither<>(() -> get().map(f));
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#mapRight(Function)}.
+     *
+     * @param f
+     *            function applied to the right value when evaluated.
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return unevaluated instance.
+     */
+    public <R> LazyEither<Left, R> mapRight(final Function<? super Right, R> f) {
+
+        Objects.requireNonNull(f);
+        return new LazyEither<>(() -> get().mapRight(f));
+
+    }
+
+    /**
+     * Evaluate and map to a primitive left value, as
+     * {@link Either#mapToDouble(ToDoubleFunction)}. There is no lazy primitive
+     * either, so this evaluates.
+     *
+     * @param f
+     *            function applied to a left value.
+     *
+     * @return the mapped instance.
+     */
+    public DoubleEither<Right> mapToDouble(
+            final ToDoubleFunction<? super Left> f) {
+
+        return get().mapToDouble(f);
+
+    }
+
+    /**
+     * Evaluate and map to a primitive left value, as
+     * {@link Either#mapToInt(ToIntFunction)}. There is no lazy primitive
+     * either, so this evaluates.
+     *
+     * @param f
+     *            function applied to a left value.
+     *
+     * @return the mapped instance.
+     */
+    public IntEither<Right> mapToInt(final ToIntFunction<? super Left> f) {
+
+        return get().mapToInt(f);
+
+    }
+
+    /**
+     * Evaluate and map to a primitive left value, as
+     * {@link Either#mapToLong(ToLongFunction)}. There is no lazy primitive
+     * either, so this evaluates.
+     *
+     * @param f
+     *            function applied to a left value.
+     *
+     * @return the mapped instance.
+     */
+    public LongEither<Right> mapToLong(final ToLongFunction<? super Left> f) {
+
+        return get().mapToLong(f);
+
+    }
+
+    /**
+     * Evaluate and convert to an {@link Optional}.
+     *
+     * @return the left value if present, otherwise empty.
+     */
+    public Optional<Left> maybe() {
+
+        return get().maybe();
+
+    }
+
+    /**
+     * Evaluate and get the left value or an alternative.
+     *
+     * @param other
+     *            value returned if a right.
+     *
+     * @return the left value or the alternative.
+     */
+    public Left orElse(final Left other) {
+
+        return get().orElse(other);
+
+    }
+
+    /**
+     * Evaluate and get the left value or a supplied alternative.
+     *
+     * @param other
+     *            supplier invoked if a right.
+     *
+     * @return the left value or the supplied alternative.
+     */
+    public Left orElseGet(final Supplier<? extends Left> other) {
+
+        return get().orElseGet(other);
+
+    }
+
+    /**
+     * Evaluate and get the left value or null.
+     *
+     * @return the left value, or null if a right.
+     */
+    public Left orElseNull() {
+
+        return get().orElseNull();
+
+    }
+
+    /**
+     * Evaluate and get the left value or throw, as
+     * {@link Either#orElseThrow(Supplier)}.
+     *
+     * @param genx
+     *            supplier of the exception thrown if a right.
+     *
+     * @param <X>
+     *            type of exception thrown if a right.
+     *
+     * @return the left value.
+     *
+     * @throws X
+     *             if the value is a right.
+     */
+    public <X extends Throwable> Left orElseThrow(final Supplier<X> genx)
+            throws X {
+
+        return get().orElseThrow(genx);
+
+    }
+
+    /**
+     * Evaluate and convert to a stream.
+     *
+     * @return stream of the left value, or empty.
+     */
+    public Stream<Left> stream() {
+
+        return get().stream();
+
+    }
+
+    /**
+     * Lazy counterpart of {@link Either#swap()}.
+     *
+     * @return unevaluated instance.
+     */
+    public LazyEither<Right, Left> swap() {
+
+        return new LazyEither<>(() -> get().swap());
+
+    }
+
+    @Override
+    public String toString() {
+
+        final Either<Left, Right> v = this.value;
+        return v == null ? "lazy(?)" : "lazy(" + v + ")";
+
+    }
+
+}
@@ -0,0 +1,296 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Filter in front of an {@link Either}-producing function that remembers
+ * arguments which produced rights and answers them again with a canned
+ * right, without invoking the function. Memory is fixed: arguments are kept
+ * in a counting Bloom filter sized from the expected number of failing
+ * arguments and the tolerated false-positive rate.
+ * </p>
+ *
+ * <p>
+ * A false positive means an argument that never failed gets the canned
+ * right. The filter decays to bound this: once per period every counter is
+ * halved, so a recorded argument is forgotten after a period. Filtered calls
+ * do not reach the function and are not recorded again, so an argument that
+ * keeps failing is re-probed once it decays and then filtered again: it
+ * reaches the function about once per period instead of on every call.
+ * {@link #forget(Object)} removes an argument known to have recovered.
+ * </p>
+ *
+ * <p>
+ * Counters are 4 bits, sixteen to an atomic long, and are updated with
+ * compare-and-set. Decay is done by the first caller after each period;
+ * there is no background thread.
+ * </p>
+ *
+ * @param <T>
+ *            argument type.
+ *
+ * @param <L>
+ *            left type.
+ *
+ * @param <R>
+ *            right type.
+ */
+public final class NegativeFilter<T, L, R> implements Function<T, Either<L, R>> {
+
+    private static final long ODD_NIBBLE_BITS = 0x7777777777777777L;
+
+    /**
+     * Create a filter around a function.
+     *
+     * @param f
+     *            function to filter.
+     *
+     * @param expected
+     *            number of distinct failing arguments to size for.
+     *
+     * @param fpp
+     *            tolerated false-positive rate at that many arguments.
+     *
+     * @param decay
+     *            period after which counters are halved.
+     *
+     * @param canned
+     *            right value returned for filtered arguments.
+     *
+     * @param <T>
+     *            argument type.
+     *
+     * @param <L>
+     *            left type.
+     *
+     * @param <R>
+     *            right type.
+     *
+     * @return the filtering function.
+     *
+     * @throws IllegalArgumentException
+     *             if the expected count is not positive, the rate is not in
+     *             (0, 1), or the period is not positive.
+     */
+    public static <T, L, R> NegativeFilter<T, L, R> of(
+            final Function<? super T, ? extends Either<L, R>> f,
+            final int expected, final double fpp, final Duration decay,
+            final R canned) {
+
+        if (expected < 1) {
+            throw new IllegalArgumentException("expected must be positive");
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp not in (0, 1)");
+        }
+        if (decay.isNegative() || decay.isZero()) {
+            throw new IllegalArgumentException("decay must be positive");
+        }
+        final double ln2 = Math.log(2);
+        final long bits = (long) Math.ceil(-expected * Math.log(fpp)
+                / (ln2 * ln2));
+        final int words = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(1, (bits + 15) / 16));
+        final int hashes = Math.max(1,
+                (int) Math.round((double) bits / expected * ln2));
+        return new NegativeFilter<>(Objects.requireNonNull(f), words, hashes,
+                decay.toNanos(), Objects.requireNonNull(canned));
+
+    }
+
+    private static long mix(final long x) {
+
+        long h = x;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+
+    }
+
+    private final Either<?, R> canned;
+
+    private final AtomicLongArray counters;
+
+    private final long decay;
+
+    private final Function<? super T, ? extends Either<L, R>> f;
+
+    private final LongAdder filtered = new LongAdder();
+
+    private final int hashes;
+
+    private final AtomicLong nextDecay;
+
+    private final LongAdder recorded = new LongAdder();
+
+    private final long slots;
+
+    private NegativeFilter(final Function<? super T, ? extends Either<L, R>> f,
+            final int words, final int hashes, final long decay,
+            final R canned) {
+        this.f = f;
+        this.counters = new AtomicLongArray(words);
+        this.slots = 16L * words;
+        this.hashes = hashes;
+        this.decay = decay;
+        this.nextDecay = new AtomicLong(System.nanoTime() + decay);
+        this.canned = Either.right(canned);
+    }
+
+    /**
+     * Apply the function unless the argument is remembered as failing.
+     *
+     * @param t
+     *            argument.
+     *
+     * @return the canned right if filtered, otherwise the function's result.
+     */
+    @Override
+    public Either<L, R> apply(final T t) {
+
+        maybeDecay();
+        final long h = mix(Objects.hashCode(t));
+        if (contains(h)) {
+            this.filtered.increment();
+            return Either.recast(this.canned);
+        }
+        final Either<L, R> rval = this.f.apply(t);
+        if (!rval.isLeft()) {
+            this.recorded.increment();
+            for (int i = 0; i < this.hashes; i++) {
+                update(slot(h, i), 1);
+            }
+        }
+        return rval;
+
+    }
+
+    /**
+     * Remove one recorded failure of an argument, so that it reaches the
+     * function again. Only forget arguments that were recorded; forgetting
+     * others can make the filter forget unrelated arguments.
+     *
+     * @param t
+     *            argument.
+     */
+    public void forget(final T t) {
+
+        final long h = mix(Objects.hashCode(t));
+        if (contains(h)) {
+            for (int i = 0; i < this.hashes; i++) {
+                update(slot(h, i), -1);
+            }
+        }
+
+    }
+
+    /**
+     * Get the number of calls answered with the canned right.
+     *
+     * @return filtered count.
+     */
+    public long getFiltered() {
+
+        return this.filtered.sum();
+
+    }
+
+    /**
+     * Get the number of rights recorded into the filter.
+     *
+     * @return recorded count.
+     */
+    public long getRecorded() {
+
+        return this.recorded.sum();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "negativeFilter(slots=" + this.slots + ", hashes="
+                + this.hashes + ", filtered=" + getFiltered() + ", recorded="
+                + getRecorded() + ")";
+
+    }
+
+    private boolean contains(final long h) {
+
+        for (int i = 0; i < this.hashes; i++) {
+            final long s = slot(h, i);
+            final long w = this.counters.get((int) (s >>> 4));
+            if (((w >>> ((s & 15) << 2)) & 15L) == 0) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    private void maybeDecay() {
+
+        final long due = this.nextDecay.get();
+        final long now = System.nanoTime();
+        if (now - due < 0 || !this.nextDecay.compareAndSet(due, now + this.decay)) {
+            return;
+        }
+        for (int i = 0; i < this.counters.length(); i++) {
+            long w;
+            do {
+                w = this.counters.get(i);
+            } while (w != 0
+                    && !this.counters.compareAndSet(i, w, (w >>> 1)
+                            & ODD_NIBBLE_BITS));
+        }
+
+    }
+
+    /*
+     * double hashing over the two halves of the mixed hash.
+     */
+    private long slot(final long h, final int i) {
+
+        final long g = (h >>> 32) + i * (h & 0xffffffffL | 1L);
+        return (g & Long.MAX_VALUE) % this.slots;
+
+    }
+
+    private void update(final long s, final int delta) {
+
+        final int i = (int) (s >>> 4);
+        final int shift = (int) (s & 15) << 2;
+        long w;
+        long c;
+        do {
+            w = this.counters.get(i);
+            c = (w >>> shift) & 15L;
+            if (c == 15 && delta > 0 || c == 0 && delta < 0) {
+                return;
+            }
+        } while (!this.counters.compareAndSet(i, w, w + ((long) delta << shift)));
+
+    }
+
+}
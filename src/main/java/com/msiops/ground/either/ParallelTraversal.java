@@ -0,0 +1,153 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Fork-join implementation of
+ * {@link Either#traverseParallel(Object[], Function, ForkJoinPool)}.
+ * </p>
+ *
+ * <p>
+ * Each leaf task writes its results straight into one shared, presized slot
+ * array, so no merge step follows the traversal. The lowest index at which a
+ * failure (a right, or a throw from the mapping function) has been seen is
+ * kept in a shared counter. Tasks stop as soon as they reach an index at or
+ * beyond it, which cancels all outstanding work that can no longer affect the
+ * result. Work below the index continues, so the reported failure is always
+ * the one a sequential traversal would have reported.
+ * </p>
+ */
+final class ParallelTraversal<T, LL, RR> {
+
+    /**
+     * Leaves are sized so that each worker gets several of them, which lets
+     * work stealing even out uneven per-element costs.
+     */
+    private static final int LEAVES_PER_WORKER = 8;
+
+    private final T[] ts;
+
+    private final Function<? super T, Either<LL, RR>> f;
+
+    /**
+     * Left values, or at failing indices the right or the thrown exception.
+     */
+    private final Object[] slots;
+
+    private final AtomicInteger failAt;
+
+    private final int threshold;
+
+    ParallelTraversal(final T[] ts,
+            final Function<? super T, Either<LL, RR>> f, final int parallelism) {
+
+        this.ts = ts;
+        this.f = f;
+        this.slots = new Object[ts.length];
+        this.failAt = new AtomicInteger(ts.length);
+        this.threshold = Math.max(1, ts.length
+                / (parallelism * LEAVES_PER_WORKER));
+
+    }
+
+    @SuppressWarnings("unchecked")
+    Either<List<LL>, RR> invoke(final ForkJoinPool pool) {
+
+        pool.invoke(new Segment(0, this.ts.length));
+
+        final int k = this.failAt.get();
+        if (k == this.ts.length) {
+            return Either.left((List<LL>) Arrays.asList(this.slots));
+        }
+        final Object failure = this.slots[k];
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return (Either<List<LL>, RR>) failure;
+
+    }
+
+    private void fail(final int i, final Object failure) {
+
+        this.slots[i] = failure;
+        int current = this.failAt.get();
+        while (i < current && !this.failAt.compareAndSet(current, i)) {
+            current = this.failAt.get();
+        }
+
+    }
+
+    private void leaf(final int lo, final int hi) {
+
+        for (int i = lo; i < hi && i < this.failAt.get(); i++) {
+            final Either<LL, RR> e;
+            try {
+                e = this.f.apply(this.ts[i]);
+            } catch (final RuntimeException | Error x) {
+                fail(i, x);
+                return;
+            }
+            if (e.isLeft()) {
+                this.slots[i] = e.getLeft();
+            } else {
+                fail(i, e);
+                return;
+            }
+        }
+
+    }
+
+    private final class Segment extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+
+        private final int hi;
+
+        private Segment(final int lo, final int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (this.lo >= ParallelTraversal.this.failAt.get()) {
+                return;
+            }
+            if (this.hi - this.lo <= ParallelTraversal.this.threshold) {
+                leaf(this.lo, this.hi);
+            } else {
+                final int mid = (this.lo + this.hi) >>> 1;
+                invokeAll(new Segment(this.lo, mid), new Segment(mid, this.hi));
+            }
+
+        }
+
+    }
+
+}
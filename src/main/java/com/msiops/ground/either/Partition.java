@@ -0,0 +1,97 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * <p>
+ * The two sides of a collection of {@link Either} instances, as produced by
+ * {@link Either#partitioning(Collector, Collector)}. A partition is an
+ * immutable value object.
+ * </p>
+ *
+ * @param <Lefts>
+ *            type of the collected left values.
+ *
+ * @param <Rights>
+ *            type of the collected right values.
+ */
+public final class Partition<Lefts, Rights> {
+
+    private final Lefts lefts;
+
+    private final Rights rights;
+
+    Partition(final Lefts lefts, final Rights rights) {
+        this.lefts = lefts;
+        this.rights = rights;
+    }
+
+    /**
+     * Two instances are equal if and only if both their collected lefts and
+     * collected rights are equal.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+
+        final boolean rval;
+        if (this == obj) {
+            rval = true;
+        } else if (obj instanceof Partition) {
+            final Partition<?, ?> other = (Partition<?, ?>) obj;
+            rval = Objects.equals(this.lefts, other.lefts)
+                    && Objects.equals(this.rights, other.rights);
+        } else {
+            rval = false;
+        }
+        return rval;
+
+    }
+
+    /**
+     * Retrieve the collected left values.
+     *
+     * @return the result of the left downstream collector.
+     */
+    public Lefts getLefts() {
+        return this.lefts;
+    }
+
+    /**
+     * Retrieve the collected right values.
+     *
+     * @return the result of the right downstream collector.
+     */
+    public Rights getRights() {
+        return this.rights;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.lefts, this.rights);
+    }
+
+    @Override
+    public String toString() {
+        return "lefts={" + String.valueOf(this.lefts) + "}, rights={"
+                + String.valueOf(this.rights) + "}";
+    }
+
+}
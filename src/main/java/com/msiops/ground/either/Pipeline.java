@@ -0,0 +1,222 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A chain of map and flat map stages composed once and applied many times.
+ * Chaining {@link Either#map(Function)} creates an {@link Either} at every
+ * stage; a pipeline passes plain values between stages and creates at most
+ * one, for the result. If the last stage is a flat map its result is
+ * returned as is, and a right from any flat map stage is returned at once
+ * without running later stages.
+ * </p>
+ *
+ * <pre>
+ * static final Pipeline&lt;String, Integer, RuntimeException&gt; PARSE = Pipeline
+ *         .&lt;String, RuntimeException&gt; identity().map(String::trim)
+ *         .flatMap(Either.lift(Integer::valueOf)).map(Math::abs);
+ *
+ * PARSE.apply(" -12 "); // left 12
+ * </pre>
+ *
+ * <p>
+ * Pipelines are immutable and thread safe. Adding a stage returns a new
+ * pipeline, so a common prefix can be shared.
+ * </p>
+ *
+ * @param <T>
+ *            input type.
+ *
+ * @param <L>
+ *            left type of the result.
+ *
+ * @param <R>
+ *            right type of the result.
+ */
+public final class Pipeline<T, L, R> implements Function<T, Either<L, R>> {
+
+    private static final Pipeline<?, ?, ?> IDENTITY = new Pipeline<>(
+            new Function<?, ?>[0], new boolean[0]);
+
+    /**
+     * Start a pipeline with no stages. Applied as is, it wraps the input in a
+     * left.
+     *
+     * @param <T>
+     *            input type.
+     *
+     * @param <R>
+     *            right type.
+     *
+     * @return the empty pipeline.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> Pipeline<T, T, R> identity() {
+
+        return (Pipeline<T, T, R>) IDENTITY;
+
+    }
+
+    /*
+     * flat[i] tells whether stage i returns an Either. Parallel arrays keep
+     * the loop free of per-stage wrapper objects.
+     */
+    private final boolean[] flat;
+
+    private final Function<?, ?>[] stages;
+
+    private Pipeline(final Function<?, ?>[] stages, final boolean[] flat) {
+        this.stages = stages;
+        this.flat = flat;
+    }
+
+    /**
+     * Append another pipeline's stages.
+     *
+     * @param next
+     *            stages to run after these.
+     *
+     * @param <M>
+     *            left type of the combined result.
+     *
+     * @return combined pipeline.
+     */
+    public <M> Pipeline<T, M, R> andThen(final Pipeline<? super L, M, R> next) {
+
+        final int n = this.stages.length;
+        final Function<?, ?>[] ss = Arrays.copyOf(this.stages, n
+                + next.stages.length);
+        System.arraycopy(next.stages, 0, ss, n, next.stages.length);
+        final boolean[] fs = Arrays.copyOf(this.flat, n + next.flat.length);
+        System.arraycopy(next.flat, 0, fs, n, next.flat.length);
+        return new Pipeline<>(ss, fs);
+
+    }
+
+    /**
+     * Run the pipeline.
+     *
+     * @param t
+     *            input.
+     *
+     * @return the result of the last stage as a left, the result of a final
+     *         flat map stage, or the first right produced.
+     */
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public Either<L, R> apply(final T t) {
+
+        Object v = t;
+        final int last = this.stages.length - 1;
+        for (int i = 0; i <= last; i++) {
+            final Function f = this.stages[i];
+            if (this.flat[i]) {
+                final Either e = (Either) f.apply(v);
+                if (i == last || !e.isLeft()) {
+                    return e;
+                }
+                v = e.getLeft();
+            } else {
+                v = f.apply(v);
+            }
+        }
+        return Either.left((L) v);
+
+    }
+
+    /**
+     * Run the pipeline on the left value of an {@link Either}. A right is
+     * returned without running any stage.
+     *
+     * @param e
+     *            input.
+     *
+     * @return as {@link #apply(Object)} for a left input, otherwise the input
+     *         right.
+     */
+    @SuppressWarnings("unchecked")
+    public Either<L, R> applyTo(final Either<? extends T, R> e) {
+
+        if (!e.isLeft()) {
+            return Either.recast(e);
+        }
+        if (this.stages.length == 0) {
+            return (Either<L, R>) e;
+        }
+        return apply(e.getLeft());
+
+    }
+
+    /**
+     * Append a flat map stage.
+     *
+     * @param f
+     *            stage function. A right result ends the run.
+     *
+     * @param <M>
+     *            left type of the stage result.
+     *
+     * @return extended pipeline.
+     */
+    public <M> Pipeline<T, M, R> flatMap(
+            final Function<? super L, ? extends Either<M, R>> f) {
+
+        return append(Objects.requireNonNull(f), true);
+
+    }
+
+    /**
+     * Append a map stage.
+     *
+     * @param f
+     *            stage function.
+     *
+     * @param <M>
+     *            stage result type.
+     *
+     * @return extended pipeline.
+     */
+    public <M> Pipeline<T, M, R> map(final Function<? super L, ? extends M> f) {
+
+        return append(Objects.requireNonNull(f), false);
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "pipeline(" + this.stages.length + " stages)";
+
+    }
+
+    private <M> Pipeline<T, M, R> append(final Function<?, ?> f,
+            final boolean isFlat) {
+
+        final int n = this.stages.length;
+        final Function<?, ?>[] ss = Arrays.copyOf(this.stages, n + 1);
+        ss[n] = f;
+        final boolean[] fs = Arrays.copyOf(this.flat, n + 1);
+        fs[n] = isFlat;
+        return new Pipeline<>(ss, fs);
+
+    }
+
+}
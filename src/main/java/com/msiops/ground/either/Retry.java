@@ -0,0 +1,368 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Retry policy for {@link Either}-producing calls. A call is repeated while
+ * it produces a right that the policy's predicate deems retryable, up to an
+ * attempt limit and an optional total time budget. Lefts and other rights
+ * are returned at once.
+ * </p>
+ *
+ * <p>
+ * The wait before retry <em>n</em> is drawn uniformly from zero up to
+ * <code>min(max, base * 2<sup>n-1</sup>)</code>, so concurrent callers that
+ * fail together spread out instead of retrying in lockstep. A retry whose
+ * wait would end past the budget is not attempted.
+ * </p>
+ *
+ * <p>
+ * Policies are immutable and thread safe; the <code>with</code> methods
+ * return new policies. Each policy keeps its own counters, so share one
+ * policy per dependency to see how it behaves under load.
+ * </p>
+ *
+ * @param <R>
+ *            right type of the calls.
+ */
+public final class Retry<R> {
+
+    /**
+     * Create a policy of three attempts with waits based at 100ms and capped
+     * at 10s, and no time budget.
+     *
+     * @param retryable
+     *            whether a right is worth another attempt.
+     *
+     * @param <R>
+     *            right type of the calls.
+     *
+     * @return the policy.
+     */
+    public static <R> Retry<R> of(final Predicate<? super R> retryable) {
+
+        return new Retry<>(Objects.requireNonNull(retryable), 3,
+                TimeUnit.MILLISECONDS.toNanos(100),
+                TimeUnit.SECONDS.toNanos(10), Long.MAX_VALUE);
+
+    }
+
+    private static long nanos(final Duration d) {
+
+        if (d.isNegative()) {
+            throw new IllegalArgumentException("negative duration");
+        }
+        try {
+            return d.toNanos();
+        } catch (final ArithmeticException ax) {
+            return Long.MAX_VALUE;
+        }
+
+    }
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final long base;
+
+    private final long budget;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder giveUps = new LongAdder();
+
+    private final int maxAttempts;
+
+    private final long maxDelay;
+
+    private final Predicate<? super R> retryable;
+
+    private Retry(final Predicate<? super R> retryable,
+            final int maxAttempts, final long base, final long maxDelay,
+            final long budget) {
+        this.retryable = retryable;
+        this.maxAttempts = maxAttempts;
+        this.base = base;
+        this.maxDelay = maxDelay;
+        this.budget = budget;
+    }
+
+    /**
+     * Run a call under this policy, waiting between attempts on the calling
+     * thread.
+     *
+     * @param s
+     *            the call.
+     *
+     * @param <L>
+     *            left type of the call.
+     *
+     * @return the first left or non-retryable right, or the last right if
+     *         the policy gives up.
+     *
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting to
+     *             retry.
+     */
+    public <L> Either<L, R> call(final Supplier<? extends Either<L, R>> s)
+            throws InterruptedException {
+
+        this.calls.increment();
+        final long start = System.nanoTime();
+        for (int n = 1;; n++) {
+            final Either<L, R> rval = attempt(s);
+            final long wait = nextWait(rval, n, start);
+            if (wait < 0) {
+                return rval;
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+
+    }
+
+    /**
+     * Run a call under this policy without blocking. Attempts run on the
+     * executor; waits are timers, so no thread sleeps between attempts.
+     * Cancelling the returned future stops further attempts.
+     *
+     * @param s
+     *            the call.
+     *
+     * @param x
+     *            runs the attempts.
+     *
+     * @param <L>
+     *            left type of the call.
+     *
+     * @return future of the first left or non-retryable right, or of the
+     *         last right if the policy gives up. If the call throws, the
+     *         future completes exceptionally.
+     */
+    public <L> CompletableFuture<Either<L, R>> callAsync(
+            final Supplier<? extends Either<L, R>> s, final Executor x) {
+
+        this.calls.increment();
+        final CompletableFuture<Either<L, R>> rval = new CompletableFuture<>();
+        new AsyncCall<>(s, x, rval, System.nanoTime()).run();
+        return rval;
+
+    }
+
+    /**
+     * Get the number of times a call was invoked, over all calls.
+     *
+     * @return attempt count.
+     */
+    public long getAttempts() {
+
+        return this.attempts.sum();
+
+    }
+
+    /**
+     * Get the number of calls run under this policy.
+     *
+     * @return call count.
+     */
+    public long getCalls() {
+
+        return this.calls.sum();
+
+    }
+
+    /**
+     * Get the number of calls that ended with a retryable right because the
+     * attempt limit or time budget ran out.
+     *
+     * @return give-up count.
+     */
+    public long getGiveUps() {
+
+        return this.giveUps.sum();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "retry(attempts=" + this.maxAttempts + ", base="
+                + Duration.ofNanos(this.base) + ", max="
+                + Duration.ofNanos(this.maxDelay) + ", calls=" + getCalls()
+                + ", tries=" + getAttempts() + ", giveUps=" + getGiveUps()
+                + ")";
+
+    }
+
+    /**
+     * Derive a policy with different waits.
+     *
+     * @param base
+     *            upper bound of the first wait.
+     *
+     * @param max
+     *            upper bound of any wait.
+     *
+     * @return new policy with fresh counters.
+     */
+    public Retry<R> withBackoff(final Duration base, final Duration max) {
+
+        return new Retry<>(this.retryable, this.maxAttempts, nanos(base),
+                nanos(max), this.budget);
+
+    }
+
+    /**
+     * Derive a policy with a total time budget per call, measured from the
+     * start of the first attempt.
+     *
+     * @param budget
+     *            time budget.
+     *
+     * @return new policy with fresh counters.
+     */
+    public Retry<R> withBudget(final Duration budget) {
+
+        return new Retry<>(this.retryable, this.maxAttempts, this.base,
+                this.maxDelay, nanos(budget));
+
+    }
+
+    /**
+     * Derive a policy with a different attempt limit.
+     *
+     * @param maxAttempts
+     *            upper bound on attempts per call, including the first.
+     *
+     * @return new policy with fresh counters.
+     */
+    public Retry<R> withMaxAttempts(final int maxAttempts) {
+
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("need at least one attempt");
+        }
+        return new Retry<>(this.retryable, maxAttempts, this.base,
+                this.maxDelay, this.budget);
+
+    }
+
+    private <L> Either<L, R> attempt(final Supplier<? extends Either<L, R>> s) {
+
+        this.attempts.increment();
+        return Objects.requireNonNull(s.get());
+
+    }
+
+    /**
+     * Decide what follows attempt <em>n</em>.
+     *
+     * @return nanoseconds to wait before the next attempt, or -1 to finish
+     *         with the outcome.
+     */
+    private long nextWait(final Either<?, R> outcome, final int n,
+            final long start) {
+
+        if (outcome.isLeft() || !this.retryable.test(outcome.getRight())) {
+            return -1;
+        }
+        final long wait = n < this.maxAttempts ? jitter(n) : -1;
+        if (wait < 0 || System.nanoTime() - start > this.budget - wait) {
+            this.giveUps.increment();
+            return -1;
+        }
+        return wait;
+
+    }
+
+    private long jitter(final int n) {
+
+        final int shift = Math.min(n - 1, 62);
+        final long cap = this.base > this.maxDelay >> shift ? this.maxDelay
+                : Math.min(this.maxDelay, this.base << shift);
+        return cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap);
+
+    }
+
+    /**
+     * One asynchronous call. Each attempt either finishes the call or arms a
+     * timer that submits the next attempt.
+     */
+    private final class AsyncCall<L> implements Runnable {
+
+        private int n;
+
+        private final CompletableFuture<Either<L, R>> result;
+
+        private final Supplier<? extends Either<L, R>> s;
+
+        private final long start;
+
+        private final Executor x;
+
+        AsyncCall(final Supplier<? extends Either<L, R>> s, final Executor x,
+                final CompletableFuture<Either<L, R>> result, final long start) {
+            this.s = s;
+            this.x = x;
+            this.result = result;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+                this.x.execute(this::attemptOnce);
+            } catch (final RuntimeException rx) {
+                this.result.completeExceptionally(rx);
+            }
+
+        }
+
+        private void attemptOnce() {
+
+            if (this.result.isDone()) {
+                return;
+            }
+            try {
+                final Either<L, R> outcome = attempt(this.s);
+                final long wait = nextWait(outcome, ++this.n, this.start);
+                if (wait < 0) {
+                    this.result.complete(outcome);
+                } else if (wait == 0) {
+                    run();
+                } else {
+                    final TimerWheel.Timeout t = TimerWheel.SHARED.schedule(
+                            System.nanoTime() + wait, this);
+                    this.result.whenComplete((v, ex) -> t.cancel());
+                }
+            } catch (final RuntimeException | Error t) {
+                this.result.completeExceptionally(t);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,210 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Single-flight coordinator for {@link Either}-producing computations.
+ * Callers that ask for the same key while a computation for it is in flight
+ * share that computation and receive the same result, rights included,
+ * instead of starting their own. Once the computation finishes, the next
+ * caller starts a fresh one; results are not cached.
+ * </p>
+ *
+ * <p>
+ * In-flight computations are kept in a {@link ConcurrentHashMap} and each
+ * is removed by its own completion with a conditional remove, so no lock
+ * spans keys. Blocking and asynchronous callers may be mixed on one
+ * coordinator.
+ * </p>
+ *
+ * @param <K>
+ *            key type.
+ *
+ * @param <L>
+ *            left type.
+ *
+ * @param <R>
+ *            right type.
+ */
+public final class SingleFlight<K, L, R> {
+
+    /**
+     * Create a coordinator.
+     *
+     * @param <K>
+     *            key type.
+     *
+     * @param <L>
+     *            left type.
+     *
+     * @param <R>
+     *            right type.
+     *
+     * @return new coordinator with nothing in flight.
+     */
+    public static <K, L, R> SingleFlight<K, L, R> create() {
+
+        return new SingleFlight<>();
+
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<Either<L, R>>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder shared = new LongAdder();
+
+    private SingleFlight() {
+    }
+
+    /**
+     * Compute on the calling thread, or wait for the computation already in
+     * flight for the key.
+     *
+     * @param key
+     *            identifies the computation, not null.
+     *
+     * @param s
+     *            the computation, invoked only if none is in flight.
+     *
+     * @return result of the computation.
+     *
+     * @throws InterruptedException
+     *             if interrupted while waiting for another caller's
+     *             computation. The computation continues for the others.
+     */
+    public Either<L, R> call(final K key,
+            final Supplier<? extends Either<L, R>> s)
+            throws InterruptedException {
+
+        final CompletableFuture<Either<L, R>> mine = new CompletableFuture<>();
+        final CompletableFuture<Either<L, R>> theirs = this.flights
+                .putIfAbsent(key, mine);
+        if (theirs != null) {
+            this.shared.increment();
+            try {
+                return theirs.get();
+            } catch (final ExecutionException ex) {
+                throw unchecked(ex.getCause());
+            }
+        }
+
+        try {
+            final Either<L, R> rval = Objects.requireNonNull(s.get());
+            mine.complete(rval);
+            return rval;
+        } catch (final RuntimeException | Error x) {
+            mine.completeExceptionally(x);
+            throw x;
+        } finally {
+            this.flights.remove(key, mine);
+        }
+
+    }
+
+    /**
+     * Start an asynchronous computation, or join the one already in flight
+     * for the key. Cancelling the returned future does not affect other
+     * callers.
+     *
+     * @param key
+     *            identifies the computation, not null.
+     *
+     * @param s
+     *            starts the computation, invoked only if none is in flight.
+     *
+     * @return future result of the computation.
+     */
+    public CompletableFuture<Either<L, R>> callAsync(final K key,
+            final Supplier<? extends CompletionStage<Either<L, R>>> s) {
+
+        final CompletableFuture<Either<L, R>> mine = new CompletableFuture<>();
+        final CompletableFuture<Either<L, R>> theirs = this.flights
+                .putIfAbsent(key, mine);
+        if (theirs != null) {
+            this.shared.increment();
+            return theirs.thenApply(Function.identity());
+        }
+
+        try {
+            s.get().whenComplete((v, x) -> {
+                if (x == null) {
+                    mine.complete(v);
+                } else {
+                    mine.completeExceptionally(x);
+                }
+                this.flights.remove(key, mine);
+            });
+        } catch (final RuntimeException | Error x) {
+            mine.completeExceptionally(x);
+            this.flights.remove(key, mine);
+        }
+        return mine.thenApply(Function.identity());
+
+    }
+
+    /**
+     * Get the number of keys with a computation in flight.
+     *
+     * @return in-flight count.
+     */
+    public int getInFlight() {
+
+        return this.flights.size();
+
+    }
+
+    /**
+     * Get the number of calls that joined another caller's computation.
+     *
+     * @return shared call count.
+     */
+    public long getShared() {
+
+        return this.shared.sum();
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "singleFlight(inFlight=" + getInFlight() + ", shared="
+                + getShared() + ")";
+
+    }
+
+    private static RuntimeException unchecked(final Throwable x) {
+
+        if (x instanceof RuntimeException) {
+            return (RuntimeException) x;
+        }
+        if (x instanceof Error) {
+            throw (Error) x;
+        }
+        return new CompletionException(x);
+
+    }
+
+}
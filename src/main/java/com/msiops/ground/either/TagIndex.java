@@ -0,0 +1,171 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.Arrays;
+
+/**
+ * Variant tags of an either collection, one bit per element with a set bit
+ * for a left. A rank index holding the number of lefts before each 64-bit
+ * word makes rank a constant time operation and select a binary search.
+ */
+final class TagIndex {
+
+    private static int select(final long word, final int r) {
+
+        long w = word;
+        for (int j = 0; j < r; j++) {
+            w &= w - 1;
+        }
+        return Long.numberOfTrailingZeros(w);
+
+    }
+
+    private final long[] bits;
+
+    /**
+     * Element {@code w} is the number of lefts in the words before word
+     * {@code w}. The last element is the total.
+     */
+    private final int[] ranks;
+
+    private final int size;
+
+    private TagIndex(final long[] bits, final int size) {
+
+        this.bits = bits;
+        this.size = size;
+        this.ranks = new int[bits.length + 1];
+        for (int w = 0; w < bits.length; w++) {
+            this.ranks[w + 1] = this.ranks[w] + Long.bitCount(bits[w]);
+        }
+
+    }
+
+    void check(final int i) {
+
+        if (i < 0 || i >= this.size) {
+            throw new IndexOutOfBoundsException("index " + i + ", size "
+                    + this.size);
+        }
+
+    }
+
+    void checkRange(final int from, final int to) {
+
+        if (from < 0 || from > to || to > this.size) {
+            throw new IndexOutOfBoundsException("range " + from + " to " + to
+                    + ", size " + this.size);
+        }
+
+    }
+
+    int countLefts() {
+        return this.ranks[this.bits.length];
+    }
+
+    /**
+     * Test a tag. The index is not checked.
+     */
+    boolean isLeft(final int i) {
+        return (this.bits[i >>> 6] & 1L << i) != 0;
+    }
+
+    /**
+     * Count the lefts before an index, which may equal the size.
+     */
+    int rank(final int i) {
+
+        final int w = i >>> 6;
+        return w == this.bits.length ? countLefts() : this.ranks[w]
+                + Long.bitCount(this.bits[w] & (1L << i) - 1);
+
+    }
+
+    int selectLeft(final int k) {
+
+        if (k < 0 || k >= countLefts()) {
+            throw new IndexOutOfBoundsException("left " + k + ", lefts "
+                    + countLefts());
+        }
+        int lo = 0;
+        int hi = this.bits.length - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi + 1) >>> 1;
+            if (this.ranks[mid] <= k) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return (lo << 6) + select(this.bits[lo], k - this.ranks[lo]);
+
+    }
+
+    int selectRight(final int k) {
+
+        if (k < 0 || k >= this.size - countLefts()) {
+            throw new IndexOutOfBoundsException("right " + k + ", rights "
+                    + (this.size - countLefts()));
+        }
+        int lo = 0;
+        int hi = this.bits.length - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi + 1) >>> 1;
+            if ((mid << 6) - this.ranks[mid] <= k) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return (lo << 6)
+                + select(~this.bits[lo], k - ((lo << 6) - this.ranks[lo]));
+
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    static final class Builder {
+
+        private long[] bits = new long[1];
+
+        private int size;
+
+        void add(final boolean left) {
+
+            final int w = this.size >>> 6;
+            if (w == this.bits.length) {
+                this.bits = Arrays.copyOf(this.bits, w * 2);
+            }
+            if (left) {
+                this.bits[w] |= 1L << this.size;
+            }
+            this.size++;
+
+        }
+
+        TagIndex build() {
+
+            return new TagIndex(Arrays.copyOf(this.bits,
+                    (this.size + 63) >>> 6), this.size);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Thread creation for {@link EitherBatch}. This is the Java 8 version: a
+ * cached pool of daemon platform threads, private to one batch. The
+ * multi-release jar replaces it on Java 21 with a virtual thread version.
+ */
+final class Threads {
+
+    static ExecutorService newThreadPerTaskExecutor() {
+
+        return Executors.newCachedThreadPool(r -> {
+            final Thread t = new Thread(r, "either-batch");
+            t.setDaemon(true);
+            return t;
+        });
+
+    }
+
+    private Threads() {
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Hashed timer wheel shared by the deadline-bounded operations. One daemon
+ * thread serves every timeout, so arming and disarming a timeout costs a
+ * queue insert and a compare-and-set no matter how many are outstanding.
+ * </p>
+ *
+ * <p>
+ * Timeouts fire up to one tick late. Actions run on the wheel thread and
+ * must be short, e.g. interrupting a thread or completing a future.
+ * Cancelled timeouts are dropped when the wheel next passes their bucket.
+ * The thread parks indefinitely while nothing is scheduled.
+ * </p>
+ */
+final class TimerWheel {
+
+    static final TimerWheel SHARED = new TimerWheel(
+            TimeUnit.MILLISECONDS.toNanos(1), 512);
+
+    static final class Timeout {
+
+        private static final int CANCELLED = 1;
+
+        private static final int FIRED = 3;
+
+        private static final int FIRING = 2;
+
+        private static final int PENDING = 0;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater
+                .newUpdater(Timeout.class, "state");
+
+        private Runnable action;
+
+        private final long deadline;
+
+        private Timeout next;
+
+        private long rounds;
+
+        private volatile int state;
+
+        private Timeout(final long deadline, final Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * Wait for the action of a timeout that could not be cancelled to
+         * finish running.
+         */
+        void awaitFired() {
+            while (this.state != FIRED) {
+                Thread.yield();
+            }
+        }
+
+        /**
+         * Cancel the timeout if its action has not started.
+         *
+         * @return true if cancelled, false if the action has started or
+         *         finished.
+         */
+        boolean cancel() {
+            if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                this.action = null;
+                return true;
+            }
+            return this.state == CANCELLED;
+        }
+
+        private void fire() {
+            if (STATE.compareAndSet(this, PENDING, FIRING)) {
+                try {
+                    this.action.run();
+                } finally {
+                    this.state = FIRED;
+                }
+            }
+        }
+
+        private boolean isCancelled() {
+            return this.state == CANCELLED;
+        }
+
+    }
+
+    private final ConcurrentLinkedQueue<Timeout> arrivals = new ConcurrentLinkedQueue<>();
+
+    private final Timeout[] buckets;
+
+    private volatile boolean idle;
+
+    private int live;
+
+    private final int mask;
+
+    private final long origin = System.nanoTime();
+
+    private final long tick;
+
+    private final Thread worker;
+
+    TimerWheel(final long tickNanos, final int size) {
+
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("size must be a power of two");
+        }
+        this.tick = tickNanos;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, "either-timer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+
+    }
+
+    /**
+     * Schedule an action.
+     *
+     * @param deadline
+     *            when to run the action, in {@link System#nanoTime()} terms.
+     *
+     * @param action
+     *            short action to run on the wheel thread.
+     *
+     * @return handle used to cancel the action.
+     */
+    Timeout schedule(final long deadline, final Runnable action) {
+
+        final Timeout t = new Timeout(deadline, action);
+        this.arrivals.add(t);
+        if (this.idle) {
+            LockSupport.unpark(this.worker);
+        }
+        return t;
+
+    }
+
+    private void admit(final long current) {
+
+        Timeout t;
+        while ((t = this.arrivals.poll()) != null) {
+            if (t.isCancelled()) {
+                continue;
+            }
+            final long target = Math.max(current, ticks(t.deadline));
+            t.rounds = (target - current) / this.buckets.length;
+            final int b = (int) (target & this.mask);
+            t.next = this.buckets[b];
+            this.buckets[b] = t;
+            this.live++;
+        }
+
+    }
+
+    private void expire(final int b) {
+
+        Timeout keep = null;
+        Timeout t = this.buckets[b];
+        while (t != null) {
+            final Timeout n = t.next;
+            if (t.isCancelled()) {
+                this.live--;
+            } else if (t.rounds == 0) {
+                this.live--;
+                try {
+                    t.fire();
+                } catch (final RuntimeException | Error x) {
+                    /*
+                     * a failing action must not stop the wheel.
+                     */
+                }
+            } else {
+                t.rounds--;
+                t.next = keep;
+                keep = t;
+            }
+            t = n;
+        }
+        this.buckets[b] = keep;
+
+    }
+
+    private void run() {
+
+        long current = ticks(System.nanoTime());
+        for (;;) {
+            admit(current);
+            if (this.live == 0) {
+                this.idle = true;
+                if (this.arrivals.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                this.idle = false;
+                current = ticks(System.nanoTime());
+                continue;
+            }
+            final long wake = this.origin + (current + 1) * this.tick;
+            long wait;
+            while ((wait = wake - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            expire((int) (current & this.mask));
+            current++;
+        }
+
+    }
+
+    private long ticks(final long nanoTime) {
+
+        return Math.max(0L, nanoTime - this.origin) / this.tick;
+
+    }
+
+}
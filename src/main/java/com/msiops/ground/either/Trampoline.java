@@ -0,0 +1,266 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A description of an {@link Either} computation that is evaluated in
+ * constant stack space. {@link Either#flatMap(Function)} applies its
+ * function at once, so a recursive chain of flat maps grows the stack with
+ * every level. Here, {@link #flatMap(Function)} and {@link #suspend(Supplier)}
+ * only record steps; {@link #run()} then evaluates them in a loop, keeping
+ * pending continuations on the heap.
+ * </p>
+ *
+ * <p>
+ * Recursive definitions must suspend the recursive call so that building
+ * the description does not itself recurse:
+ * </p>
+ *
+ * <pre>
+ * Trampoline&lt;Long, String&gt; sum(final long n, final long acc) {
+ *     return n == 0 ? Trampoline.left(acc) : Trampoline.suspend(() -&gt; sum(
+ *             n - 1, acc + n));
+ * }
+ * </pre>
+ *
+ * <p>
+ * A right short-circuits evaluation: the remaining continuations are
+ * discarded unapplied. Descriptions are immutable and may be run more than
+ * once; each run re-evaluates them.
+ * </p>
+ *
+ * @param <Left>
+ *            left type.
+ *
+ * @param <Right>
+ *            right type.
+ */
+public abstract class Trampoline<Left, Right> {
+
+    /**
+     * Create a finished step from an {@link Either}.
+     *
+     * @param e
+     *            the value.
+     *
+     * @param <LL>
+     *            left type.
+     *
+     * @param <RR>
+     *            right type.
+     *
+     * @return finished step.
+     */
+    public static <LL, RR> Trampoline<LL, RR> done(final Either<LL, RR> e) {
+
+        return new Done<>(Objects.requireNonNull(e));
+
+    }
+
+    /**
+     * Create a finished left step.
+     *
+     * @param v
+     *            left value.
+     *
+     * @param <LL>
+     *            left type.
+     *
+     * @param <RR>
+     *            right type.
+     *
+     * @return finished step.
+     */
+    public static <LL, RR> Trampoline<LL, RR> left(final LL v) {
+
+        return new Done<>(Either.left(v));
+
+    }
+
+    /**
+     * Create a finished right step.
+     *
+     * @param v
+     *            right value.
+     *
+     * @param <LL>
+     *            left type.
+     *
+     * @param <RR>
+     *            right type.
+     *
+     * @return finished step.
+     */
+    public static <LL, RR> Trampoline<LL, RR> right(final RR v) {
+
+        return new Done<>(Either.right(v));
+
+    }
+
+    /**
+     * Create a step whose description is produced when it is evaluated.
+     *
+     * @param s
+     *            produces the step.
+     *
+     * @param <LL>
+     *            left type.
+     *
+     * @param <RR>
+     *            right type.
+     *
+     * @return suspended step.
+     */
+    public static <LL, RR> Trampoline<LL, RR> suspend(
+            final Supplier<Trampoline<LL, RR>> s) {
+
+        return new Suspend<>(Objects.requireNonNull(s));
+
+    }
+
+    private Trampoline() {
+    }
+
+    /**
+     * Record a step that continues from the left value.
+     *
+     * @param f
+     *            continuation, applied during {@link #run()} if this
+     *            produces a left.
+     *
+     * @param <R>
+     *            left type of the continuation.
+     *
+     * @return combined step.
+     */
+    public final <R> Trampoline<R, Right> flatMap(
+            final Function<? super Left, Trampoline<R, Right>> f) {
+
+        return new Bind<>(this, Objects.requireNonNull(f));
+
+    }
+
+    /**
+     * Record a step that maps the left value.
+     *
+     * @param f
+     *            mapping, applied during {@link #run()} if this produces a
+     *            left.
+     *
+     * @param <R>
+     *            the function return type.
+     *
+     * @return combined step.
+     */
+    public final <R> Trampoline<R, Right> map(final Function<? super Left, R> f) {
+
+        Objects.requireNonNull(f);
+        return new Bind<>(this, v -> new Done<>(Either.left(f.apply(v))));
+
+    }
+
+    /**
+     * Evaluate the description.
+     *
+     * @return the result.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public final Either<Left, Right> run() {
+
+        ArrayDeque<Function> ks = null;
+        Trampoline cur = this;
+        for (;;) {
+            if (cur instanceof Done) {
+                final Either e = ((Done) cur).value;
+                if (!e.isLeft() || ks == null || ks.isEmpty()) {
+                    return e;
+                }
+                cur = (Trampoline) ks.pop().apply(e.getLeft());
+            } else if (cur instanceof Suspend) {
+                cur = (Trampoline) ((Suspend) cur).s.get();
+            } else {
+                final Bind b = (Bind) cur;
+                if (b.source instanceof Done) {
+                    // skip the stack for the common shallow case
+                    final Either e = ((Done) b.source).value;
+                    cur = e.isLeft() ? (Trampoline) b.f.apply(e.getLeft())
+                            : b.source;
+                } else {
+                    if (ks == null) {
+                        ks = new ArrayDeque<>();
+                    }
+                    ks.push(b.f);
+                    cur = b.source;
+                }
+            }
+            Objects.requireNonNull(cur, "step produced null");
+        }
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "trampoline";
+
+    }
+
+    private static final class Bind<L, R, T> extends Trampoline<R, T> {
+
+        private final Function<? super L, Trampoline<R, T>> f;
+
+        private final Trampoline<L, T> source;
+
+        Bind(final Trampoline<L, T> source,
+                final Function<? super L, Trampoline<R, T>> f) {
+            this.source = source;
+            this.f = f;
+        }
+
+    }
+
+    private static final class Done<L, R> extends Trampoline<L, R> {
+
+        private final Either<L, R> value;
+
+        Done(final Either<L, R> value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "trampoline(" + this.value + ")";
+        }
+
+    }
+
+    private static final class Suspend<L, R> extends Trampoline<L, R> {
+
+        private final Supplier<Trampoline<L, R>> s;
+
+        Suspend(final Supplier<Trampoline<L, R>> s) {
+            this.s = s;
+        }
+
+    }
+
+}
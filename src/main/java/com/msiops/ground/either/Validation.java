@@ -0,0 +1,864 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.msiops.ground.either;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Combinators that collect every right instead of stopping at the first.
+ * {@link Either#flatMap(Function)} and
+ * {@link Either#traverse(Iterable, Function)} short-circuit, which suits
+ * dependent steps; independent checks, such as the fields of a form, should
+ * all be reported. Here the inputs are checked independently and, if any is
+ * a right, the result is a right holding a {@link Chain} of all their right
+ * values in input order.
+ * </p>
+ *
+ * <p>
+ * When every input is a left, the only allocation is the resulting left.
+ * </p>
+ */
+public final class Validation {
+
+    /**
+     * Combine 2 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, R, E> Either<R, Chain<E>> map2(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final BiFunction<? super T1, ? super T2, ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft()));
+        }
+        return Either.right(rights(v1, v2));
+
+    }
+
+    /**
+     * Combine 3 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param v3
+     *            input 3.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <T3>
+     *            left type of input 3.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, T3, R, E> Either<R, Chain<E>> map3(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final Either<T3, E> v3,
+            final Function3<? super T1, ? super T2, ? super T3,
+                    ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft() && v3.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft(),
+                    v3.getLeft()));
+        }
+        return Either.right(rights(v1, v2, v3));
+
+    }
+
+    /**
+     * Combine 4 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param v3
+     *            input 3.
+     *
+     * @param v4
+     *            input 4.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <T3>
+     *            left type of input 3.
+     *
+     * @param <T4>
+     *            left type of input 4.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, T3, T4, R, E> Either<R, Chain<E>> map4(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final Either<T3, E> v3,
+            final Either<T4, E> v4,
+            final Function4<? super T1, ? super T2, ? super T3, ? super T4,
+                    ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft() && v3.isLeft() && v4.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft(), v3.getLeft(),
+                    v4.getLeft()));
+        }
+        return Either.right(rights(v1, v2, v3, v4));
+
+    }
+
+    /**
+     * Combine 5 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param v3
+     *            input 3.
+     *
+     * @param v4
+     *            input 4.
+     *
+     * @param v5
+     *            input 5.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <T3>
+     *            left type of input 3.
+     *
+     * @param <T4>
+     *            left type of input 4.
+     *
+     * @param <T5>
+     *            left type of input 5.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, T3, T4, T5, R, E> Either<R, Chain<E>> map5(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final Either<T3, E> v3,
+            final Either<T4, E> v4,
+            final Either<T5, E> v5,
+            final Function5<? super T1, ? super T2, ? super T3, ? super T4,
+                    ? super T5, ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft() && v3.isLeft() && v4.isLeft()
+                && v5.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft(), v3.getLeft(),
+                    v4.getLeft(), v5.getLeft()));
+        }
+        return Either.right(rights(v1, v2, v3, v4, v5));
+
+    }
+
+    /**
+     * Combine 6 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param v3
+     *            input 3.
+     *
+     * @param v4
+     *            input 4.
+     *
+     * @param v5
+     *            input 5.
+     *
+     * @param v6
+     *            input 6.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <T3>
+     *            left type of input 3.
+     *
+     * @param <T4>
+     *            left type of input 4.
+     *
+     * @param <T5>
+     *            left type of input 5.
+     *
+     * @param <T6>
+     *            left type of input 6.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, T3, T4, T5, T6, R, E> Either<R, Chain<E>> map6(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final Either<T3, E> v3,
+            final Either<T4, E> v4,
+            final Either<T5, E> v5,
+            final Either<T6, E> v6,
+            final Function6<? super T1, ? super T2, ? super T3, ? super T4,
+                    ? super T5, ? super T6, ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft() && v3.isLeft() && v4.isLeft()
+                && v5.isLeft() && v6.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft(), v3.getLeft(),
+                    v4.getLeft(), v5.getLeft(), v6.getLeft()));
+        }
+        return Either.right(rights(v1, v2, v3, v4, v5, v6));
+
+    }
+
+    /**
+     * Combine 7 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param v3
+     *            input 3.
+     *
+     * @param v4
+     *            input 4.
+     *
+     * @param v5
+     *            input 5.
+     *
+     * @param v6
+     *            input 6.
+     *
+     * @param v7
+     *            input 7.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <T3>
+     *            left type of input 3.
+     *
+     * @param <T4>
+     *            left type of input 4.
+     *
+     * @param <T5>
+     *            left type of input 5.
+     *
+     * @param <T6>
+     *            left type of input 6.
+     *
+     * @param <T7>
+     *            left type of input 7.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, T3, T4, T5, T6, T7, R, E> Either<R, Chain<E>> map7(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final Either<T3, E> v3,
+            final Either<T4, E> v4,
+            final Either<T5, E> v5,
+            final Either<T6, E> v6,
+            final Either<T7, E> v7,
+            final Function7<? super T1, ? super T2, ? super T3, ? super T4,
+                    ? super T5, ? super T6, ? super T7, ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft() && v3.isLeft() && v4.isLeft()
+                && v5.isLeft() && v6.isLeft() && v7.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft(), v3.getLeft(),
+                    v4.getLeft(), v5.getLeft(), v6.getLeft(), v7.getLeft()));
+        }
+        return Either.right(rights(v1, v2, v3, v4, v5, v6, v7));
+
+    }
+
+    /**
+     * Combine 8 independent inputs. The function is invoked only if every
+     * input is a left.
+     *
+     * @param v1
+     *            input 1.
+     *
+     * @param v2
+     *            input 2.
+     *
+     * @param v3
+     *            input 3.
+     *
+     * @param v4
+     *            input 4.
+     *
+     * @param v5
+     *            input 5.
+     *
+     * @param v6
+     *            input 6.
+     *
+     * @param v7
+     *            input 7.
+     *
+     * @param v8
+     *            input 8.
+     *
+     * @param f
+     *            combines the left values.
+     *
+     * @param <T1>
+     *            left type of input 1.
+     *
+     * @param <T2>
+     *            left type of input 2.
+     *
+     * @param <T3>
+     *            left type of input 3.
+     *
+     * @param <T4>
+     *            left type of input 4.
+     *
+     * @param <T5>
+     *            left type of input 5.
+     *
+     * @param <T6>
+     *            left type of input 6.
+     *
+     * @param <T7>
+     *            left type of input 7.
+     *
+     * @param <T8>
+     *            left type of input 8.
+     *
+     * @param <R>
+     *            result type.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of the combined value, or right of every input right.
+     */
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R,
+            E> Either<R, Chain<E>> map8(
+            final Either<T1, E> v1,
+            final Either<T2, E> v2,
+            final Either<T3, E> v3,
+            final Either<T4, E> v4,
+            final Either<T5, E> v5,
+            final Either<T6, E> v6,
+            final Either<T7, E> v7,
+            final Either<T8, E> v8,
+            final Function8<? super T1, ? super T2, ? super T3, ? super T4,
+                    ? super T5, ? super T6, ? super T7, ? super T8,
+                    ? extends R> f) {
+
+        if (v1.isLeft() && v2.isLeft() && v3.isLeft() && v4.isLeft()
+                && v5.isLeft() && v6.isLeft() && v7.isLeft() && v8.isLeft()) {
+            return Either.left(f.apply(v1.getLeft(), v2.getLeft(), v3.getLeft(),
+                    v4.getLeft(), v5.getLeft(), v6.getLeft(), v7.getLeft(),
+                    v8.getLeft()));
+        }
+        return Either.right(rights(v1, v2, v3, v4, v5, v6, v7, v8));
+
+    }
+
+    /**
+     * Collect the left values of some inputs, or every right among them.
+     *
+     * @param es
+     *            inputs.
+     *
+     * @param <L>
+     *            left type of the inputs.
+     *
+     * @param <E>
+     *            right type of the inputs.
+     *
+     * @return left of all left values in order, or right of every right.
+     */
+    public static <L, E> Either<List<L>, Chain<E>> sequence(
+            final Iterable<? extends Either<L, E>> es) {
+
+        return traverse(es, Function.identity());
+
+    }
+
+    /**
+     * Apply a check to every input and collect the results. Unlike
+     * {@link Either#traverse(Iterable, Function)}, the check is applied to
+     * every input even after a right.
+     *
+     * @param ts
+     *            inputs.
+     *
+     * @param f
+     *            the check.
+     *
+     * @param <T>
+     *            input type.
+     *
+     * @param <L>
+     *            left type of the check.
+     *
+     * @param <E>
+     *            right type of the check.
+     *
+     * @return left of all left values in order, or right of every right.
+     */
+    public static <T, L, E> Either<List<L>, Chain<E>> traverse(
+            final Iterable<? extends T> ts,
+            final Function<? super T, ? extends Either<L, E>> f) {
+
+        List<L> lefts = new ArrayList<>();
+        Chain<E> rights = Chain.empty();
+        for (final T t : ts) {
+            final Either<L, E> e = Objects.requireNonNull(f.apply(t));
+            if (!e.isLeft()) {
+                rights = rights.append(e.getRight());
+                lefts = null;
+            } else if (lefts != null) {
+                lefts.add(e.getLeft());
+            }
+        }
+        return lefts != null ? Either.left(lefts) : Either.right(rights);
+
+    }
+
+    @SafeVarargs
+    private static <E> Chain<E> rights(final Either<?, E>... es) {
+
+        Chain<E> rval = Chain.empty();
+        for (final Either<?, E> e : es) {
+            if (!e.isLeft()) {
+                rval = rval.append(e.getRight());
+            }
+        }
+        return rval;
+
+    }
+
+    private Validation() {
+    }
+
+    /**
+     * Function of 3 arguments.
+     *
+     * @param <T1>
+     *            type of argument 1.
+     *
+     * @param <T2>
+     *            type of argument 2.
+     *
+     * @param <T3>
+     *            type of argument 3.
+     *
+     * @param <R>
+     *            result type.
+     */
+    @FunctionalInterface
+    public interface Function3<T1, T2, T3, R> {
+
+        /**
+         * Apply the function.
+         *
+         * @param v1
+         *            argument 1.
+         *
+         * @param v2
+         *            argument 2.
+         *
+         * @param v3
+         *            argument 3.
+         *
+         * @return the result.
+         */
+        R apply(T1 v1, T2 v2, T3 v3);
+
+    }
+
+    /**
+     * Function of 4 arguments.
+     *
+     * @param <T1>
+     *            type of argument 1.
+     *
+     * @param <T2>
+     *            type of argument 2.
+     *
+     * @param <T3>
+     *            type of argument 3.
+     *
+     * @param <T4>
+     *            type of argument 4.
+     *
+     * @param <R>
+     *            result type.
+     */
+    @FunctionalInterface
+    public interface Function4<T1, T2, T3, T4, R> {
+
+        /**
+         * Apply the function.
+         *
+         * @param v1
+         *            argument 1.
+         *
+         * @param v2
+         *            argument 2.
+         *
+         * @param v3
+         *            argument 3.
+         *
+         * @param v4
+         *            argument 4.
+         *
+         * @return the result.
+         */
+        R apply(T1 v1, T2 v2, T3 v3, T4 v4);
+
+    }
+
+    /**
+     * Function of 5 arguments.
+     *
+     * @param <T1>
+     *            type of argument 1.
+     *
+     * @param <T2>
+     *            type of argument 2.
+     *
+     * @param <T3>
+     *            type of argument 3.
+     *
+     * @param <T4>
+     *            type of argument 4.
+     *
+     * @param <T5>
+     *            type of argument 5.
+     *
+     * @param <R>
+     *            result type.
+     */
+    @FunctionalInterface
+    public interface Function5<T1, T2, T3, T4, T5, R> {
+
+        /**
+         * Apply the function.
+         *
+         * @param v1
+         *            argument 1.
+         *
+         * @param v2
+         *            argument 2.
+         *
+         * @param v3
+         *            argument 3.
+         *
+         * @param v4
+         *            argument 4.
+         *
+         * @param v5
+         *            argument 5.
+         *
+         * @return the result.
+         */
+        R apply(T1 v1, T2 v2, T3 v3, T4 v4, T5 v5);
+
+    }
+
+    /**
+     * Function of 6 arguments.
+     *
+     * @param <T1>
+     *            type of argument 1.
+     *
+     * @param <T2>
+     *            type of argument 2.
+     *
+     * @param <T3>
+     *            type of argument 3.
+     *
+     * @param <T4>
+     *            type of argument 4.
+     *
+     * @param <T5>
+     *            type of argument 5.
+     *
+     * @param <T6>
+     *            type of argument 6.
+     *
+     * @param <R>
+     *            result type.
+     */
+    @FunctionalInterface
+    public interface Function6<T1, T2, T3, T4, T5, T6, R> {
+
+        /**
+         * Apply the function.
+         *
+         * @param v1
+         *            argument 1.
+         *
+         * @param v2
+         *            argument 2.
+         *
+         * @param v3
+         *            argument 3.
+         *
+         * @param v4
+         *            argument 4.
+         *
+         * @param v5
+         *            argument 5.
+         *
+         * @param v6
+         *            argument 6.
+         *
+         * @return the result.
+         */
+        R apply(T1 v1, T2 v2, T3 v3, T4 v4, T5 v5, T6 v6);
+
+    }
+
+    /**
+     * Function of 7 arguments.
+     *
+     * @param <T1>
+     *            type of argument 1.
+     *
+     * @param <T2>
+     *            type of argument 2.
+     *
+     * @param <T3>
+     *            type of argument 3.
+     *
+     * @param <T4>
+     *            type of argument 4.
+     *
+     * @param <T5>
+     *            type of argument 5.
+     *
+     * @param <T6>
+     *            type of argument 6.
+     *
+     * @param <T7>
+     *            type of argument 7.
+     *
+     * @param <R>
+     *            result type.
+     */
+    @FunctionalInterface
+    public interface Function7<T1, T2, T3, T4, T5, T6, T7, R> {
+
+        /**
+         * Apply the function.
+         *
+         * @param v1
+         *            argument 1.
+         *
+         * @param v2
+         *            argument 2.
+         *
+         * @param v3
+         *            argument 3.
+         *
+         * @param v4
+         *            argument 4.
+         *
+         * @param v5
+         *            argument 5.
+         *
+         * @param v6
+         *            argument 6.
+         *
+         * @param v7
+         *            argument 7.
+         *
+         * @return the result.
+         */
+        R apply(T1 v1, T2 v2, T3 v3, T4 v4, T5 v5, T6 v6, T7 v7);
+
+    }
+
+    /**
+     * Function of 8 arguments.
+     *
+     * @param <T1>
+     *            type of argument 1.
+     *
+     * @param <T2>
+     *            type of argument 2.
+     *
+     * @param <T3>
+     *            type of argument 3.
+     *
+     * @param <T4>
+     *            type of argument 4.
+     *
+     * @param <T5>
+     *            type of argument 5.
+     *
+     * @param <T6>
+     *            type of argument 6.
+     *
+     * @param <T7>
+     *            type of argument 7.
+     *
+     * @param <T8>
+     *            type of argument 8.
+     *
+     * @param <R>
+     *            result type.
+     */
+    @FunctionalInterface
+    public interface Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> {
+
+        /**
+         * Apply the function.
+         *
+         * @param v1
+         *            argument 1.
+         *
+         * @param v2
+         *            argument 2.
+         *
+         * @param v3
+         *            argument 3.
+         *
+         * @param v4
+         *            argument 4.
+         *
+         * @param v5
+         *            argument 5.
+         *
+         * @param v6
+         *            argument 6.
+         *
+         * @param v7
+         *            argument 7.
+         *
+         * @param v8
+         *            argument 8.
+         *
+         * @return the result.
+         */
+        R apply(T1 v1, T2 v2, T3 v3, T4 v4, T5 v5, T6 v6, T7 v7, T8 v8);
+
+    }
+
+}
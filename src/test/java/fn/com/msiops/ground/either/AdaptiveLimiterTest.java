@@ -0,0 +1,175 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.AdaptiveLimiter;
+import com.msiops.ground.either.Either;
+
+public class AdaptiveLimiterTest {
+
+    private static final Either<Integer, String> ONE = Either.left(1);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBoundsRejected() {
+
+        AdaptiveLimiter.of(5, 6, 10, Duration.ofSeconds(1), "busy");
+
+    }
+
+    @Test
+    public void testBurstOfDropsCutsOnce() throws Exception {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(10, 1, 100,
+                Duration.ofSeconds(10), "busy");
+        final CountDownLatch all = new CountDownLatch(8);
+        final Thread[] ts = new Thread[8];
+        for (int i = 0; i < ts.length; i++) {
+            ts[i] = new Thread(() -> l.call(() -> {
+                all.countDown();
+                try {
+                    all.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException ix) {
+                    Thread.currentThread().interrupt();
+                }
+                return Either.right("failed");
+            }));
+            ts[i].start();
+        }
+        for (final Thread t : ts) {
+            t.join();
+        }
+
+        assertEquals(8, l.getDrops());
+        assertEquals(9, l.getLimit());
+
+    }
+
+    @Test
+    public void testCallAllocatesNothing() {
+
+        assumeTrue(Allocation.supported());
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(10, 1, 100,
+                Duration.ofSeconds(10), "busy");
+
+        assertEquals(0, Allocation.perRun(10000, () -> l.call(() -> ONE)));
+
+    }
+
+    @Test
+    public void testGrowsOnlyWhileBusy() {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(2, 1, 100,
+                Duration.ofSeconds(10), "busy");
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(l.call(() -> Either.left(1)).isLeft());
+        }
+
+        assertEquals(3, l.getLimit());
+
+    }
+
+    @Test
+    public void testOverLimitRejectedImmediately() {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(1, 1, 1,
+                Duration.ofSeconds(10), "busy");
+
+        final Either<Either<Integer, String>, String> actual = l
+                .call(() -> Either.left(l.call(() -> Either.left(1))));
+
+        assertEquals(Either.left(Either.right("busy")), actual);
+        assertEquals(1, l.getRejections());
+        assertEquals(0, l.getInFlight());
+
+    }
+
+    @Test
+    public void testRightCutsLimit() {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(10, 1, 100,
+                Duration.ofSeconds(10), "busy");
+
+        l.call(() -> Either.right("failed"));
+
+        assertEquals(9, l.getLimit());
+        assertEquals(1, l.getDrops());
+
+    }
+
+    @Test
+    public void testSlowCallCutsLimit() {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(10, 1, 100,
+                Duration.ofMillis(1), "busy");
+
+        l.call(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException ix) {
+                Thread.currentThread().interrupt();
+            }
+            return Either.left(1);
+        });
+
+        assertEquals(9, l.getLimit());
+
+    }
+
+    @Test
+    public void testStaysAtMin() {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(3, 2, 100,
+                Duration.ofSeconds(10), "busy");
+
+        for (int i = 0; i < 50; i++) {
+            l.call(() -> Either.right("failed"));
+        }
+
+        assertEquals(2, l.getLimit());
+
+    }
+
+    @Test
+    public void testThrowReleasesAndCuts() {
+
+        final AdaptiveLimiter<String> l = AdaptiveLimiter.of(10, 1, 100,
+                Duration.ofSeconds(10), "busy");
+
+        try {
+            l.call(() -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (final IllegalStateException expected) {
+            // expected
+        }
+
+        assertEquals(0, l.getInFlight());
+        assertEquals(9, l.getLimit());
+
+    }
+
+}
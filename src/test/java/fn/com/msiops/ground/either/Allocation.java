@@ -0,0 +1,82 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Heap allocation measurement for the current thread, based on the HotSpot
+ * extension of {@link ThreadMXBean}.
+ */
+final class Allocation {
+
+    private static final com.sun.management.ThreadMXBean BEAN;
+
+    static {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean)
+                        .isThreadAllocatedMemorySupported()) {
+            BEAN = (com.sun.management.ThreadMXBean) bean;
+            BEAN.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            BEAN = null;
+        }
+    }
+
+    /**
+     * Measure the bytes allocated by running an action repeatedly. The action
+     * is run once as many times beforehand so that class loading and lambda
+     * linkage are not counted, and the cost of measuring is subtracted.
+     *
+     * @param times
+     *            number of runs to measure.
+     *
+     * @param r
+     *            action to measure.
+     *
+     * @return bytes allocated per run, rounded down.
+     */
+    static long perRun(final int times, final Runnable r) {
+
+        for (int i = 0; i < times; i++) {
+            r.run();
+        }
+        final long id = Thread.currentThread().getId();
+
+        final long o0 = BEAN.getThreadAllocatedBytes(id);
+        final long o1 = BEAN.getThreadAllocatedBytes(id);
+        final long overhead = o1 - o0;
+
+        final long before = BEAN.getThreadAllocatedBytes(id);
+        for (int i = 0; i < times; i++) {
+            r.run();
+        }
+        final long after = BEAN.getThreadAllocatedBytes(id);
+
+        return Math.max(0L, after - before - overhead) / times;
+
+    }
+
+    static boolean supported() {
+        return BEAN != null;
+    }
+
+    private Allocation() {
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Chain;
+
+public class ChainTest {
+
+    @Test
+    public void testAppend() {
+
+        final Chain<Integer> c = Chain.<Integer> empty().append(1).append(2)
+                .append(3);
+
+        assertEquals(Arrays.asList(1, 2, 3), c.toList());
+        assertEquals(3, c.size());
+
+    }
+
+    @Test
+    public void testConcat() {
+
+        final Chain<Integer> a = Chain.<Integer> empty().append(1).append(2);
+        final Chain<Integer> b = Chain.<Integer> empty().append(3).append(4);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), a.concat(b).toList());
+        assertEquals(Arrays.asList(3, 4, 1, 2), b.concat(a).toList());
+
+    }
+
+    @Test
+    public void testConcatEmpty() {
+
+        final Chain<Integer> a = Chain.of(1);
+
+        assertSame(a, a.concat(Chain.empty()));
+        assertSame(a, Chain.<Integer> empty().concat(a));
+
+    }
+
+    @Test
+    public void testDeepIterationIsStackSafe() {
+
+        Chain<Integer> left = Chain.empty();
+        Chain<Integer> right = Chain.empty();
+        for (int i = 0; i < 1000000; i++) {
+            left = left.append(i);
+            right = right.prepend(i);
+        }
+
+        int expected = 0;
+        for (final int v : left) {
+            assertEquals(expected++, v);
+        }
+        assertEquals(1000000, expected);
+        for (final int v : right) {
+            assertEquals(--expected, v);
+        }
+        assertEquals(0, expected);
+
+    }
+
+    @Test
+    public void testEmpty() {
+
+        final Chain<Object> c = Chain.empty();
+
+        assertTrue(c.isEmpty());
+        assertEquals(0, c.size());
+        assertFalse(c.iterator().hasNext());
+        assertEquals(Collections.emptyList(), c.toList());
+
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+
+        final Chain<Integer> a = Chain.of(1).append(2).append(3);
+        final Chain<Integer> b = Chain.of(1).concat(Chain.of(2).append(3));
+        final Chain<Integer> c = Chain.of(3).prepend(2).prepend(1);
+
+        assertEquals(a, b);
+        assertEquals(a, c);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(Arrays.asList(1, 2, 3).hashCode(), c.hashCode());
+        assertNotEquals(a, a.append(4));
+
+    }
+
+    @Test
+    public void testPersistent() {
+
+        final Chain<Integer> a = Chain.of(1);
+        final Chain<Integer> b = a.append(2);
+
+        a.append(3);
+
+        assertEquals(Arrays.asList(1), a.toList());
+        assertEquals(Arrays.asList(1, 2), b.toList());
+
+    }
+
+    @Test
+    public void testPrepend() {
+
+        final Chain<Integer> c = Chain.of(3).prepend(2).prepend(1);
+
+        final List<Integer> seen = new ArrayList<>();
+        c.forEach(seen::add);
+
+        assertEquals(Arrays.asList(1, 2, 3), seen);
+
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testToListUnmodifiable() {
+
+        Chain.of(1).toList().add(2);
+
+    }
+
+}
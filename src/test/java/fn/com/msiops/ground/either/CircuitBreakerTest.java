@@ -0,0 +1,163 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.CircuitBreaker;
+import com.msiops.ground.either.CircuitBreaker.State;
+import com.msiops.ground.either.Either;
+
+public class CircuitBreakerTest {
+
+    private static final RuntimeException OPEN = new IllegalStateException(
+            "open");
+
+    @Test
+    public void testClosedPassesThrough() {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(4, 0.5,
+                Duration.ofMinutes(1), OPEN);
+
+        assertEquals(Either.left(1), b.call(() -> Either.left(1)));
+        assertEquals(State.CLOSED, b.getState());
+        assertEquals(0.0, b.getRightRate(), 0.0);
+
+    }
+
+    @Test
+    public void testFailedProbeReopens() throws Exception {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(2, 1.0,
+                Duration.ofMillis(10), OPEN);
+        final RuntimeException x = new RuntimeException();
+        b.call(() -> Either.right(x));
+        b.call(() -> Either.right(x));
+        Thread.sleep(30);
+
+        assertEquals(Either.right(x), b.call(() -> Either.right(x)));
+        assertEquals(State.OPEN, b.getState());
+        assertEquals(Either.right(OPEN), b.call(() -> Either.left(1)));
+
+    }
+
+    @Test
+    public void testNotTrippedBeforeWindowFills() {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(10, 0.1,
+                Duration.ofMinutes(1), OPEN);
+
+        for (int i = 0; i < 9; i++) {
+            b.call(() -> Either.right(new RuntimeException()));
+        }
+
+        assertEquals(State.CLOSED, b.getState());
+
+    }
+
+    @Test
+    public void testOpensAtThresholdAndShortCircuits() {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(4, 0.5,
+                Duration.ofMinutes(1), OPEN);
+        final AtomicInteger invoked = new AtomicInteger();
+        final Function<Integer, Either<Integer, RuntimeException>> f = b
+                .protect(v -> {
+                    invoked.incrementAndGet();
+                    return v % 2 == 0 ? Either.left(v) : Either
+                            .right(new RuntimeException());
+                });
+
+        for (int i = 0; i < 4; i++) {
+            f.apply(i);
+        }
+
+        assertEquals(State.OPEN, b.getState());
+        assertSame(OPEN, f.apply(0).getRight());
+        assertSame(OPEN, f.apply(2).getRight());
+        assertEquals(4, invoked.get());
+        assertEquals(2, b.getShortCircuited());
+
+    }
+
+    @Test
+    public void testSlidingWindowForgetsOldRights() {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(4, 0.75,
+                Duration.ofMinutes(1), OPEN);
+
+        b.call(() -> Either.right(new RuntimeException()));
+        b.call(() -> Either.right(new RuntimeException()));
+        for (int i = 0; i < 6; i++) {
+            b.call(() -> Either.left(1));
+        }
+        b.call(() -> Either.right(new RuntimeException()));
+        b.call(() -> Either.right(new RuntimeException()));
+
+        assertEquals(State.CLOSED, b.getState());
+        assertEquals(0.5, b.getRightRate(), 0.0);
+
+    }
+
+    @Test
+    public void testSuccessfulProbeCloses() throws Exception {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(2, 1.0,
+                Duration.ofMillis(10), OPEN);
+        b.call(() -> Either.right(new RuntimeException()));
+        b.call(() -> Either.right(new RuntimeException()));
+        assertEquals(State.OPEN, b.getState());
+        Thread.sleep(30);
+
+        assertEquals(Either.left(1), b.call(() -> Either.left(1)));
+        assertEquals(State.CLOSED, b.getState());
+        assertEquals(0.0, b.getRightRate(), 0.0);
+
+    }
+
+    @Test
+    public void testThrowCountsAsRight() {
+
+        final CircuitBreaker<RuntimeException> b = CircuitBreaker.of(1, 1.0,
+                Duration.ofMinutes(1), OPEN);
+
+        try {
+            b.call(() -> {
+                throw new IllegalArgumentException();
+            });
+            fail();
+        } catch (final IllegalArgumentException expected) {
+            // expected
+        }
+
+        assertEquals(State.OPEN, b.getState());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroThresholdRejected() {
+
+        CircuitBreaker.of(4, 0, Duration.ZERO, OPEN);
+
+    }
+
+}
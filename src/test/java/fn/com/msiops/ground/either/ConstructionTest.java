@@ -183,6 +183,14 @@ public class ConstructionTest {
 
     }
 
+    @Test
+    public void testLeftVariantType() {
+
+        assertTrue(Either.left("left") instanceof Either.LeftVariant);
+        assertTrue(Either.of(() -> "left") instanceof Either.LeftVariant);
+
+    }
+
     @Test(expected = NullPointerException.class)
     public void testRightNullIllegal() {
 
@@ -199,4 +207,12 @@ public class ConstructionTest {
 
     }
 
+    @Test
+    public void testRightVariantType() {
+
+        assertTrue(Either.right("right") instanceof Either.RightVariant);
+        assertTrue(Either.left("left").swap() instanceof Either.RightVariant);
+
+    }
+
 }
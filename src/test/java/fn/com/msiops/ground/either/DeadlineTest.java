@@ -0,0 +1,157 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.msiops.ground.either.Deadline;
+import com.msiops.ground.either.Either;
+
+public class DeadlineTest {
+
+    @After
+    public void checkInterruptCleared() {
+
+        assertFalse(Thread.interrupted());
+
+    }
+
+    @Test
+    public void testCheckedRightPassesThrough() {
+
+        final Exception x = new Exception();
+
+        assertEquals(Either.right(x), Either.ofChecked(() -> {
+            throw x;
+        }, Duration.ofSeconds(10)));
+
+    }
+
+    @Test
+    public void testCheckedTimeout() {
+
+        final Either<Object, Throwable> actual = Either.ofChecked(() -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return "late";
+        }, Duration.ofMillis(20));
+
+        assertTrue(actual.getRight() instanceof TimeoutException);
+        assertTrue(actual.getRight().getCause() instanceof InterruptedException);
+
+    }
+
+    @Test
+    public void testExpiredDeadlineSkipsSupplier() {
+
+        final Deadline d = Deadline.after(Duration.ofMillis(-1));
+        final AtomicBoolean ran = new AtomicBoolean();
+
+        final Either<Object, Exception> actual = Either.of(() -> {
+            ran.set(true);
+            return "x";
+        }, d);
+
+        assertTrue(d.isExpired());
+        assertEquals(Duration.ZERO, d.remaining());
+        assertFalse(ran.get());
+        assertTrue(actual.getRight() instanceof TimeoutException);
+
+    }
+
+    @Test
+    public void testFastSupplierIsLeft() {
+
+        assertEquals(Either.left(7), Either.of(() -> 7, Duration.ofSeconds(10)));
+
+    }
+
+    @Test
+    public void testHugeTimeout() {
+
+        final Deadline d = Deadline.after(Duration.ofSeconds(Long.MAX_VALUE));
+
+        assertFalse(d.isExpired());
+        assertEquals(Either.left(7), Either.of(() -> 7, d));
+
+    }
+
+    @Test
+    public void testManyCallsLeaveNoInterrupt() {
+
+        for (int i = 0; i < 100000; i++) {
+            final int v = i;
+            assertEquals(Either.left(v),
+                    Either.of(() -> v, Duration.ofSeconds(10)));
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+
+    }
+
+    @Test
+    public void testSharedDeadlineSpansChain() {
+
+        final Deadline d = Deadline.after(Duration.ofMillis(50));
+
+        final Either<Object, Throwable> actual = Either
+                .ofChecked(() -> {
+                    Thread.sleep(30);
+                    return 1;
+                }, d).flatMap(v -> Either.ofChecked(() -> {
+                    Thread.sleep(30);
+                    return v + 1;
+                }, d));
+
+        assertTrue(actual.getRight() instanceof TimeoutException);
+
+    }
+
+    @Test
+    public void testUncheckedRightPassesThrough() {
+
+        final RuntimeException x = new RuntimeException();
+
+        assertEquals(Either.right(x), Either.of(() -> {
+            throw x;
+        }, Duration.ofSeconds(10)));
+
+    }
+
+    @Test
+    public void testUncooperativeSupplierTimesOut() {
+
+        final Either<Object, Exception> actual = Either.of(() -> {
+            final long until = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(40);
+            while (System.nanoTime() < until) {
+                // ignores interrupts
+            }
+            return "late";
+        }, Duration.ofMillis(5));
+
+        assertTrue(actual.getRight() instanceof TimeoutException);
+        assertNull(actual.getRight().getCause());
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.OptionalDouble;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.DoubleEither;
+import com.msiops.ground.either.Either;
+
+public class DoubleEitherTest {
+
+    @Test
+    public void testConvergentSupplier() {
+
+        assertEquals(DoubleEither.left(0.5), DoubleEither.of(() -> 0.5));
+
+    }
+
+    @Test
+    public void testDivergentSupplier() {
+
+        final DoubleEither<RuntimeException> e = DoubleEither.of(() -> Double
+                .parseDouble("x"));
+
+        assertFalse(e.isLeft());
+        assertTrue(e.getRight() instanceof NumberFormatException);
+
+    }
+
+    @Test
+    public void testEitherMapToDouble() {
+
+        assertEquals(DoubleEither.left(0.5), Either.left("0.5").mapToDouble(
+                Double::parseDouble));
+
+    }
+
+    @Test
+    public void testEqualityFollowsDoubleEquals() {
+
+        assertEquals(DoubleEither.left(Double.NaN),
+                DoubleEither.left(Double.NaN));
+        assertNotEquals(DoubleEither.left(0.0), DoubleEither.left(-0.0));
+
+    }
+
+    @Test
+    public void testLift() {
+
+        assertEquals(DoubleEither.left(4.0), DoubleEither.lift(Math::sqrt)
+                .apply(16.0));
+
+    }
+
+    @Test
+    public void testMapToLongFromRight() {
+
+        assertEquals("r", DoubleEither.right("r")
+                .mapToLong(Math::round).getRight());
+
+    }
+
+    @Test
+    public void testUnwind() {
+
+        assertEquals(0.5, DoubleEither.left(0.5).orElse(1.0), 0.0);
+        assertEquals(1.0, DoubleEither.right("r").orElse(1.0), 0.0);
+        assertEquals(OptionalDouble.empty(), DoubleEither.right("r").maybe());
+
+    }
+
+}
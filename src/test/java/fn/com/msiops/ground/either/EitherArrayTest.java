@@ -0,0 +1,267 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.DoubleEither;
+import com.msiops.ground.either.DoubleEitherArray;
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.EitherArray;
+import com.msiops.ground.either.IntEither;
+import com.msiops.ground.either.IntEitherArray;
+import com.msiops.ground.either.LongEitherArray;
+
+public class EitherArrayTest {
+
+    private static final EitherArray<Integer, String> SAMPLE = EitherArray
+            .<Integer, String> builder().addLeft(1).addRight("a").addLeft(2)
+            .addLeft(3).addRight("b").build();
+
+    private static List<Either<Integer, String>> random(final int n) {
+
+        final Random rnd = new Random(7);
+        final List<Either<Integer, String>> rval = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            /*
+             * runs of one variant leave whole tag words empty or full.
+             */
+            final boolean left = i / 500 % 3 == 1 || i / 500 % 3 == 0
+                    && rnd.nextBoolean();
+            rval.add(left ? Either.left(i) : Either.right("r" + i));
+        }
+        return rval;
+
+    }
+
+    @Test
+    public void testCountLefts() {
+
+        assertEquals(3, SAMPLE.countLefts());
+        assertEquals(2, SAMPLE.countRights());
+        assertEquals(5, SAMPLE.size());
+        assertEquals(2, SAMPLE.countLefts(1, 4));
+        assertEquals(0, SAMPLE.countLefts(5, 5));
+
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCountLeftsBadRange() {
+
+        SAMPLE.countLefts(3, 2);
+
+    }
+
+    @Test
+    public void testCursor() {
+
+        final StringBuilder seen = new StringBuilder();
+        final EitherArray<Integer, String>.Cursor c = SAMPLE.cursor();
+        while (c.advance()) {
+            seen.append(c.getIndex()).append(':')
+                    .append(c.isLeft() ? c.getLeft() : c.getRight())
+                    .append(' ');
+        }
+
+        assertEquals("0:1 1:a 2:2 3:3 4:b ", seen.toString());
+        assertFalse(c.advance());
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCursorBeforeStart() {
+
+        SAMPLE.cursor().isLeft();
+
+    }
+
+    @Test
+    public void testDoubleLefts() {
+
+        final DoubleEitherArray<String> a = DoubleEitherArray.of(Arrays
+                .asList(DoubleEither.left(0.5), DoubleEither.right("x"),
+                        DoubleEither.left(1.5)));
+
+        assertEquals(2.0, a.lefts().sum(), 0.0);
+        assertEquals(DoubleEither.right("x"), a.get(1));
+
+    }
+
+    @Test
+    public void testEmpty() {
+
+        final EitherArray<Integer, String> e = EitherArray
+                .<Integer, String> builder().build();
+
+        assertEquals(0, e.size());
+        assertEquals(0, e.countLefts());
+        assertEquals(0, e.countLefts(0, 0));
+        assertFalse(e.iterator().hasNext());
+        assertEquals("[]", e.toString());
+
+    }
+
+    @Test
+    public void testForEach() {
+
+        final List<Object> seen = new ArrayList<>();
+        SAMPLE.forEach(seen::add, seen::add);
+
+        assertEquals(Arrays.<Object> asList(1, "a", 2, 3, "b"), seen);
+
+    }
+
+    @Test
+    public void testForEachAllocatesNothing() {
+
+        assumeTrue(Allocation.supported());
+        final EitherArray<Integer, String> a = EitherArray.of(random(1000));
+
+        assertEquals(0, Allocation.perRun(1000, () -> a.forEach(v -> {
+        }, v -> {
+        })));
+
+    }
+
+    @Test
+    public void testGet() {
+
+        assertEquals(Either.left(1), SAMPLE.get(0));
+        assertEquals(Either.right("a"), SAMPLE.get(1));
+        assertEquals(Either.left(3), SAMPLE.get(3));
+        assertEquals("b", SAMPLE.getRight(4));
+        assertEquals(Integer.valueOf(2), SAMPLE.getLeft(2));
+
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+
+        SAMPLE.get(5);
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetWrongVariant() {
+
+        SAMPLE.getLeft(1);
+
+    }
+
+    @Test
+    public void testIntLefts() {
+
+        final IntEitherArray<String> a = IntEitherArray.<String> builder()
+                .addLeft(4).addRight("x").add(IntEither.left(5)).build();
+
+        assertEquals(9, a.lefts().sum());
+        assertEquals(1, a.countRights());
+        assertEquals(IntEither.left(5), a.get(2));
+        assertEquals(5, a.getLeft(2));
+
+    }
+
+    @Test
+    public void testIterator() {
+
+        final List<Either<Integer, String>> expected = random(3000);
+        final List<Either<Integer, String>> actual = new ArrayList<>();
+        EitherArray.of(expected).forEach(actual::add);
+
+        assertEquals(expected, actual);
+
+    }
+
+    @Test
+    public void testLongCursor() {
+
+        final LongEitherArray<String> a = LongEitherArray.<String> builder()
+                .addRight("x").addLeft(7L).build();
+        final LongEitherArray<String>.Cursor c = a.cursor();
+
+        assertTrue(c.advance());
+        assertEquals("x", c.getRight());
+        assertTrue(c.advance());
+        assertEquals(7L, c.getLeft());
+        assertFalse(c.hasNext());
+
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullRejected() {
+
+        EitherArray.<Integer, String> builder().addRight(null);
+
+    }
+
+    @Test
+    public void testRankSelectMatchNaive() {
+
+        final List<Either<Integer, String>> es = random(10000);
+        final EitherArray<Integer, String> a = EitherArray.of(es);
+
+        int lefts = 0;
+        int rights = 0;
+        for (int i = 0; i < es.size(); i++) {
+            assertEquals(lefts, a.countLefts(0, i));
+            if (es.get(i).isLeft()) {
+                assertEquals(i, a.indexOfLeft(lefts++));
+                assertEquals(es.get(i).getLeft(), a.getLeft(i));
+            } else {
+                assertEquals(i, a.indexOfRight(rights++));
+                assertEquals(es.get(i).getRight(), a.getRight(i));
+            }
+        }
+        assertEquals(lefts, a.countLefts());
+        assertEquals(rights, a.countRights());
+
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfRange() {
+
+        SAMPLE.indexOfLeft(3);
+
+    }
+
+    @Test
+    public void testStreams() {
+
+        assertEquals(Arrays.asList(1, 2, 3),
+                SAMPLE.lefts().collect(Collectors.toList()));
+        assertEquals(Arrays.asList("a", "b"),
+                SAMPLE.rights().collect(Collectors.toList()));
+
+    }
+
+    @Test
+    public void testToString() {
+
+        assertEquals("[left={1}, right={a}, left={2}, left={3}, right={b}]",
+                SAMPLE.toString());
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.msiops.footing.functional.SupplierT;
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.EitherBatch;
+
+public class EitherBatchTest {
+
+    @Test
+    public void testAllLeft() throws Exception {
+
+        final List<SupplierT<Integer>> ss = Arrays.asList(() -> 1, () -> 2,
+                () -> 3);
+
+        assertEquals(
+                Arrays.asList(Either.left(1), Either.left(2), Either.left(3)),
+                EitherBatch.ofChecked(ss));
+
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+
+        assertEquals(Collections.emptyList(),
+                EitherBatch.ofChecked(Collections.emptyList(), true));
+
+    }
+
+    @Test
+    public void testFailFastCancelsRest() throws Exception {
+
+        final Exception x = new Exception();
+        final List<SupplierT<Object>> ss = Arrays.asList(() -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return "slow";
+        }, () -> {
+            throw x;
+        });
+
+        final List<Either<Object, Throwable>> actual = EitherBatch.ofChecked(
+                ss, true);
+
+        assertTrue(actual.get(0).getRight() instanceof CancellationException);
+        assertEquals(Either.right(x), actual.get(1));
+
+    }
+
+    @Test
+    public void testInputOrderKept() throws Exception {
+
+        final List<SupplierT<Integer>> ss = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int v = i;
+            ss.add(() -> {
+                Thread.sleep(20 - v);
+                return v;
+            });
+        }
+
+        final List<Either<Integer, Throwable>> actual = EitherBatch
+                .ofChecked(ss);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Either.left(i), actual.get(i));
+        }
+
+    }
+
+    @Test
+    public void testRightsCollectedWithoutFailFast() throws Exception {
+
+        final Exception x = new Exception();
+        final List<SupplierT<Object>> ss = Arrays.asList(() -> {
+            Thread.sleep(50);
+            return "slow";
+        }, () -> {
+            throw x;
+        });
+
+        assertEquals(Arrays.asList(Either.left("slow"), Either.right(x)),
+                EitherBatch.ofChecked(ss, false));
+
+    }
+
+    @Test
+    public void testSuppliersRunConcurrently() throws Exception {
+
+        final int n = 64;
+        final CountDownLatch all = new CountDownLatch(n);
+        final List<SupplierT<Boolean>> ss = Collections.nCopies(n, () -> {
+            all.countDown();
+            return all.await(10, TimeUnit.SECONDS);
+        });
+
+        for (final Either<Boolean, Throwable> e : EitherBatch.ofChecked(ss)) {
+            assertEquals(Either.left(true), e);
+        }
+
+    }
+
+}
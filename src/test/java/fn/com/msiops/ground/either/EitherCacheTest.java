@@ -0,0 +1,184 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.EitherCache;
+
+public class EitherCacheTest {
+
+    private final AtomicInteger applied = new AtomicInteger();
+
+    private final Function<String, Either<Integer, RuntimeException>> parse = Either
+            .lift(s -> {
+                this.applied.incrementAndGet();
+                return Integer.valueOf(s);
+            });
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+
+        final EitherCache<Integer, Integer, RuntimeException> c = EitherCache
+                .of(Either.lift(v -> v * 2), 64, Duration.ofMinutes(1),
+                        Duration.ZERO);
+        final Thread[] ts = new Thread[8];
+        final AtomicInteger wrong = new AtomicInteger();
+        for (int i = 0; i < ts.length; i++) {
+            final int seed = i;
+            ts[i] = new Thread(() -> {
+                for (int n = 0; n < 20000; n++) {
+                    final int k = (n * 31 + seed) % 200;
+                    if (!c.apply(k).equals(Either.left(k * 2))) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            });
+            ts[i].start();
+        }
+        for (final Thread t : ts) {
+            t.join();
+        }
+
+        assertEquals(0, wrong.get());
+        assertTrue(c.size() <= 64);
+        assertEquals(160000, c.getHits() + c.getMisses());
+
+    }
+
+    @Test
+    public void testExpiredRightReapplied() throws Exception {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 10, Duration.ofMinutes(1), Duration.ofMillis(5));
+
+        assertFalse(c.apply("x").isLeft());
+        Thread.sleep(20);
+        assertFalse(c.apply("x").isLeft());
+
+        assertEquals(2, this.applied.get());
+
+    }
+
+    @Test
+    public void testFrequentNewcomerAdmitted() {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 2, Duration.ofMinutes(1), Duration.ZERO);
+        c.apply("1");
+        c.apply("2");
+
+        c.apply("3");
+        c.apply("3");
+
+        assertEquals(2, c.size());
+        c.apply("3");
+        assertEquals(1, c.getHits());
+
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 10, Duration.ofMinutes(1), Duration.ZERO);
+        c.apply("1");
+
+        c.invalidate("1");
+        c.apply("1");
+
+        assertEquals(2, this.applied.get());
+
+    }
+
+    @Test
+    public void testLeftMemoized() {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 10, Duration.ofMinutes(1), Duration.ZERO);
+
+        assertEquals(Either.left(12), c.apply("12"));
+        assertEquals(Either.left(12), c.apply("12"));
+
+        assertEquals(1, this.applied.get());
+        assertEquals(1, c.getHits());
+        assertEquals(1, c.getMisses());
+
+    }
+
+    @Test
+    public void testOneOffRejectedInFavorOfPopular() {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 2, Duration.ofMinutes(1), Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            c.apply("1");
+        }
+        c.apply("2");
+
+        c.apply("3");
+
+        assertEquals(1, c.getEvictions());
+        assertEquals(2, c.size());
+        final long hits = c.getHits();
+        c.apply("1");
+        c.apply("2");
+        assertEquals(hits + 2, c.getHits());
+
+    }
+
+    @Test
+    public void testRightCachedWithinTtl() {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        final Either<Integer, RuntimeException> first = c.apply("x");
+        assertSame(first, c.apply("x"));
+
+        assertEquals(1, this.applied.get());
+
+    }
+
+    @Test
+    public void testRightNotCachedWithZeroTtl() {
+
+        final EitherCache<String, Integer, RuntimeException> c = EitherCache
+                .of(this.parse, 10, Duration.ofMinutes(1), Duration.ZERO);
+
+        c.apply("x");
+        c.apply("x");
+
+        assertEquals(2, this.applied.get());
+        assertEquals(0, c.size());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroSizeRejected() {
+
+        EitherCache.of(this.parse, 0, Duration.ZERO, Duration.ZERO);
+
+    }
+
+}
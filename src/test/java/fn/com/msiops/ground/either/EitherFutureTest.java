@@ -0,0 +1,273 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.EitherFuture;
+
+public class EitherFutureTest {
+
+    @Test
+    public void testFlatMapLeft() {
+
+        final CompletableFuture<Either<Integer, String>> s = CompletableFuture
+                .completedFuture(Either.left(10));
+
+        assertEquals(Either.left(100), EitherFuture.flatMap(s,
+                x -> CompletableFuture.completedFuture(Either.left(x * x)))
+                .join());
+
+    }
+
+    @Test
+    public void testFlatMapRightSkipsStep() {
+
+        final CompletableFuture<Either<Integer, String>> s = CompletableFuture
+                .completedFuture(Either.right("r"));
+
+        assertEquals(Either.right("r"), EitherFuture.flatMap(s, x -> {
+            throw new AssertionError("must not be invoked");
+        }).join());
+
+    }
+
+    @Test
+    public void testLiftSynchronousThrow() {
+
+        final IllegalStateException isx = new IllegalStateException();
+        final Function<Object, CompletableFuture<Either<Object, Throwable>>> lf = EitherFuture
+                .lift(x -> {
+                    throw isx;
+                });
+
+        assertEquals(Either.right(isx), lf.apply("x").join());
+
+    }
+
+    @Test
+    public void testMapAsyncBoundsInFlight() {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxSeen = new AtomicInteger();
+        final List<CompletableFuture<Integer>> pending = Collections
+                .synchronizedList(new ArrayList<>());
+
+        final CompletableFuture<List<Either<Integer, Throwable>>> r = EitherFuture
+                .mapAsync(IntStream.range(0, 20).boxed()
+                        .collect(Collectors.toList()), x -> {
+                    maxSeen.accumulateAndGet(inFlight.incrementAndGet(),
+                            Math::max);
+                    final CompletableFuture<Integer> f = new CompletableFuture<>();
+                    pending.add(f);
+                    return f.whenComplete((v, t) -> inFlight.decrementAndGet());
+                }, 3);
+
+        while (!r.isDone()) {
+            final CompletableFuture<Integer> f;
+            synchronized (pending) {
+                f = pending.remove(pending.size() - 1);
+            }
+            f.complete(1);
+        }
+
+        assertEquals(3, maxSeen.get());
+        assertEquals(20, r.join().size());
+
+    }
+
+    @Test
+    public void testMapAsyncNullStageCompletes() {
+
+        final List<Either<Integer, Throwable>> r = EitherFuture.mapAsync(
+                Arrays.asList(0, 1, 2),
+                x -> x == 1 ? CompletableFuture.completedFuture(null)
+                        : x == 2 ? null : CompletableFuture.completedFuture(x),
+                1).join();
+
+        assertEquals(Either.left(0), r.get(0));
+        assertTrue(r.get(1).getRight() instanceof NullPointerException);
+        assertTrue(r.get(2).getRight() instanceof NullPointerException);
+
+    }
+
+    @Test
+    public void testMapAsyncNullValueFromPendingStage() {
+
+        final List<Either<Integer, Throwable>> r = EitherFuture
+                .mapAsyncUnordered(Arrays.asList(0, 1),
+                        x -> CompletableFuture.supplyAsync(() -> x == 0 ? null
+                                : x), 2).join();
+
+        assertEquals(2, r.size());
+        assertTrue(r.contains(Either.left(1)));
+        assertFalse(r.contains(null));
+
+    }
+
+    @Test
+    public void testMapAsyncOrdered() {
+
+        final List<Either<Integer, Throwable>> r = EitherFuture.mapAsync(
+                Arrays.asList(3, 1, 2),
+                x -> CompletableFuture.supplyAsync(() -> {
+                    sleep(x * 10);
+                    return x;
+                }), 3).join();
+
+        assertEquals(
+                Arrays.asList(Either.left(3), Either.left(1), Either.left(2)),
+                r);
+
+    }
+
+    @Test
+    public void testMapAsyncSynchronousCompletionDoesNotRecurse() {
+
+        final List<Integer> ts = IntStream.range(0, 100000).boxed()
+                .collect(Collectors.toList());
+
+        final List<Either<Integer, Throwable>> r = EitherFuture.mapAsync(ts,
+                CompletableFuture::completedFuture, 1).join();
+
+        assertEquals(100000, r.size());
+        assertEquals(Either.left(99999), r.get(99999));
+
+    }
+
+    @Test
+    public void testMapAsyncUnorderedConcurrentResultsPublished() {
+
+        for (int round = 0; round < 200; round++) {
+            final List<Either<Integer, Throwable>> r = EitherFuture
+                    .mapAsyncUnordered(
+                            IntStream.range(0, 16).boxed()
+                                    .collect(Collectors.toList()),
+                            x -> CompletableFuture.supplyAsync(() -> x), 16)
+                    .join();
+            assertFalse(r.contains(null));
+            assertEquals(16, r.stream().distinct().count());
+        }
+
+    }
+
+    @Test
+    public void testMapAsyncUnorderedCompletionOrder() {
+
+        final List<Either<Integer, Throwable>> r = EitherFuture
+                .mapAsyncUnordered(Arrays.asList(30, 10, 20),
+                        x -> CompletableFuture.supplyAsync(() -> {
+                            sleep(x * 5);
+                            return x;
+                        }), 3).join();
+
+        assertEquals(
+                Arrays.asList(Either.left(10), Either.left(20), Either.left(30)),
+                r);
+
+    }
+
+    @Test
+    public void testMapAsyncWithFailures() {
+
+        final RuntimeException rtx = new RuntimeException();
+        final Function<Integer, CompletionStage<Integer>> f = x -> {
+            final CompletableFuture<Integer> cf = new CompletableFuture<>();
+            if (x % 2 == 0) {
+                cf.complete(x);
+            } else {
+                cf.completeExceptionally(rtx);
+            }
+            return cf;
+        };
+
+        assertEquals(
+                Arrays.asList(Either.left(0), Either.right(rtx),
+                        Either.left(2)),
+                EitherFuture.mapAsync(Arrays.asList(0, 1, 2), f, 2).join());
+
+    }
+
+    @Test
+    public void testOfCompletedExceptionally() {
+
+        final Exception x = new Exception();
+        final CompletableFuture<Object> src = new CompletableFuture<>();
+        src.completeExceptionally(x);
+
+        assertEquals(Either.right(x), EitherFuture.of(src).getNow(null));
+
+    }
+
+    @Test
+    public void testOfCompletedLeft() {
+
+        assertEquals(Either.left("left"),
+                EitherFuture.of(CompletableFuture.completedFuture("left"))
+                        .getNow(null));
+
+    }
+
+    @Test
+    public void testOfExceptionalDependentStageUnwrapped() {
+
+        final Exception x = new Exception();
+        final CompletableFuture<Object> src = new CompletableFuture<>();
+        final CompletableFuture<Either<Object, Throwable>> e = EitherFuture
+                .of(src.thenApply(v -> v));
+
+        src.completeExceptionally(x);
+
+        assertEquals(Either.right(x), e.join());
+
+    }
+
+    @Test
+    public void testOfPendingLeft() {
+
+        final CompletableFuture<String> src = new CompletableFuture<>();
+        final CompletableFuture<Either<String, Throwable>> e = EitherFuture
+                .of(src);
+
+        assertFalse(e.isDone());
+        src.complete("left");
+        assertEquals(Either.left("left"), e.join());
+
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+
+public class ExtractionTest {
+
+    private static List<Either<Integer, String>> mixed(final int n) {
+
+        final List<Either<Integer, String>> es = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            es.add(i % 2 == 0 ? Either.left(i) : Either.right("r"));
+        }
+        return es;
+
+    }
+
+    @Test
+    public void testForEachLoopOverLeft() {
+
+        final List<String> seen = new ArrayList<>();
+        for (final String s : Either.<String, Object> left("left")) {
+            seen.add(s);
+        }
+
+        assertEquals(Arrays.asList("left"), seen);
+
+    }
+
+    @Test
+    public void testForEachLoopOverRight() {
+
+        for (final Object o : Either.right("right")) {
+            fail("unexpected " + o);
+        }
+
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testLeftIteratorExhausts() {
+
+        final Iterator<String> i = Either.<String, Object> left("left")
+                .iterator();
+
+        assertEquals("left", i.next());
+        assertFalse(i.hasNext());
+        i.next();
+
+    }
+
+    @Test
+    public void testLefts() {
+
+        assertEquals(Arrays.asList(0, 2, 4),
+                Either.lefts(mixed(6).stream()).collect(Collectors.toList()));
+
+    }
+
+    @Test
+    public void testLeftsAllocatesNothingPerElement() {
+
+        assumeTrue(Allocation.supported());
+
+        final List<Either<Integer, String>> small = mixed(10);
+        final List<Either<Integer, String>> large = mixed(10000);
+
+        final long perSmall = Allocation.perRun(100,
+                () -> Either.lefts(small.stream()).mapToInt(x -> x).sum());
+        final long perLarge = Allocation.perRun(100,
+                () -> Either.lefts(large.stream()).mapToInt(x -> x).sum());
+
+        /*
+         * the pipeline itself costs the same no matter how many elements pass
+         * through it.
+         */
+        assertTrue(perSmall + " vs " + perLarge, perLarge - perSmall < 1000);
+
+    }
+
+    @Test
+    public void testRightIteratorIsShared() {
+
+        final Either<Object, String> right = Either.right("right");
+
+        assertSame(right.iterator(), right.iterator());
+        assertSame(right.iterator(), Either.right("other").iterator());
+
+    }
+
+    @Test
+    public void testRights() {
+
+        assertEquals(Arrays.asList("r", "r"),
+                Either.rights(mixed(4).stream()).collect(Collectors.toList()));
+
+    }
+
+    @Test
+    public void testRightsParallel() {
+
+        assertEquals(5000, Either.rights(mixed(10000).parallelStream())
+                .count());
+
+    }
+
+}
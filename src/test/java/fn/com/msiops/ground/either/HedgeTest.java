@@ -0,0 +1,191 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.msiops.footing.functional.SupplierT;
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Hedge;
+
+public class HedgeTest {
+
+    private ExecutorService x;
+
+    @Before
+    public void setup() {
+
+        this.x = Executors.newCachedThreadPool();
+
+    }
+
+    @After
+    public void teardown() {
+
+        this.x.shutdownNow();
+
+    }
+
+    @Test
+    public void testAllRightsAggregated() throws Exception {
+
+        final Hedge h = Hedge.of(Duration.ofMinutes(1), 3, this.x);
+        final AtomicInteger n = new AtomicInteger();
+
+        final Either<Object, List<Throwable>> actual = h.call(() -> {
+            throw new Exception(String.valueOf(n.getAndIncrement()));
+        });
+
+        assertEquals(3, actual.getRight().size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(String.valueOf(i),
+                    actual.getRight().get(i).getMessage());
+        }
+        assertEquals(2, h.getHedgesFired());
+        assertEquals(0, h.getHedgesWon());
+
+    }
+
+    @Test
+    public void testCancelStopsAttempts() throws Exception {
+
+        final Hedge h = Hedge.of(Duration.ofMinutes(1), 2, this.x);
+        final AtomicInteger starts = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final CompletableFuture<Either<Object, List<Throwable>>> f = h
+                .callAsync(() -> {
+                    starts.incrementAndGet();
+                    started.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (final InterruptedException ix) {
+                        interrupted.countDown();
+                        throw ix;
+                    }
+                    return "late";
+                });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        f.cancel(true);
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        // give an interrupted attempt time to settle and, wrongly, relaunch
+        Thread.sleep(200);
+        assertEquals(1, starts.get());
+        assertEquals(0, h.getHedgesFired());
+
+    }
+
+    @Test
+    public void testConcurrentLeftsWinOnce() throws Exception {
+
+        final Hedge h = Hedge.of(Duration.ofMillis(1), 3, this.x);
+
+        for (int round = 0; round < 200; round++) {
+            final CountDownLatch all = new CountDownLatch(3);
+            final long before = h.getHedgesWon();
+            final Either<Integer, List<Throwable>> actual = h.call(() -> {
+                all.countDown();
+                all.await(10, TimeUnit.SECONDS);
+                return 1;
+            });
+            assertEquals(Either.left(1), actual);
+            assertTrue(h.getHedgesWon() - before <= 1);
+        }
+        assertEquals(600, h.getCalls() + h.getHedgesFired());
+
+    }
+
+    @Test
+    public void testFastPrimaryNotHedged() throws Exception {
+
+        final Hedge h = Hedge.of(Duration.ofSeconds(10), 3, this.x);
+
+        assertEquals(Either.left(4), h.call(() -> 4));
+        assertEquals(1, h.getCalls());
+        assertEquals(0, h.getHedgesFired());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDelayRejected() {
+
+        Hedge.of(Duration.ofMillis(-1), 2, this.x);
+
+    }
+
+    @Test
+    public void testSlowPrimaryLosesToHedge() throws Exception {
+
+        final Hedge h = Hedge.of(Duration.ofMillis(20), 2, this.x);
+        final AtomicInteger n = new AtomicInteger();
+        final CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        final SupplierT<String> s = () -> {
+            if (n.getAndIncrement() == 0) {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (final InterruptedException ix) {
+                    primaryInterrupted.countDown();
+                    throw ix;
+                }
+                return "primary";
+            }
+            return "hedge";
+        };
+
+        assertEquals(Either.left("hedge"), h.call(s));
+        assertTrue(primaryInterrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(1, h.getHedgesFired());
+        assertEquals(1, h.getHedgesWon());
+
+    }
+
+    @Test
+    public void testSingleAttempt() throws Exception {
+
+        final Hedge h = Hedge.of(Duration.ZERO, 1, this.x);
+        final Exception ex = new Exception();
+
+        assertEquals(Either.right(Arrays.asList(ex)), h.call(() -> {
+            throw ex;
+        }));
+        assertEquals(0, h.getHedgesFired());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroAttemptsRejected() {
+
+        Hedge.of(Duration.ZERO, 0, this.x);
+
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.OptionalInt;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.IntEither;
+
+public class IntEitherTest {
+
+    @Test
+    public void testBoxed() {
+
+        assertEquals(Either.left(10), IntEither.left(10).boxed());
+        assertEquals(Either.right("r"), IntEither.right("r").boxed());
+
+    }
+
+    @Test
+    public void testConvergentLift() {
+
+        final IntFunction<IntEither<RuntimeException>> lf = IntEither
+                .lift(x -> x * x);
+
+        assertEquals(IntEither.left(100), lf.apply(10));
+
+    }
+
+    @Test
+    public void testDivergentLift() {
+
+        final RuntimeException rightx = new RuntimeException("right");
+        final ToIntFunction<String> f = s -> {
+            throw rightx;
+        };
+
+        assertEquals(IntEither.right(rightx), IntEither.liftToInt(f)
+                .apply("x"));
+
+    }
+
+    @Test
+    public void testEitherMapToInt() {
+
+        assertEquals(IntEither.left(4), Either.left("four").mapToInt(
+                String::length));
+        assertEquals(IntEither.right("r"), Either.<String, String> right("r")
+                .mapToInt(String::length));
+
+    }
+
+    @Test
+    public void testEquality() {
+
+        assertEquals(IntEither.left(1), IntEither.left(1));
+        assertEquals(IntEither.left(1).hashCode(), IntEither.left(1)
+                .hashCode());
+        assertNotEquals(IntEither.left(1), IntEither.left(2));
+        assertNotEquals(IntEither.left(0), IntEither.right(0));
+
+    }
+
+    @Test
+    public void testFlatMapFromLeft() {
+
+        assertEquals(IntEither.right("odd"), IntEither.<String> left(3)
+                .flatMap(x -> x % 2 == 0 ? IntEither.left(x) : IntEither
+                        .right("odd")));
+
+    }
+
+    @Test
+    public void testFromDivergentSupplier() {
+
+        final IntEither<RuntimeException> e = IntEither.of(() -> Integer
+                .parseInt("x"));
+
+        assertFalse(e.isLeft());
+        assertTrue(e.getRight() instanceof NumberFormatException);
+
+    }
+
+    @Test
+    public void testFromOptional() {
+
+        assertEquals(IntEither.left(1), IntEither.of(OptionalInt.of(1), "r"));
+        assertEquals(IntEither.right("r"),
+                IntEither.of(OptionalInt.empty(), "r"));
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetLeftFromRight() {
+
+        IntEither.right("right").getLeft();
+
+    }
+
+    @Test
+    public void testMapFromRight() {
+
+        final IntUnaryOperator f = mock(IntUnaryOperator.class);
+
+        assertEquals(IntEither.right("r"), IntEither.right("r").map(f));
+        /*
+         * function must not be called
+         */
+        verify(f, never()).applyAsInt(anyInt());
+
+    }
+
+    @Test
+    public void testMapToObj() {
+
+        assertEquals(Either.left("10"), IntEither.left(10).mapToObj(
+                Integer::toString));
+        assertEquals(Either.right("r"), IntEither.right("r").mapToObj(
+                Integer::toString));
+
+    }
+
+    @Test
+    public void testMapToOtherPrimitives() {
+
+        assertEquals(4L, IntEither.left(2).mapToLong(x -> x * 2L).getLeft());
+        assertEquals(1.0, IntEither.left(2).mapToDouble(x -> x / 2.0)
+                .getLeft(), 0.0);
+
+    }
+
+    @Test
+    public void testUnwind() {
+
+        assertEquals(10, IntEither.left(10).orElse(99));
+        assertEquals(99, IntEither.right("r").orElse(99));
+        assertEquals(99, IntEither.right("r").orElseGet(() -> 99));
+        assertEquals(OptionalInt.empty(), IntEither.right("r").maybe());
+        assertEquals("[10]", IntEither.left(10).stream().boxed()
+                .collect(Collectors.toList()).toString());
+
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Either3;
+import com.msiops.ground.either.Either6;
+
+/**
+ * Instance footprint checks. Sizes are compared against reference classes
+ * measured on the same VM, so the tests hold with and without compressed
+ * oops. The build runs this class under both settings.
+ */
+public class LayoutTest {
+
+    @SuppressWarnings("unused")
+    private static final class OneReference {
+        private Object a;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class TwoReferences {
+        private Object a;
+        private Object b;
+    }
+
+    private static long size(final Object o) {
+        return ClassLayout.parseInstance(o).instanceSize();
+    }
+
+    private static long sizeOf(final Class<?> c) {
+        return ClassLayout.parseClass(c).instanceSize();
+    }
+
+    @Test
+    public void testFlatUnionSizeIndependentOfArity() {
+
+        assertEquals(size(Either3.third("v")), size(Either6.sixth("v")));
+
+    }
+
+    @Test
+    public void testFlatUnionSmallerThanNested() {
+
+        final Either<String, Either<String, String>> nested = Either
+                .right(Either.right("v"));
+
+        assertTrue(size(Either3.third("v")) < size(nested)
+                + size(nested.getRight()));
+
+    }
+
+    @Test
+    public void testLeftHoldsOneReference() {
+
+        assertEquals(sizeOf(OneReference.class), size(Either.left("left")));
+
+    }
+
+    @Test
+    public void testLeftSmallerThanTwoFieldLayout() {
+
+        assertTrue(size(Either.left("left")) < sizeOf(TwoReferences.class));
+
+    }
+
+    @Test
+    public void testRightHoldsOneReference() {
+
+        assertEquals(sizeOf(OneReference.class), size(Either.right("right")));
+
+    }
+
+    @Test
+    public void testRightSmallerThanTwoFieldLayout() {
+
+        assertTrue(size(Either.right("right")) < sizeOf(TwoReferences.class));
+
+    }
+
+}
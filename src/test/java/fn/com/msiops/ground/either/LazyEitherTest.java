@@ -0,0 +1,207 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.LazyEither;
+
+public class LazyEitherTest {
+
+    private final AtomicInteger evaluated = new AtomicInteger();
+
+    @Test
+    public void testBimapAndFlatMapRightStayLazy() {
+
+        final LazyEither<Integer, String> r = LazyEither.defer(() -> {
+            this.evaluated.incrementAndGet();
+            return Either.right("x");
+        });
+
+        final LazyEither<String, Integer> b = r.bimap(String::valueOf,
+                String::length);
+        final LazyEither<Integer, String> f = r
+                .flatMapRight(v -> Either.right(v + "y"));
+
+        assertEquals(0, this.evaluated.get());
+        assertEquals(Integer.valueOf(1), b.getRight());
+        assertEquals("xy", f.getRight());
+        assertEquals(1, this.evaluated.get());
+
+    }
+
+    @Test
+    public void testEvaluatedOnce() {
+
+        final LazyEither<Integer, RuntimeException> l = LazyEither.of(() -> {
+            this.evaluated.incrementAndGet();
+            return 12;
+        });
+
+        assertTrue(l.isLeft());
+        assertEquals(Integer.valueOf(12), l.getLeft());
+        assertEquals(Either.left(12), l.get());
+
+        assertEquals(1, this.evaluated.get());
+        assertTrue(l.isEvaluated());
+
+    }
+
+    @Test
+    public void testEvaluatedOnceAcrossThreads() throws Exception {
+
+        final CountDownLatch go = new CountDownLatch(1);
+        final LazyEither<Integer, RuntimeException> l = LazyEither.of(() -> {
+            this.evaluated.incrementAndGet();
+            return 1;
+        });
+        final Thread[] ts = new Thread[16];
+        for (int i = 0; i < ts.length; i++) {
+            ts[i] = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (final InterruptedException ix) {
+                    Thread.currentThread().interrupt();
+                }
+                l.get();
+            });
+            ts[i].start();
+        }
+        go.countDown();
+        for (final Thread t : ts) {
+            t.join();
+        }
+
+        assertEquals(1, this.evaluated.get());
+
+    }
+
+    @Test
+    public void testForcingOperationsMatchEither() {
+
+        final LazyEither<Integer, RuntimeException> l = LazyEither.of(() -> 3);
+        final LazyEither<Integer, RuntimeException> r = LazyEither
+                .defer(() -> Either.right(new RuntimeException()));
+
+        assertEquals(Integer.valueOf(3), l.orElseNull());
+        assertNull(r.orElseNull());
+        assertEquals(Integer.valueOf(3),
+                l.orElseThrow(IllegalStateException::new));
+        assertEquals(3, l.mapToInt(Integer::intValue).getLeft());
+        assertEquals(3L, l.mapToLong(Integer::longValue).getLeft());
+        assertEquals(3.0, l.mapToDouble(Integer::doubleValue).getLeft(), 0.0);
+
+        int sum = 0;
+        for (final int v : l) {
+            sum += v;
+        }
+        for (final int v : r) {
+            sum += v;
+        }
+        assertEquals(3, sum);
+
+    }
+
+    @Test
+    public void testMapChainStaysLazy() {
+
+        final LazyEither<Integer, RuntimeException> l = LazyEither.of(() -> {
+            this.evaluated.incrementAndGet();
+            return 3;
+        });
+
+        final LazyEither<String, RuntimeException> m = l.map(v -> v * 2)
+                .flatMap(v -> Either.left(v + 1)).map(String::valueOf);
+
+        assertFalse(l.isEvaluated());
+        assertEquals(0, this.evaluated.get());
+        assertEquals("7", m.getLeft());
+        assertTrue(l.isEvaluated());
+
+    }
+
+    @Test
+    public void testNeverInspectedNeverRuns() {
+
+        LazyEither.of(() -> {
+            this.evaluated.incrementAndGet();
+            return 3;
+        }).map(v -> v + 1).swap();
+
+        assertEquals(0, this.evaluated.get());
+
+    }
+
+    @Test
+    public void testOfCheckedCapturesThrow() {
+
+        final Exception x = new Exception();
+
+        assertEquals(Either.right(x), LazyEither.ofChecked(() -> {
+            throw x;
+        }).get());
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOrElseThrowOnRight() {
+
+        LazyEither.<Integer, String> defer(() -> Either.right("x"))
+                .orElseThrow(IllegalStateException::new);
+
+    }
+
+    @Test
+    public void testThrowingDeferRetried() {
+
+        final LazyEither<Integer, String> l = LazyEither.defer(() -> {
+            if (this.evaluated.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return Either.left(1);
+        });
+
+        try {
+            l.get();
+            fail();
+        } catch (final IllegalStateException expected) {
+            // expected
+        }
+
+        assertFalse(l.isEvaluated());
+        assertEquals(Either.left(1), l.get());
+
+    }
+
+    @Test
+    public void testToString() {
+
+        final LazyEither<Integer, String> l = LazyEither.defer(() -> Either
+                .right("r"));
+
+        assertEquals("lazy(?)", l.toString());
+        l.get();
+        assertEquals("lazy(" + Either.right("r") + ")", l.toString());
+
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.OptionalLong;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.LongEither;
+
+public class LongEitherTest {
+
+    @Test
+    public void testConvergentLift() {
+
+        final LongFunction<LongEither<RuntimeException>> lf = LongEither
+                .lift(x -> x * x);
+
+        assertEquals(LongEither.left(100L), lf.apply(10L));
+
+    }
+
+    @Test
+    public void testDivergentLift() {
+
+        final ToLongFunction<String> f = Long::parseLong;
+
+        final LongEither<RuntimeException> e = LongEither.liftToLong(f).apply(
+                "x");
+
+        assertFalse(e.isLeft());
+        assertTrue(e.getRight() instanceof NumberFormatException);
+
+    }
+
+    @Test
+    public void testEitherMapToLong() {
+
+        assertEquals(LongEither.left(4L), Either.left("four").mapToLong(
+                String::length));
+
+    }
+
+    @Test
+    public void testEquality() {
+
+        assertEquals(LongEither.left(1L), LongEither.left(1L));
+        assertEquals(LongEither.left(1L).hashCode(), LongEither.left(1L)
+                .hashCode());
+        assertNotEquals(LongEither.left(1L), LongEither.left(2L));
+
+    }
+
+    @Test
+    public void testMapFromLeft() {
+
+        assertEquals(LongEither.left(20L), LongEither.left(10L)
+                .map(x -> x * 2));
+
+    }
+
+    @Test
+    public void testMapToObjFromRight() {
+
+        assertEquals(Either.right("r"), LongEither.right("r").mapToObj(
+                Long::toString));
+
+    }
+
+    @Test
+    public void testUnwind() {
+
+        assertEquals(10L, LongEither.left(10L).orElse(99L));
+        assertEquals(99L, LongEither.right("r").orElse(99L));
+        assertEquals(OptionalLong.of(10L), LongEither.left(10L).maybe());
+        assertEquals(0L, LongEither.right("r").stream().count());
+
+    }
+
+}
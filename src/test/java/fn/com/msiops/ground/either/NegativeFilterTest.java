@@ -0,0 +1,144 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.NegativeFilter;
+
+public class NegativeFilterTest {
+
+    private static final RuntimeException CANNED = new IllegalArgumentException(
+            "known bad");
+
+    private final AtomicInteger applied = new AtomicInteger();
+
+    private final Function<String, Either<Integer, RuntimeException>> parse = Either
+            .lift(s -> {
+                this.applied.incrementAndGet();
+                return Integer.valueOf(s);
+            });
+
+    @Test
+    public void testDecayForgetsOneTimeFailures() throws Exception {
+
+        final NegativeFilter<String, Integer, RuntimeException> nf = NegativeFilter
+                .of(this.parse, 100, 0.01, Duration.ofMillis(10), CANNED);
+        nf.apply("x");
+        Thread.sleep(30);
+
+        assertNotSame(CANNED, nf.apply("x").getRight());
+        assertEquals(2, this.applied.get());
+
+    }
+
+    @Test
+    public void testDecayReprobesPersistentFailures() throws Exception {
+
+        final NegativeFilter<String, Integer, RuntimeException> nf = NegativeFilter
+                .of(this.parse, 100, 0.01, Duration.ofMillis(100), CANNED);
+        nf.apply("x");
+        assertSame(CANNED, nf.apply("x").getRight());
+        Thread.sleep(300);
+
+        assertTrue(nf.apply("x").getRight() instanceof NumberFormatException);
+        assertSame(CANNED, nf.apply("x").getRight());
+        assertEquals(2, this.applied.get());
+        assertEquals(2, nf.getRecorded());
+        assertEquals(2, nf.getFiltered());
+
+    }
+
+    @Test
+    public void testFalsePositiveRateNearTarget() {
+
+        final NegativeFilter<String, Integer, RuntimeException> nf = NegativeFilter
+                .of(this.parse, 1000, 0.01, Duration.ofMinutes(10), CANNED);
+        for (int i = 0; i < 1000; i++) {
+            nf.apply("bad" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            final Either<Integer, RuntimeException> e = nf.apply(String
+                    .valueOf(i));
+            if (!e.isLeft() && e.getRight() == CANNED) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue("fpp " + falsePositives / 10000.0, falsePositives < 300);
+
+    }
+
+    @Test
+    public void testForget() {
+
+        final NegativeFilter<String, Integer, RuntimeException> nf = NegativeFilter
+                .of(this.parse, 100, 0.01, Duration.ofMinutes(10), CANNED);
+        nf.apply("x");
+
+        nf.forget("x");
+        nf.apply("x");
+
+        assertEquals(2, this.applied.get());
+
+    }
+
+    @Test
+    public void testLeftsNotRecorded() {
+
+        final NegativeFilter<String, Integer, RuntimeException> nf = NegativeFilter
+                .of(this.parse, 100, 0.01, Duration.ofMinutes(10), CANNED);
+
+        assertEquals(Either.left(1), nf.apply("1"));
+        assertEquals(Either.left(1), nf.apply("1"));
+
+        assertEquals(2, this.applied.get());
+        assertEquals(0, nf.getRecorded());
+
+    }
+
+    @Test
+    public void testRepeatFailureFiltered() {
+
+        final NegativeFilter<String, Integer, RuntimeException> nf = NegativeFilter
+                .of(this.parse, 100, 0.01, Duration.ofMinutes(10), CANNED);
+
+        assertTrue(nf.apply("x").getRight() instanceof NumberFormatException);
+        assertSame(CANNED, nf.apply("x").getRight());
+
+        assertEquals(1, this.applied.get());
+        assertEquals(1, nf.getRecorded());
+        assertEquals(1, nf.getFiltered());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroFppRejected() {
+
+        NegativeFilter.of(this.parse, 100, 0, Duration.ofMinutes(1), CANNED);
+
+    }
+
+}
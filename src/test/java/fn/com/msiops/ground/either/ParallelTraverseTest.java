@@ -0,0 +1,149 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+
+public class ParallelTraverseTest {
+
+    private static final int N = 100000;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Integer[] inputs;
+
+    private ForkJoinPool pool;
+
+    @After
+    public void cleanup() {
+        this.pool.shutdownNow();
+    }
+
+    @Before
+    public void setup() {
+
+        this.inputs = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            this.inputs[i] = i;
+        }
+        this.pool = new ForkJoinPool(4);
+
+    }
+
+    @Test
+    public void testAllLeftsInOrder() {
+
+        final Either<List<Integer>, String> r = Either.traverseParallel(
+                this.inputs, x -> Either.left(x * 2), this.pool);
+
+        final List<Integer> l = r.getLeft();
+        assertEquals(N, l.size());
+        for (int i = 0; i < N; i++) {
+            assertEquals(i * 2, l.get(i).intValue());
+        }
+
+    }
+
+    @Test
+    public void testCommonPool() {
+
+        assertEquals(Either.left(N - 1), Either.traverseParallel(this.inputs,
+                x -> Either.left(x)).map(l -> l.get(N - 1)));
+
+    }
+
+    @Test
+    public void testEarlyRightCancelsRemainingWork() {
+
+        final Either<List<Integer>, String> r = Either.traverseParallel(
+                this.inputs, x -> {
+                    this.calls.incrementAndGet();
+                    return x == 0 ? Either.right("zero") : Either.left(x);
+                }, this.pool);
+
+        assertEquals(Either.right("zero"), r);
+        assertTrue("calls=" + this.calls.get(), this.calls.get() < N / 2);
+
+    }
+
+    @Test
+    public void testEmpty() {
+
+        assertTrue(Either.traverseParallel(new Integer[0],
+                x -> Either.left(x), this.pool).getLeft().isEmpty());
+
+    }
+
+    @Test
+    public void testLiftedFailureIsSameException() {
+
+        final RuntimeException rtx = new RuntimeException("odd");
+        final Function<Integer, Either<Integer, RuntimeException>> f = Either
+                .lift(x -> {
+                    if (x == 777) {
+                        throw rtx;
+                    }
+                    return x;
+                });
+
+        assertSame(rtx, Either.traverseParallel(this.inputs, f, this.pool)
+                .getRight());
+
+    }
+
+    @Test
+    public void testLowestRightWins() {
+
+        final Either<List<Integer>, Integer> r = Either.traverseParallel(
+                this.inputs,
+                x -> x % 1000 == 999 ? Either.right(x) : Either.left(x),
+                this.pool);
+
+        assertEquals(Either.right(999), r);
+
+    }
+
+    @Test
+    public void testUnliftedThrowIsRethrownAsIs() {
+
+        final IllegalStateException isx = new IllegalStateException();
+
+        try {
+            Either.traverseParallel(this.inputs, x -> {
+                if (x == N - 1) {
+                    throw isx;
+                }
+                return Either.left(x);
+            }, this.pool);
+            fail("expected exception");
+        } catch (final IllegalStateException x) {
+            assertSame(isx, x);
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Partition;
+
+public class PartitionTest {
+
+    @Test
+    public void testDownstreamCollectors() {
+
+        final List<Either<Integer, String>> es = Arrays.asList(
+                Either.left(1), Either.right("a"), Either.left(2),
+                Either.right("b"));
+
+        final Partition<Long, String> p = es.stream().collect(
+                Either.partitioning(Collectors.counting(),
+                        Collectors.joining(",")));
+
+        assertEquals(Long.valueOf(2L), p.getLefts());
+        assertEquals("a,b", p.getRights());
+
+    }
+
+    @Test
+    public void testEmpty() {
+
+        final Partition<List<Integer>, List<String>> p = Stream
+                .<Either<Integer, String>> empty().collect(
+                        Either.partitioning());
+
+        assertEquals(Collections.emptyList(), p.getLefts());
+        assertEquals(Collections.emptyList(), p.getRights());
+
+    }
+
+    @Test
+    public void testParallelPreservesEncounterOrder() {
+
+        final Partition<List<Integer>, List<Integer>> p = IntStream
+                .range(0, 100000).parallel().boxed()
+                .map(x -> x % 3 == 0 ? Either.<Integer, Integer> right(x)
+                        : Either.<Integer, Integer> left(x))
+                .collect(Either.partitioning());
+
+        assertEquals(66666, p.getLefts().size());
+        assertEquals(33334, p.getRights().size());
+        for (int i = 1; i < p.getLefts().size(); i++) {
+            assertTrue(p.getLefts().get(i - 1) < p.getLefts().get(i));
+        }
+
+    }
+
+    @Test
+    public void testSequential() {
+
+        final List<Either<Integer, String>> es = Arrays.asList(
+                Either.left(1), Either.right("a"), Either.left(2));
+
+        final Partition<List<Integer>, List<String>> p = es.stream()
+                .collect(Either.partitioning());
+
+        assertEquals(Arrays.asList(1, 2), p.getLefts());
+        assertEquals(Arrays.asList("a"), p.getRights());
+
+    }
+
+    @Test
+    public void testUnorderedDownstream() {
+
+        final List<Either<Integer, String>> es = Arrays.asList(
+                Either.left(1), Either.right("a"));
+
+        final Partition<Set<Integer>, Set<String>> p = es.parallelStream()
+                .collect(Either.partitioning(Collectors.toSet(),
+                        Collectors.toSet()));
+
+        assertEquals(Collections.singleton(1), p.getLefts());
+        assertEquals(Collections.singleton("a"), p.getRights());
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Pipeline;
+
+public class PipelineTest {
+
+    private static final Pipeline<String, Integer, RuntimeException> PARSE = Pipeline
+            .<String, RuntimeException> identity().map(String::trim)
+            .flatMap(Either.lift(Integer::valueOf)).map(Math::abs);
+
+    private Object sink;
+
+    @Test
+    public void testAllocatesOnlyResult() {
+
+        assumeTrue(Allocation.supported());
+        final Either<String, Integer> a = Either.left("a");
+        final Pipeline<String, String, Integer> p = Pipeline
+                .<String, Integer> identity().map(String::trim)
+                .flatMap(v -> a).map(String::intern).flatMap(v -> a)
+                .map(String::trim);
+
+        final long single = Allocation.perRun(10000,
+                () -> this.sink = Either.left("a"));
+        final long fused = Allocation.perRun(10000,
+                () -> this.sink = p.apply("a"));
+
+        assertTrue(fused + " > " + single, fused <= single);
+
+    }
+
+    @Test
+    public void testAndThen() {
+
+        final Pipeline<Integer, String, RuntimeException> show = Pipeline
+                .<Integer, RuntimeException> identity().map(v -> "#" + v);
+
+        assertEquals(Either.left("#12"), PARSE.andThen(show).apply(" -12 "));
+
+    }
+
+    @Test
+    public void testApplyToRightSkipsStages() {
+
+        final RuntimeException x = new RuntimeException();
+        final Either<String, RuntimeException> in = Either.right(x);
+
+        assertSame(in, PARSE.applyTo(in));
+
+    }
+
+    @Test
+    public void testEmptyWrapsInput() {
+
+        assertEquals(Either.left("a"), Pipeline.<String, Integer> identity()
+                .apply("a"));
+
+    }
+
+    @Test
+    public void testFinalFlatMapResultReturnedAsIs() {
+
+        final Either<Integer, String> out = Either.left(5);
+        final Pipeline<Integer, Integer, String> p = Pipeline
+                .<Integer, String> identity().map(v -> v + 1)
+                .flatMap(v -> out);
+
+        assertSame(out, p.apply(1));
+
+    }
+
+    @Test
+    public void testMapsAndFlatMaps() {
+
+        assertEquals(Either.left(12), PARSE.apply(" -12 "));
+
+    }
+
+    @Test
+    public void testMatchesChainedEither() {
+
+        for (final String s : new String[] { "1", " 7", "-3 ", "x" }) {
+            final Either<Integer, RuntimeException> chained = Either
+                    .<String, RuntimeException> left(s).map(String::trim)
+                    .flatMap(Either.lift(Integer::valueOf)).map(Math::abs);
+            assertEquals(chained.isLeft(), PARSE.apply(s).isLeft());
+            if (chained.isLeft()) {
+                assertEquals(chained, PARSE.apply(s));
+            }
+        }
+
+    }
+
+    @Test
+    public void testRightShortCircuits() {
+
+        final AtomicInteger later = new AtomicInteger();
+        final Pipeline<String, Integer, RuntimeException> p = PARSE
+                .map(v -> later.incrementAndGet());
+
+        assertTrue(p.apply("nope").getRight() instanceof NumberFormatException);
+        assertEquals(0, later.get());
+
+    }
+
+    @Test
+    public void testStagesDoNotAffectPrefix() {
+
+        final Pipeline<String, Integer, RuntimeException> doubled = PARSE
+                .map(v -> v * 2);
+
+        assertEquals(Either.left(3), PARSE.apply("3"));
+        assertEquals(Either.left(6), doubled.apply("3"));
+
+    }
+
+}
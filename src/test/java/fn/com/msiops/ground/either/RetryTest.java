@@ -0,0 +1,188 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Retry;
+
+public class RetryTest {
+
+    /**
+     * Supplier that produces retryable rights a fixed number of times before
+     * producing a left.
+     */
+    private static Supplier<Either<String, String>> flaky(final int failures,
+            final AtomicInteger count) {
+
+        return () -> count.getAndIncrement() < failures ? Either.right("busy")
+                : Either.left("ok");
+
+    }
+
+    private ExecutorService x;
+
+    @Before
+    public void setup() {
+
+        this.x = Executors.newSingleThreadExecutor();
+
+    }
+
+    @After
+    public void teardown() {
+
+        this.x.shutdownNow();
+
+    }
+
+    @Test
+    public void testAsyncGivesUp() throws Exception {
+
+        final Retry<String> r = Retry.<String> of("busy"::equals)
+                .withBackoff(Duration.ofMillis(1), Duration.ofMillis(5))
+                .withMaxAttempts(4);
+        final AtomicInteger count = new AtomicInteger();
+
+        assertEquals(Either.right("busy"), r.callAsync(flaky(10, count), this.x)
+                .get(10, TimeUnit.SECONDS));
+        assertEquals(4, count.get());
+        assertEquals(1, r.getGiveUps());
+
+    }
+
+    @Test
+    public void testAsyncRecovers() throws Exception {
+
+        final Retry<String> r = Retry.<String> of("busy"::equals)
+                .withBackoff(Duration.ofMillis(1), Duration.ofMillis(5));
+        final AtomicInteger count = new AtomicInteger();
+
+        assertEquals(Either.left("ok"), r.callAsync(flaky(2, count), this.x)
+                .get(10, TimeUnit.SECONDS));
+        assertEquals(3, r.getAttempts());
+
+    }
+
+    @Test
+    public void testAsyncThrowCompletesExceptionally() throws Exception {
+
+        final RuntimeException rx = new RuntimeException();
+        final CompletableFuture<Either<Object, String>> f = Retry.<String> of(
+                v -> true).callAsync(() -> {
+            throw rx;
+        }, this.x);
+
+        try {
+            f.join();
+            fail();
+        } catch (final RuntimeException expected) {
+            assertSame(rx, expected.getCause());
+        }
+
+    }
+
+    @Test
+    public void testBudgetStopsRetries() throws Exception {
+
+        final Retry<String> r = Retry.<String> of("busy"::equals)
+                .withMaxAttempts(100)
+                .withBackoff(Duration.ofSeconds(10), Duration.ofSeconds(10))
+                .withBudget(Duration.ofMillis(1));
+        final AtomicInteger count = new AtomicInteger();
+
+        final Either<String, String> actual = r.call(() -> {
+            count.incrementAndGet();
+            return Either.right("busy");
+        });
+
+        assertEquals(Either.right("busy"), actual);
+        assertEquals(1, count.get());
+        assertEquals(1, r.getGiveUps());
+
+    }
+
+    @Test
+    public void testGivesUpAtAttemptLimit() throws Exception {
+
+        final Retry<String> r = Retry.<String> of("busy"::equals)
+                .withBackoff(Duration.ZERO, Duration.ZERO).withMaxAttempts(3);
+        final AtomicInteger count = new AtomicInteger();
+
+        assertEquals(Either.right("busy"), r.call(flaky(5, count)));
+        assertEquals(3, count.get());
+        assertEquals(1, r.getCalls());
+        assertEquals(3, r.getAttempts());
+        assertEquals(1, r.getGiveUps());
+
+    }
+
+    @Test
+    public void testLeftNotRetried() throws Exception {
+
+        final Retry<String> r = Retry.of(v -> true);
+        final AtomicInteger count = new AtomicInteger();
+
+        assertEquals(Either.left("ok"), r.call(flaky(0, count)));
+        assertEquals(1, r.getAttempts());
+        assertEquals(0, r.getGiveUps());
+
+    }
+
+    @Test
+    public void testNonRetryableRightReturned() throws Exception {
+
+        final Retry<String> r = Retry.<String> of("busy"::equals);
+
+        assertEquals(Either.right("fatal"), r.call(() -> Either.right("fatal")));
+        assertEquals(1, r.getAttempts());
+        assertEquals(0, r.getGiveUps());
+
+    }
+
+    @Test
+    public void testRecovers() throws Exception {
+
+        final Retry<String> r = Retry.<String> of("busy"::equals)
+                .withBackoff(Duration.ofMillis(1), Duration.ofMillis(2));
+        final AtomicInteger count = new AtomicInteger();
+
+        assertEquals(Either.left("ok"), r.call(flaky(2, count)));
+        assertEquals(3, r.getAttempts());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroAttemptsRejected() {
+
+        Retry.of(v -> true).withMaxAttempts(0);
+
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+
+public class RightSideTest {
+
+    @Test
+    public void testBimapFromLeft() {
+
+        assertEquals(Either.left(4),
+                Either.left("four").bimap(String::length, Object::toString));
+
+    }
+
+    @Test
+    public void testBimapFromRight() {
+
+        assertEquals(Either.right("10"),
+                Either.right(10).bimap(Object::toString, Object::toString));
+
+    }
+
+    @Test
+    public void testFlatMapRightFromLeft() {
+
+        @SuppressWarnings("unchecked")
+        final Function<Object, Either<String, Object>> f = mock(Function.class);
+
+        final Either<String, Object> left = Either.left("left");
+
+        assertSame(left, left.flatMapRight(f));
+        /*
+         * function must not be called
+         */
+        verify(f, never()).apply(any());
+
+    }
+
+    @Test
+    public void testFlatMapRightFromRight() {
+
+        final Either<String, Integer> right = Either.right(10);
+
+        assertEquals(Either.left("recovered"),
+                right.flatMapRight(x -> Either.left("recovered")));
+        assertEquals(Either.right(100), right.flatMapRight(x -> Either
+                .right(x * x)));
+
+    }
+
+    @Test
+    public void testFoldFromLeft() {
+
+        assertEquals("left:l",
+                Either.left("l").fold(l -> "left:" + l, r -> "right:" + r));
+
+    }
+
+    @Test
+    public void testFoldFromRight() {
+
+        assertEquals("right:r",
+                Either.right("r").fold(l -> "left:" + l, r -> "right:" + r));
+
+    }
+
+    @Test
+    public void testFoldIsAllocationFree() {
+
+        assumeTrue(Allocation.supported());
+
+        final Function<Object, Object> id = Function.identity();
+        final Either<Object, Object> left = Either.left("left");
+        final Either<Object, Object> right = Either.right("right");
+
+        assertEquals(0L, Allocation.perRun(10000, () -> left.fold(id, id)));
+        assertEquals(0L, Allocation.perRun(10000, () -> right.fold(id, id)));
+
+    }
+
+    @Test
+    public void testLeftOperationsOnRightAreAllocationFree() {
+
+        assumeTrue(Allocation.supported());
+
+        final Function<Object, Object> f = Object::toString;
+        final Function<Object, Either<Object, Object>> ef = Either::left;
+        final Either<Object, Object> right = Either.right("right");
+
+        assertEquals(0L, Allocation.perRun(10000, () -> right.map(f)));
+        assertEquals(0L, Allocation.perRun(10000, () -> right.flatMap(ef)));
+
+    }
+
+    @Test
+    public void testMapRightFromLeft() {
+
+        @SuppressWarnings("unchecked")
+        final Function<Object, Object> f = mock(Function.class);
+
+        final Either<String, Object> left = Either.left("left");
+
+        assertSame(left, left.mapRight(f));
+        /*
+         * function must not be called
+         */
+        verify(f, never()).apply(any());
+
+    }
+
+    @Test
+    public void testMapRightFromRight() {
+
+        assertEquals(Either.right(4),
+                Either.right("four").mapRight(String::length));
+
+    }
+
+    @Test
+    public void testRightOperationsOnLeftAreAllocationFree() {
+
+        assumeTrue(Allocation.supported());
+
+        final Function<Object, Object> f = Object::toString;
+        final Function<Object, Either<Object, Object>> ef = Either::right;
+        final Either<Object, Object> left = Either.left("left");
+
+        assertEquals(0L, Allocation.perRun(10000, () -> left.mapRight(f)));
+        assertEquals(0L,
+                Allocation.perRun(10000, () -> left.flatMapRight(ef)));
+
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+
+public class SequenceTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<String, Either<Integer, String>> parse = s -> {
+        this.calls.incrementAndGet();
+        return s.matches("\\d+") ? Either.left(Integer.valueOf(s)) : Either
+                .right(s);
+    };
+
+    @Test
+    public void testSequenceArray() {
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        final Either<Integer, String>[] es = new Either[] { Either.left(1),
+                Either.left(2) };
+
+        assertEquals(Either.left(Arrays.asList(1, 2)), Either.sequence(es));
+
+    }
+
+    @Test
+    public void testSequenceEmpty() {
+
+        final List<Either<Integer, String>> es = Collections.emptyList();
+
+        assertEquals(Either.left(Collections.emptyList()),
+                Either.sequence(es));
+
+    }
+
+    @Test
+    public void testSequenceIterableFirstRight() {
+
+        final List<Either<Integer, String>> es = Arrays.asList(Either.left(1),
+                Either.right("a"), Either.right("b"));
+
+        assertEquals(Either.right("a"), Either.sequence(es));
+
+    }
+
+    @Test
+    public void testSequenceStreamStopsAtFirstRight() {
+
+        final Stream<Either<Integer, String>> es = Stream.of("1", "x", "2",
+                "y").map(this.parse);
+
+        assertEquals(Either.right("x"), Either.sequence(es));
+        assertEquals(2, this.calls.get());
+
+    }
+
+    @Test
+    public void testTraverseArrayStopsAtFirstRight() {
+
+        assertEquals(Either.right("x"), Either.traverse(new String[] { "1",
+                "x", "2", "y" }, this.parse));
+        assertEquals(2, this.calls.get());
+
+    }
+
+    @Test
+    public void testTraverseIterableAllLeft() {
+
+        assertEquals(Either.left(Arrays.asList(1, 2, 3)),
+                Either.traverse(Arrays.asList("1", "2", "3"), this.parse));
+
+    }
+
+    @Test
+    public void testTraverseIterableStopsAtFirstRight() {
+
+        final Iterable<String> ts = () -> Arrays.asList("1", "x", "2", "y")
+                .iterator();
+
+        assertEquals(Either.right("x"), Either.traverse(ts, this.parse));
+        assertEquals(2, this.calls.get());
+
+    }
+
+    @Test
+    public void testTraverseStreamAllLeft() {
+
+        assertEquals(Either.left(Arrays.asList(1, 2, 3)),
+                Either.traverse(Stream.of("1", "2", "3"), this.parse));
+
+    }
+
+    @Test
+    public void testTraverseUnboundedStreamStopsAtFirstRight() {
+
+        final Stream<String> ts = Stream.iterate(0, x -> x + 1).map(
+                x -> x == 5 ? "five" : x.toString());
+
+        assertEquals(Either.right("five"), Either.traverse(ts, this.parse));
+        assertEquals(6, this.calls.get());
+
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.SingleFlight;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testAsyncCallersShare() {
+
+        final SingleFlight<String, Integer, Throwable> sf = SingleFlight
+                .create();
+        final CompletableFuture<Either<Integer, Throwable>> src = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger();
+
+        final CompletableFuture<Either<Integer, Throwable>> a = sf.callAsync(
+                "k", () -> {
+                    started.incrementAndGet();
+                    return src;
+                });
+        final CompletableFuture<Either<Integer, Throwable>> b = sf.callAsync(
+                "k", () -> {
+                    started.incrementAndGet();
+                    return src;
+                });
+        assertEquals(1, sf.getInFlight());
+        src.complete(Either.left(5));
+
+        assertSame(a.join(), b.join());
+        assertEquals(1, started.get());
+        assertEquals(0, sf.getInFlight());
+
+    }
+
+    @Test
+    public void testAsyncCancelIsLocal() {
+
+        final SingleFlight<String, Integer, Throwable> sf = SingleFlight
+                .create();
+        final CompletableFuture<Either<Integer, Throwable>> src = new CompletableFuture<>();
+
+        final CompletableFuture<Either<Integer, Throwable>> a = sf.callAsync(
+                "k", () -> src);
+        final CompletableFuture<Either<Integer, Throwable>> b = sf.callAsync(
+                "k", () -> src);
+        a.cancel(true);
+        src.complete(Either.left(5));
+
+        assertEquals(Either.left(5), b.join());
+
+    }
+
+    @Test
+    public void testBlockingCallersShare() throws Exception {
+
+        final SingleFlight<String, Integer, Throwable> sf = SingleFlight
+                .create();
+        final AtomicInteger invoked = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Exception x = new Exception();
+
+        final List<Either<Integer, Throwable>> results = new ArrayList<>();
+        final List<Thread> ts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final Thread t = new Thread(() -> {
+                try {
+                    final Either<Integer, Throwable> e = sf.call("k", () -> {
+                        invoked.incrementAndGet();
+                        entered.countDown();
+                        try {
+                            release.await();
+                        } catch (final InterruptedException ix) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return Either.right(x);
+                    });
+                    synchronized (results) {
+                        results.add(e);
+                    }
+                } catch (final InterruptedException ix) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            ts.add(t);
+            t.start();
+        }
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        final long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(10);
+        while (sf.getShared() < 15 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (final Thread t : ts) {
+            t.join();
+        }
+
+        assertEquals(1, invoked.get());
+        assertEquals(16, results.size());
+        for (final Either<Integer, Throwable> e : results) {
+            assertSame(results.get(0), e);
+        }
+        assertEquals(Either.right(x), results.get(0));
+        assertEquals(0, sf.getInFlight());
+
+    }
+
+    @Test
+    public void testNewFlightAfterCompletion() throws Exception {
+
+        final SingleFlight<String, Integer, Throwable> sf = SingleFlight
+                .create();
+        final AtomicInteger invoked = new AtomicInteger();
+
+        sf.call("k", () -> Either.left(invoked.incrementAndGet()));
+
+        assertEquals(Either.left(2),
+                sf.call("k", () -> Either.left(invoked.incrementAndGet())));
+        assertEquals(0, sf.getShared());
+
+    }
+
+    @Test
+    public void testThrowPropagatesAndCleansUp() throws Exception {
+
+        final SingleFlight<String, Integer, Throwable> sf = SingleFlight
+                .create();
+        final IllegalStateException x = new IllegalStateException();
+
+        try {
+            sf.call("k", () -> {
+                throw x;
+            });
+            fail();
+        } catch (final IllegalStateException expected) {
+            assertSame(x, expected);
+        }
+
+        assertEquals(0, sf.getInFlight());
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Trampoline;
+
+public class TrampolineTest {
+
+    private static Trampoline<Long, String> countDown(final long n) {
+
+        return n == 0 ? Trampoline.left(0L) : Trampoline.<Long, String> left(
+                n).flatMap(v -> Trampoline.suspend(() -> countDown(v - 1)))
+                .map(v -> v + 1);
+
+    }
+
+    private static Trampoline<Long, String> sum(final long n, final long acc) {
+
+        return n == 0 ? Trampoline.left(acc) : Trampoline.suspend(() -> sum(
+                n - 1, acc + n));
+
+    }
+
+    @Test
+    public void testDeepLeftNestedChain() {
+
+        Trampoline<Integer, String> t = Trampoline.left(0);
+        for (int i = 0; i < 1000000; i++) {
+            t = t.flatMap(v -> Trampoline.left(v + 1));
+        }
+
+        assertEquals(Either.left(1000000), t.run());
+
+    }
+
+    @Test
+    public void testDeepRightNestedRecursion() {
+
+        assertEquals(Either.left(1000000L), countDown(1000000).run());
+
+    }
+
+    @Test
+    public void testDeepTailRecursion() {
+
+        assertEquals(Either.left(500000500000L), sum(1000000, 0).run());
+
+    }
+
+    @Test
+    public void testDoneDelegates() {
+
+        assertEquals(Either.right("r"), Trampoline.done(Either.right("r"))
+                .run());
+
+    }
+
+    @Test
+    public void testRerun() {
+
+        final Trampoline<Long, String> t = sum(10, 0);
+
+        assertEquals(t.run(), t.run());
+
+    }
+
+    @Test
+    public void testRightShortCircuits() {
+
+        final AtomicInteger applied = new AtomicInteger();
+        Trampoline<Integer, String> t = Trampoline.left(0);
+        for (int i = 0; i < 100000; i++) {
+            final int level = i;
+            t = t.flatMap(v -> {
+                applied.incrementAndGet();
+                return level == 10 ? Trampoline.right("stop at 10")
+                        : Trampoline.left(v + 1);
+            });
+        }
+
+        assertEquals(Either.right("stop at 10"), t.run());
+        assertEquals(11, applied.get());
+
+    }
+
+}
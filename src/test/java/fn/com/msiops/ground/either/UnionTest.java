@@ -0,0 +1,224 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Either3;
+import com.msiops.ground.either.Either4;
+import com.msiops.ground.either.Either5;
+import com.msiops.ground.either.Either6;
+
+public class UnionTest {
+
+    private static Either6<Integer, Integer, Integer, Integer, Integer, Integer> slot(
+            final int i) {
+
+        switch (i) {
+        case 0:
+            return Either6.first(i);
+        case 1:
+            return Either6.second(i);
+        case 2:
+            return Either6.third(i);
+        case 3:
+            return Either6.fourth(i);
+        case 4:
+            return Either6.fifth(i);
+        default:
+            return Either6.sixth(i);
+        }
+
+    }
+
+    @Test
+    public void testEquality() {
+
+        assertEquals(Either3.first(1), Either3.first(1));
+        assertEquals(Either3.first(1).hashCode(), Either3.first(1).hashCode());
+        assertNotEquals(Either3.first(1), Either3.second(1));
+        assertNotEquals(Either3.second(1), Either3.third(1));
+        assertNotEquals(Either3.first(1), Either.left(1));
+
+    }
+
+    @Test
+    public void testFlatMapFirst() {
+
+        final Either3<Integer, String, Long> first = Either3.first(2);
+        final Either3<Integer, String, Long> third = Either3.third(5L);
+
+        assertEquals(Either3.second("2"),
+                first.flatMap(v -> Either3.second(String.valueOf(v))));
+        assertSame(third, third.flatMap(v -> {
+            throw new AssertionError();
+        }));
+
+    }
+
+    @Test
+    public void testFold() {
+
+        final Either6<Integer, String, Long, Double, Character, Boolean> e = Either6
+                .fifth('x');
+
+        assertEquals("e:x", e.fold(a -> "a:" + a, b -> "b:" + b,
+                c -> "c:" + c, d -> "d:" + d, x -> "e:" + x, f -> "f:" + f));
+
+    }
+
+    @Test
+    public void testGetters() {
+
+        final Either4<Integer, String, Long, Double> e = Either4.third(3L);
+
+        assertEquals(2, e.getIndex());
+        assertFalse(e.isFirst());
+        assertEquals(Long.valueOf(3L), e.getThird());
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetWrongSlotThrows() {
+
+        Either5.<Integer, String, Long, Double, Boolean> fifth(true)
+                .getFourth();
+
+    }
+
+    @Test
+    public void testMapFirst() {
+
+        final Either3<Integer, String, Long> e = Either3.first(2);
+
+        assertEquals(Either3.first(3), e.map(v -> v + 1));
+
+    }
+
+    @Test
+    public void testMapOtherIsIdentity() {
+
+        final Either4<Integer, String, Long, Double> e = Either4.fourth(1.5);
+
+        assertSame(e, e.map(v -> {
+            throw new AssertionError();
+        }));
+
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullRejected() {
+
+        Either3.second(null);
+
+    }
+
+    @Test
+    public void testOfNested() {
+
+        final Either<Integer, Either<String, Long>> a = Either.left(1);
+        final Either<Integer, Either<String, Long>> b = Either.right(Either
+                .left("b"));
+        final Either<Integer, Either<String, Long>> c = Either.right(Either
+                .right(3L));
+
+        assertEquals(Either3.first(1), Either3.of(a));
+        assertEquals(Either3.second("b"), Either3.of(b));
+        assertEquals(Either3.third(3L), Either3.of(c));
+
+    }
+
+    @Test
+    public void testOptionalViews() {
+
+        final Either3<Integer, String, Long> first = Either3.first(1);
+        final Either3<Integer, String, Long> second = Either3.second("x");
+
+        assertEquals(Optional.of(1), first.maybe());
+        assertEquals(Optional.empty(), second.maybe());
+        assertEquals(Integer.valueOf(1), first.orElse(9));
+        assertEquals(Integer.valueOf(9), second.orElseGet(() -> 9));
+
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOrElseGetNullRejected() {
+
+        Either6.<Integer, String, Long, Double, Boolean, Character> sixth('c')
+                .orElseGet(() -> null);
+
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOrElseNullRejected() {
+
+        Either4.<Integer, String, Long, Double> second("x").orElse(null);
+
+    }
+
+    @Test
+    public void testRoundTrip() {
+
+        for (int i = 0; i < 6; i++) {
+            final Either6<Integer, Integer, Integer, Integer, Integer, Integer> e = slot(i);
+            assertEquals(i, e.getIndex());
+            assertEquals(e, Either6.of(e.toEither()));
+        }
+        for (final Either5<Integer, String, Long, Double, Boolean> e : Arrays
+                .asList(Either5.<Integer, String, Long, Double, Boolean> first(1),
+                        Either5.<Integer, String, Long, Double, Boolean> fifth(true))) {
+            assertEquals(e, Either5.of(e.toEither()));
+        }
+
+    }
+
+    @Test
+    public void testStream() {
+
+        assertEquals(Arrays.asList(1), Either3.first(1).stream()
+                .collect(Collectors.toList()));
+        assertEquals(Collections.emptyList(), Either3.third(1).stream()
+                .collect(Collectors.toList()));
+
+    }
+
+    @Test
+    public void testToEither() {
+
+        final Either4<Integer, String, Long, Double> e = Either4.third(3L);
+
+        assertEquals(Either.right(Either.right(Either.left(3L))), e.toEither());
+        assertEquals(Either.right(Either.right(Either.right(1.5))), Either4
+                .fourth(1.5).toEither());
+
+    }
+
+    @Test
+    public void testToString() {
+
+        assertEquals("second={x}", Either3.second("x").toString());
+
+    }
+
+}
@@ -0,0 +1,143 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License") under
+ * one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for information regarding copyright
+ * ownership. You may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fn.com.msiops.ground.either;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.msiops.ground.either.Chain;
+import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Validation;
+
+public class ValidationTest {
+
+    private static Either<Integer, String> positive(final int v) {
+        return v > 0 ? Either.left(v) : Either.right("bad " + v);
+    }
+
+    private Object sink;
+
+    @Test
+    public void testAllLeftAllocatesOnlyResult() {
+
+        assumeTrue(Allocation.supported());
+        final Either<Integer, String> a = Either.left(1);
+        final Either<Integer, String> b = Either.left(2);
+
+        final long single = Allocation.perRun(10000,
+                () -> this.sink = Either.left(a));
+        final long mapped = Allocation.perRun(10000,
+                () -> this.sink = Validation.map2(a, b, (x, y) -> y));
+
+        assertTrue(mapped + " > " + single, mapped <= single);
+
+    }
+
+    @Test
+    public void testMap2Left() {
+
+        assertEquals(Either.left(3),
+                Validation.map2(positive(1), positive(2), Integer::sum));
+
+    }
+
+    @Test
+    public void testMap2RightsInOrder() {
+
+        final Either<Integer, Chain<String>> actual = Validation.map2(
+                positive(0), positive(-1), Integer::sum);
+
+        assertEquals(Arrays.asList("bad 0", "bad -1"),
+                actual.getRight().toList());
+
+    }
+
+    @Test
+    public void testMap8Left() {
+
+        assertEquals(Either.left(36), Validation.map8(positive(1),
+                positive(2), positive(3), positive(4), positive(5),
+                positive(6), positive(7), positive(8),
+                (a, b, c, d, e, f, g, h) -> a + b + c + d + e + f + g + h));
+
+    }
+
+    @Test
+    public void testMap8RightsInOrder() {
+
+        final Either<Integer, Chain<String>> actual = Validation.map8(
+                positive(1), positive(-2), positive(3), positive(-4),
+                positive(5), positive(6), positive(-7), positive(8),
+                (a, b, c, d, e, f, g, h) -> 0);
+
+        assertEquals(Arrays.asList("bad -2", "bad -4", "bad -7"),
+                actual.getRight().toList());
+
+    }
+
+    @Test
+    public void testMapNotInvokedOnRight() {
+
+        Validation.map3(positive(1), positive(0), positive(1),
+                (a, b, c) -> {
+                    throw new AssertionError();
+                });
+
+    }
+
+    @Test
+    public void testSequence() {
+
+        assertEquals(Either.left(Arrays.asList(1, 2)), Validation
+                .sequence(Arrays.asList(positive(1), positive(2))));
+        assertEquals(Arrays.asList("bad 0"), Validation
+                .sequence(Arrays.asList(positive(1), positive(0)))
+                .getRight().toList());
+
+    }
+
+    @Test
+    public void testTraverseAppliesToAll() {
+
+        final List<Integer> seen = new ArrayList<>();
+        final Either<List<Integer>, Chain<String>> actual = Validation
+                .traverse(Arrays.asList(0, 1, -1, 2), v -> {
+                    seen.add(v);
+                    return positive(v);
+                });
+
+        assertEquals(Arrays.asList(0, 1, -1, 2), seen);
+        assertEquals(Arrays.asList("bad 0", "bad -1"),
+                actual.getRight().toList());
+
+    }
+
+    @Test
+    public void testTraverseLeft() {
+
+        assertEquals(Either.left(Arrays.asList(1, 2, 3)),
+                Validation.traverse(Arrays.asList(1, 2, 3),
+                        ValidationTest::positive));
+
+    }
+
+}
@@ -17,15 +17,48 @@ package sample.com.msiops.ground.either;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.msiops.ground.either.Chain;
+import com.msiops.ground.either.Deadline;
 import com.msiops.ground.either.Either;
+import com.msiops.ground.either.Either3;
+import com.msiops.ground.either.EitherArray;
+import com.msiops.ground.either.IntEither;
+import com.msiops.ground.either.Partition;
+import com.msiops.ground.either.Pipeline;
+import com.msiops.ground.either.Validation;
 
 public enum Example implements Runnable {
 
+    ARRAY {
+        @Override
+        public void run() {
+
+            final EitherArray<Integer, String> a = EitherArray.of(Arrays
+                    .asList(Either.left(1), Either.right("a"), Either.left(2)));
+            assert a.countLefts() == 2;
+            assert a.indexOfRight(0) == 1;
+            assert a.getLeft(2) == 2;
+
+            final EitherArray<Integer, String>.Cursor c = a.cursor();
+            int sum = 0;
+            while (c.advance()) {
+                sum += c.isLeft() ? c.getLeft() : c.getRight().length();
+            }
+            assert sum == 4;
+
+        }
+    },
+
     CAPTURE_CHECKED_EXCEPTION {
         @Override
         public void run() {
@@ -56,6 +89,23 @@ public enum Example implements Runnable {
         }
     },
 
+    CAPTURE_WITH_DEADLINE {
+        @Override
+        public void run() {
+            final Deadline d = Deadline.after(Duration.ofMillis(100));
+
+            final Either<String, Throwable> left = Either.ofChecked(
+                    () -> "fast", d);
+            assert left.isLeft();
+
+            final Either<String, Throwable> right = Either.ofChecked(() -> {
+                Thread.sleep(1000);
+                return "slow";
+            }, d);
+            assert TimeoutException.class.isInstance(right.getRight());
+        }
+    },
+
     CONSTRUCT_FROM_OPTIONAL {
         @Override
         public void run() {
@@ -132,6 +182,19 @@ public enum Example implements Runnable {
         }
     },
 
+    FOLD {
+        @Override
+        public void run() {
+
+            final Either<Integer, String> left = Either.left(10);
+            assert left.fold(x -> "value " + x, r -> r).equals("value 10");
+
+            final Either<Integer, String> right = Either.right("missing");
+            assert right.fold(x -> "value " + x, r -> r).equals("missing");
+
+        }
+    },
+
     ITERATE {
         @Override
         public void run() {
@@ -164,6 +227,23 @@ public enum Example implements Runnable {
         }
     },
 
+    MAP_RIGHT {
+        @Override
+        public void run() {
+
+            final Either<Integer, String> left = Either.left(10);
+            assert left.mapRight(String::length).getLeft().equals(10);
+            assert left.bimap(x -> x * x, String::length).getLeft()
+                    .equals(10 * 10);
+
+            final Either<Integer, String> right = Either.right("huh?");
+            assert right.mapRight(String::length).getRight().equals(4);
+            assert right.bimap(x -> x * x, String::length).getRight()
+                    .equals(4);
+
+        }
+    },
+
     MAYBE {
         @Override
         public void run() {
@@ -177,6 +257,71 @@ public enum Example implements Runnable {
         }
     },
 
+    PARTITION {
+        @Override
+        public void run() {
+
+            final List<Either<Integer, String>> es = Arrays.asList(
+                    Either.left(1), Either.right("a"), Either.left(2));
+
+            final Partition<List<Integer>, List<String>> p = es.stream()
+                    .collect(Either.partitioning());
+            assert p.getLefts().equals(Arrays.asList(1, 2));
+            assert p.getRights().equals(Arrays.asList("a"));
+
+        }
+    },
+
+    PIPELINE {
+        @Override
+        public void run() {
+
+            final Pipeline<String, Integer, RuntimeException> parse = Pipeline
+                    .<String, RuntimeException> identity().map(String::trim)
+                    .flatMap(Either.lift(Integer::valueOf)).map(Math::abs);
+
+            assert parse.apply(" -12 ").getLeft() == 12;
+            assert NumberFormatException.class.isInstance(parse.apply("x")
+                    .getRight());
+
+        }
+    },
+
+    PRIMITIVE {
+        @Override
+        public void run() {
+
+            final IntEither<RuntimeException> left = IntEither.of(() -> Integer
+                    .parseInt("AFE03", 16));
+            assert left.isLeft();
+            assert left.map(x -> x + 1).getLeft() == 0xAFE04;
+
+            final Either<String, RuntimeException> obj = left
+                    .mapToObj(Integer::toHexString);
+            assert obj.getLeft().equals("afe03");
+            assert obj.mapToInt(String::length).getLeft() == 5;
+
+        }
+    },
+
+    SEQUENCE {
+        @Override
+        public void run() {
+
+            final Function<String, Either<Integer, RuntimeException>> parse = Either
+                    .lift(Integer::valueOf);
+
+            final Either<List<Integer>, RuntimeException> left = Either
+                    .traverse(Arrays.asList("1", "2", "3"), parse);
+            assert left.getLeft().equals(Arrays.asList(1, 2, 3));
+
+            final Either<List<Integer>, RuntimeException> right = Either
+                    .traverse(Arrays.asList("1", "x", "3"), parse);
+            assert NumberFormatException.class.isInstance(right.getRight());
+
+        }
+    },
+
     STREAM {
         @Override
         public void run() {
@@ -206,6 +351,23 @@ public enum Example implements Runnable {
         }
     },
 
+    UNION {
+        @Override
+        public void run() {
+
+            final Either3<Integer, String, Long> e = Either3.second("two");
+            assert e.getIndex() == 1;
+            assert e.map(v -> v + 1) == e;
+            assert e.fold(a -> "int", b -> "string", c -> "long")
+                    .equals("string");
+
+            final Either<Integer, Either<String, Long>> nested = e.toEither();
+            assert nested.getRight().getLeft().equals("two");
+            assert Either3.of(nested).equals(e);
+
+        }
+    },
+
     UNWIND {
         @Override
         public void run() {
@@ -232,6 +394,21 @@ public enum Example implements Runnable {
             // right.orElseThrow(() -> new RuntimeException()); <-- throws the
             // supplied exception
 
+        }
+    },
+
+    VALIDATE {
+        @Override
+        public void run() {
+
+            final Either<String, String> name = Either.right("name missing");
+            final Either<Integer, String> age = Either.right("age negative");
+
+            final Either<String, Chain<String>> person = Validation.map2(
+                    name, age, (n, a) -> n + " " + a);
+            assert person.getRight().toList()
+                    .equals(Arrays.asList("name missing", "age negative"));
+
         }
     }
 